@@ -0,0 +1,97 @@
+package ru.practicum.shareit.dataset;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+public class CsvFormat implements DatasetFormat {
+
+    static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    @Override
+    public TableWriter open(Path output, Table table) throws IOException {
+        BufferedWriter writer = new BufferedWriter(Files.newBufferedWriter(file(output, table), StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        writer.write(String.join(",", table.getColumns()));
+        writer.write('\n');
+        return new CsvTableWriter(writer);
+    }
+
+    @Override
+    public void writeLoadScripts(Path output, Map<Table, Long> counts) throws IOException {
+        StringBuilder postgres = new StringBuilder();
+        StringBuilder h2 = new StringBuilder();
+        for (Map.Entry<Table, Long> entry : counts.entrySet()) {
+            Table table = entry.getKey();
+            String columns = String.join(", ", table.getColumns());
+            String path = file(output, table).toAbsolutePath().toString();
+            postgres.append("\\copy ").append(table.getTableName()).append(" (").append(columns).append(") from '")
+                    .append(path).append("' with (format csv, header true)\n");
+            h2.append("insert into ").append(table.getTableName()).append(" (").append(columns)
+                    .append(") select * from csvread('").append(path).append("', null, 'charset=UTF-8');\n");
+        }
+        for (Map.Entry<Table, Long> entry : counts.entrySet()) {
+            String restart = DatasetFormat.restartIdentity(entry.getKey(), entry.getValue());
+            postgres.append(restart).append('\n');
+            h2.append(restart).append('\n');
+        }
+        postgres.append("analyze;\n");
+        Files.writeString(output.resolve("load-postgres.sql"), postgres);
+        Files.writeString(output.resolve("load-h2.sql"), h2);
+    }
+
+    private static Path file(Path output, Table table) {
+        return output.resolve(table.getTableName() + ".csv");
+    }
+
+    private static class CsvTableWriter implements TableWriter {
+
+        private final Writer writer;
+
+        CsvTableWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeValue(values[i]);
+            }
+            writer.write('\n');
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof LocalDateTime) {
+                writer.write(TIMESTAMP.format((LocalDateTime) value));
+                return;
+            }
+            String text = value.toString();
+            if (text.isEmpty() || text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
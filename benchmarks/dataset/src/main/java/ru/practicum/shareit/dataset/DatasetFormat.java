@@ -0,0 +1,23 @@
+package ru.practicum.shareit.dataset;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+public interface DatasetFormat {
+
+    TableWriter open(Path output, Table table) throws IOException;
+
+    void writeLoadScripts(Path output, Map<Table, Long> counts) throws IOException;
+
+    static DatasetFormat of(DatasetOptions options) {
+        if (options.getFormat().equals("sql")) {
+            return new SqlFormat(options.getBatchSize());
+        }
+        return new CsvFormat();
+    }
+
+    static String restartIdentity(Table table, long count) {
+        return "alter table " + table.getTableName() + " alter column id restart with " + (count + 1) + ";";
+    }
+}
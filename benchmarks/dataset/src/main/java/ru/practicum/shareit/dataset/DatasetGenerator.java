@@ -0,0 +1,221 @@
+package ru.practicum.shareit.dataset;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public class DatasetGenerator {
+
+    private static final String[] WORDS = {
+            "drill", "saw", "ladder", "tent", "kayak", "bike", "camera", "projector",
+            "guitar", "scooter", "mixer", "hammock", "telescope", "speaker", "sled", "grill",
+            "canoe", "sander", "lawnmower", "stroller", "easel", "microscope", "snowboard", "compressor"};
+    private static final String[] PURPOSES = {
+            "a weekend trip", "home repair", "a birthday party", "the garden", "a photo shoot",
+            "a family holiday", "a school project", "moving house"};
+    private static final long PERMUTATION_STEP = 2_654_435_761L;
+
+    private final DatasetOptions options;
+    private final long seed;
+    private final LocalDateTime reference;
+    private final long users;
+    private final long items;
+    private final long requests;
+    private final ZipfSampler userSampler;
+    private final ZipfSampler itemSampler;
+    private final long userStep;
+    private final long itemStep;
+
+    public DatasetGenerator(DatasetOptions options) {
+        this.options = options;
+        this.seed = options.getSeed();
+        this.reference = options.getReferenceDate().atStartOfDay();
+        this.users = options.getUsers();
+        this.items = options.getItems();
+        this.requests = options.getRequests();
+        this.userSampler = users > 0 ? new ZipfSampler(users, options.getSkew()) : null;
+        this.itemSampler = items > 0 ? new ZipfSampler(items, options.getSkew()) : null;
+        this.userStep = permutationStep(users);
+        this.itemStep = permutationStep(items);
+        if (users == 0 && (items > 0 || requests > 0 || options.getBookings() > 0)) {
+            throw new IllegalArgumentException("Items, requests and bookings need at least one user");
+        }
+        if (items == 0 && options.getBookings() > 0) {
+            throw new IllegalArgumentException("Bookings need at least one item");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        DatasetOptions options = DatasetOptions.parse(args);
+        long started = System.nanoTime();
+        Map<Table, Long> counts = new DatasetGenerator(options).generate();
+        counts.forEach((table, count) -> System.out.printf("%-9s %,d rows%n", table.getTableName(), count));
+        System.out.printf(Locale.ROOT, "Generated in %.1f s, load with %s or %s%n",
+                (System.nanoTime() - started) / 1e9,
+                options.getOutput().resolve("load-postgres.sql").toAbsolutePath(),
+                options.getOutput().resolve("load-h2.sql").toAbsolutePath());
+    }
+
+    public Map<Table, Long> generate() throws IOException {
+        Path output = options.getOutput();
+        Files.createDirectories(output);
+        DatasetFormat format = DatasetFormat.of(options);
+        Map<Table, Long> counts = new EnumMap<>(Table.class);
+        counts.put(Table.USERS, writeUsers(format.open(output, Table.USERS)));
+        counts.put(Table.REQUESTS, writeRequests(format.open(output, Table.REQUESTS)));
+        counts.put(Table.ITEMS, writeItems(format.open(output, Table.ITEMS)));
+        try (TableWriter bookings = format.open(output, Table.BOOKINGS);
+             TableWriter comments = format.open(output, Table.COMMENTS)) {
+            long[] written = writeBookingsAndComments(bookings, comments);
+            counts.put(Table.BOOKINGS, written[0]);
+            counts.put(Table.COMMENTS, written[1]);
+        }
+        format.writeLoadScripts(output, counts);
+        writeManifest(output, counts);
+        return counts;
+    }
+
+    private long writeUsers(TableWriter writer) throws IOException {
+        try (writer) {
+            for (long id = 1; id <= users; id++) {
+                SplittableRandom random = random(Table.USERS, id);
+                writer.write(id, "User " + id + " " + word(random), "user" + id + "@shareit.test");
+            }
+        }
+        return users;
+    }
+
+    private long writeRequests(TableWriter writer) throws IOException {
+        try (writer) {
+            for (long id = 1; id <= requests; id++) {
+                SplittableRandom random = random(Table.REQUESTS, id);
+                writer.write(id, "Looking for a " + word(random) + " for " + purpose(random), user(random),
+                        reference.minusMinutes(1 + random.nextLong(365L * 24 * 60)));
+            }
+        }
+        return requests;
+    }
+
+    private long writeItems(TableWriter writer) throws IOException {
+        try (writer) {
+            for (long id = 1; id <= items; id++) {
+                SplittableRandom random = random(Table.ITEMS, id);
+                long owner = user(random);
+                String word = word(random);
+                Long request = requests > 0 && random.nextDouble() < options.getItemRequestRatio()
+                        ? 1 + random.nextLong(requests)
+                        : null;
+                writer.write(id, capitalize(word) + " " + id, "Good " + word + " for " + purpose(random),
+                        random.nextInt(10) != 0, owner, request);
+            }
+        }
+        return items;
+    }
+
+    private long[] writeBookingsAndComments(TableWriter bookings, TableWriter comments) throws IOException {
+        long bookingCount = options.getBookings();
+        long commentId = 0;
+        for (long id = 1; id <= bookingCount; id++) {
+            SplittableRandom random = random(Table.BOOKINGS, id);
+            long item = permute(itemSampler.sample(random), items, itemStep);
+            long owner = ownerOf(item);
+            long booker = user(random);
+            if (booker == owner && users > 1) {
+                booker = booker % users + 1;
+            }
+            int kind = random.nextInt(100);
+            LocalDateTime start;
+            LocalDateTime end;
+            String status;
+            if (kind < 70) {
+                end = reference.minusDays(1 + random.nextInt(720)).minusHours(random.nextInt(24));
+                start = end.minusDays(1 + random.nextInt(14));
+                status = pick(random, 85, "APPROVED", 10, "REJECTED", "CANCELED");
+            } else if (kind < 80) {
+                start = reference.minusDays(random.nextInt(7)).minusHours(1 + random.nextInt(23));
+                end = reference.plusDays(1 + random.nextInt(7));
+                status = random.nextInt(20) == 0 ? "CANCELED" : "APPROVED";
+            } else {
+                start = reference.plusDays(1 + random.nextInt(180)).plusHours(random.nextInt(24));
+                end = start.plusDays(1 + random.nextInt(14));
+                status = pick(random, 40, "WAITING", 50, "APPROVED", "REJECTED");
+            }
+            bookings.write(id, start, end, item, booker, status);
+            if (kind < 70 && status.equals("APPROVED") && random.nextDouble() < options.getCommentRatio()) {
+                comments.write(++commentId, capitalize(word(random)) + " was great for " + purpose(random),
+                        item, booker, end.plusHours(1 + random.nextInt(23)));
+            }
+        }
+        return new long[]{bookingCount, commentId};
+    }
+
+    private void writeManifest(Path output, Map<Table, Long> counts) throws IOException {
+        StringBuilder manifest = new StringBuilder()
+                .append("seed=").append(seed).append('\n')
+                .append("skew=").append(options.getSkew()).append('\n')
+                .append("reference-date=").append(options.getReferenceDate()).append('\n')
+                .append("comment-ratio=").append(options.getCommentRatio()).append('\n')
+                .append("item-request-ratio=").append(options.getItemRequestRatio()).append('\n')
+                .append("format=").append(options.getFormat()).append('\n');
+        counts.forEach((table, count) -> manifest.append(table.getTableName()).append('=').append(count).append('\n'));
+        Files.writeString(output.resolve("manifest.properties"), manifest);
+    }
+
+    private long ownerOf(long item) {
+        return user(random(Table.ITEMS, item));
+    }
+
+    private long user(SplittableRandom random) {
+        return permute(userSampler.sample(random), users, userStep);
+    }
+
+    // Spreads popular ranks over the id range so that hot rows are not simply the oldest ones.
+    private long permute(long rank, long size, long step) {
+        return ((rank - 1) * step + Math.floorMod(seed, size)) % size + 1;
+    }
+
+    private static long permutationStep(long size) {
+        if (size < 2) {
+            return 1;
+        }
+        long step = PERMUTATION_STEP % size;
+        while (gcd(step, size) != 1) {
+            step++;
+        }
+        return step;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private SplittableRandom random(Table table, long id) {
+        return new SplittableRandom(seed ^ (table.ordinal() + 1L) * 0x9E3779B97F4A7C15L ^ id * 0xC2B2AE3D27D4EB4FL);
+    }
+
+    private static String pick(SplittableRandom random, int firstPercent, String first, int secondPercent,
+                               String second, String third) {
+        int value = random.nextInt(100);
+        if (value < firstPercent) {
+            return first;
+        }
+        return value < firstPercent + secondPercent ? second : third;
+    }
+
+    private static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String purpose(SplittableRandom random) {
+        return PURPOSES[random.nextInt(PURPOSES.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.dataset;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class DatasetOptions {
+
+    static final String PROPERTY_PREFIX = "dataset.";
+
+    private final Map<String, String> values;
+
+    private DatasetOptions(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static DatasetOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(PROPERTY_PREFIX))
+                .forEach(name -> values.put(name.substring(PROPERTY_PREFIX.length()), System.getProperty(name)));
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments must look like --name=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new DatasetOptions(values);
+    }
+
+    public long getUsers() {
+        return count("users", 10_000);
+    }
+
+    public long getItems() {
+        return count("items", getUsers() * 3);
+    }
+
+    public long getRequests() {
+        return count("requests", getUsers() / 5);
+    }
+
+    public long getBookings() {
+        return count("bookings", getUsers() * 20);
+    }
+
+    public double getCommentRatio() {
+        return ratio("comment-ratio", 0.3);
+    }
+
+    public double getItemRequestRatio() {
+        return ratio("item-request-ratio", 0.1);
+    }
+
+    public double getSkew() {
+        double skew = Double.parseDouble(values.getOrDefault("skew", "1.1"));
+        if (skew < 0) {
+            throw new IllegalArgumentException("Option --skew must not be negative");
+        }
+        return skew;
+    }
+
+    public long getSeed() {
+        return Long.parseLong(values.getOrDefault("seed", "42"));
+    }
+
+    public LocalDate getReferenceDate() {
+        return LocalDate.parse(values.getOrDefault("reference-date", LocalDate.now().toString()));
+    }
+
+    public String getFormat() {
+        String format = values.getOrDefault("format", "csv").toLowerCase(Locale.ROOT);
+        if (!format.equals("csv") && !format.equals("sql")) {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        return format;
+    }
+
+    public int getBatchSize() {
+        int batchSize = Integer.parseInt(values.getOrDefault("batch-size", "1000"));
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Option --batch-size must be positive");
+        }
+        return batchSize;
+    }
+
+    public Path getOutput() {
+        return Path.of(values.getOrDefault("output", "dataset"));
+    }
+
+    private long count(String name, long defaultValue) {
+        long value = Long.parseLong(values.getOrDefault(name, String.valueOf(defaultValue)));
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Option --" + name + " must be between 0 and " + Integer.MAX_VALUE);
+        }
+        return value;
+    }
+
+    private double ratio(String name, double defaultValue) {
+        double value = Double.parseDouble(values.getOrDefault(name, String.valueOf(defaultValue)));
+        if (value < 0 || value > 1) {
+            throw new IllegalArgumentException("Option --" + name + " must be between 0 and 1");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.dataset;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class SqlFormat implements DatasetFormat {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final int batchSize;
+
+    public SqlFormat(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public TableWriter open(Path output, Table table) throws IOException {
+        BufferedWriter writer = new BufferedWriter(Files.newBufferedWriter(file(output, table), StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        return new SqlTableWriter(writer, "insert into " + table.getTableName()
+                + " (" + String.join(", ", table.getColumns()) + ") values\n", batchSize);
+    }
+
+    @Override
+    public void writeLoadScripts(Path output, Map<Table, Long> counts) throws IOException {
+        StringBuilder postgres = new StringBuilder();
+        StringBuilder h2 = new StringBuilder();
+        for (Table table : counts.keySet()) {
+            String path = file(output, table).toAbsolutePath().toString();
+            postgres.append("\\i '").append(path).append("'\n");
+            h2.append("runscript from '").append(path).append("' charset 'UTF-8';\n");
+        }
+        for (Map.Entry<Table, Long> entry : counts.entrySet()) {
+            String restart = DatasetFormat.restartIdentity(entry.getKey(), entry.getValue());
+            postgres.append(restart).append('\n');
+            h2.append(restart).append('\n');
+        }
+        postgres.append("analyze;\n");
+        Files.writeString(output.resolve("load-postgres.sql"), postgres);
+        Files.writeString(output.resolve("load-h2.sql"), h2);
+    }
+
+    private static Path file(Path output, Table table) {
+        return output.resolve(table.getTableName() + ".sql");
+    }
+
+    private static class SqlTableWriter implements TableWriter {
+
+        private final Writer writer;
+        private final String insert;
+        private final int batchSize;
+        private int rowsInBatch;
+
+        SqlTableWriter(Writer writer, String insert, int batchSize) {
+            this.writer = writer;
+            this.insert = insert;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void write(Object... values) throws IOException {
+            writer.write(rowsInBatch == 0 ? insert : ",\n");
+            writer.write('(');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(", ");
+                }
+                writeValue(values[i]);
+            }
+            writer.write(')');
+            if (++rowsInBatch == batchSize) {
+                endBatch();
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                writer.write("null");
+            } else if (value instanceof LocalDateTime) {
+                writer.write("timestamp '");
+                writer.write(CsvFormat.TIMESTAMP.format((LocalDateTime) value));
+                writer.write('\'');
+            } else if (value instanceof Number || value instanceof Boolean) {
+                writer.write(value.toString());
+            } else {
+                writer.write('\'');
+                writer.write(value.toString().replace("'", "''"));
+                writer.write('\'');
+            }
+        }
+
+        private void endBatch() throws IOException {
+            writer.write(";\n");
+            rowsInBatch = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (rowsInBatch > 0) {
+                endBatch();
+            }
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.dataset;
+
+import java.util.List;
+
+public enum Table {
+    USERS("users", List.of("id", "name", "email")),
+    REQUESTS("requests", List.of("id", "description", "requester_id", "created")),
+    ITEMS("items", List.of("id", "name", "description", "available", "owner_id", "request_id")),
+    BOOKINGS("bookings", List.of("id", "start_date", "end_date", "item_id", "booker_id", "status")),
+    COMMENTS("comments", List.of("id", "text", "item_id", "author_id", "created"));
+
+    private final String tableName;
+    private final List<String> columns;
+
+    Table(String tableName, List<String> columns) {
+        this.tableName = tableName;
+        this.columns = columns;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.dataset;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface TableWriter extends Closeable {
+
+    void write(Object... values) throws IOException;
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.dataset;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks 1..n with probability proportional to 1 / rank^exponent in constant time and memory,
+ * using rejection-inversion (Hörmann and Derflinger), so populations of hundreds of millions need no tables.
+ */
+public class ZipfSampler {
+
+    private final long n;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    public ZipfSampler(long n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Population must not be empty");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative");
+        }
+        this.n = n;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1.0;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    public long sample(SplittableRandom random) {
+        if (exponent == 0) {
+            return 1 + random.nextLong(n);
+        }
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            long k = Math.max(1, Math.min(n, (long) (x + 0.5)));
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1.0 - exponent) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(-1.0, x * (1.0 - exponent));
+        return Math.exp(helper1(t) * x);
+    }
+
+    private static double helper1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+    }
+
+    private static double helper2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1.0 + x * 0.5 * (1.0 + x * (1.0 / 3.0) * (1.0 + 0.25 * x));
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.dataset;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatasetGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void generate_whenSameSeed_thenIdenticalOutput() throws IOException {
+        generate(directory.resolve("first"), "42");
+        generate(directory.resolve("second"), "42");
+        generate(directory.resolve("third"), "43");
+
+        for (Table table : Table.values()) {
+            String file = table.getTableName() + ".csv";
+            assertEquals(Files.readString(directory.resolve("first").resolve(file)),
+                    Files.readString(directory.resolve("second").resolve(file)));
+        }
+        assertNotEquals(Files.readString(directory.resolve("first").resolve("bookings.csv")),
+                Files.readString(directory.resolve("third").resolve("bookings.csv")));
+    }
+
+    @Test
+    void generate_whenBookingsWritten_thenReferencesValidAndBookerIsNotOwner() throws IOException {
+        Path output = directory.resolve("dataset");
+        Map<Table, Long> counts = generate(output, "7");
+
+        Map<String, String> owners = rows(output, Table.ITEMS).stream()
+                .collect(Collectors.toMap(row -> row[0], row -> row[4]));
+        List<String[]> bookings = rows(output, Table.BOOKINGS);
+        assertEquals(counts.get(Table.BOOKINGS), bookings.size());
+        for (String[] booking : bookings) {
+            assertTrue(owners.containsKey(booking[3]));
+            assertNotEquals(owners.get(booking[3]), booking[4]);
+            assertTrue(booking[1].compareTo(booking[2]) < 0);
+        }
+        assertTrue(counts.get(Table.COMMENTS) > 0);
+        assertTrue(Files.readString(output.resolve("load-postgres.sql"))
+                .contains("alter table bookings alter column id restart with " + (bookings.size() + 1) + ";"));
+    }
+
+    @Test
+    void generate_whenSkewed_thenMostPopularItemsTakeLargeShare() throws IOException {
+        Path output = directory.resolve("skewed");
+        generate(output, "1");
+
+        Map<String, Integer> perItem = new HashMap<>();
+        rows(output, Table.BOOKINGS).forEach(row -> perItem.merge(row[3], 1, Integer::sum));
+        int topTen = perItem.values().stream().sorted((a, b) -> b - a).limit(10).mapToInt(Integer::intValue).sum();
+        assertTrue(topTen > 2000 * 0.2, "top 10 items got " + topTen + " of 2000 bookings");
+    }
+
+    @Test
+    void sample_whenUniform_thenEveryRankInRange() {
+        ZipfSampler sampler = new ZipfSampler(5, 0);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 1000; i++) {
+            long rank = sampler.sample(random);
+            assertTrue(rank >= 1 && rank <= 5);
+        }
+    }
+
+    @Test
+    void generate_whenSqlFormat_thenBatchedInserts() throws IOException {
+        Path output = directory.resolve("sql");
+        DatasetGenerator generator = new DatasetGenerator(DatasetOptions.parse(new String[]{
+                "--users=25", "--format=sql", "--batch-size=10", "--reference-date=2024-06-01",
+                "--output=" + output}));
+
+        generator.generate();
+
+        String users = Files.readString(output.resolve("users.sql"));
+        assertEquals(3, users.split("insert into users").length - 1);
+        assertTrue(users.contains("(1, 'User 1 "));
+    }
+
+    private Map<Table, Long> generate(Path output, String seed) throws IOException {
+        return new DatasetGenerator(DatasetOptions.parse(new String[]{
+                "--users=100", "--items=200", "--requests=20", "--bookings=2000", "--seed=" + seed,
+                "--reference-date=2024-06-01", "--output=" + output})).generate();
+    }
+
+    private static List<String[]> rows(Path output, Table table) throws IOException {
+        return Files.readAllLines(output.resolve(table.getTableName() + ".csv")).stream()
+                .skip(1)
+                .map(line -> line.split(",", -1))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.tracing.Tracer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BaseClientBenchmark {
+
+    @Param({"1", "50"})
+    private int payloadItems;
+
+    @Param({"false", "true"})
+    private boolean traced;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private StubClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] body = IntStream.range(0, payloadItems)
+                .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"item " + i + "\",\"description\":\"stub item\","
+                        + "\"available\":true,\"requestId\":null}")
+                .collect(Collectors.joining(",", "[", "]"))
+                .getBytes(StandardCharsets.UTF_8);
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        RestTemplate rest = new RestTemplateBuilder()
+                .rootUri("http://127.0.0.1:" + server.getAddress().getPort())
+                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .build();
+        client = new StubClient(rest, traced ? new Tracer(span -> {
+        }) : null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> get() {
+        return client.getItems();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> post() {
+        return client.createItem();
+    }
+
+    private static class StubClient extends BaseClient {
+
+        private static final Map<String, Object> ITEM = Map.of(
+                "name", "item", "description", "stub item", "available", true);
+
+        StubClient(RestTemplate rest, @Nullable Tracer tracer) {
+            super(rest, null, tracer);
+        }
+
+        ResponseEntity<Object> getItems() {
+            return get("/items?from={from}&size={size}", 1L, Map.of("from", 0, "size", 20));
+        }
+
+        ResponseEntity<Object> createItem() {
+            return post("/items", 1L, ITEM);
+        }
+    }
+}
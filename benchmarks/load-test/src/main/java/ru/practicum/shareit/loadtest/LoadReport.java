@@ -0,0 +1,81 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+public class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String ROW = "%-16s %9s %9s %9s %8s %10s %10s %10s %10s%n";
+
+    private final LoadResult result;
+
+    public LoadReport(LoadResult result) {
+        this.result = result;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = result.getElapsed().toNanos() / 1e9;
+        out.printf(Locale.ROOT, ROW, "operation", "count", "req/s", "errors", "error%",
+                "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, OperationStats> entry : result.getStats().entrySet()) {
+            OperationStats stats = entry.getValue();
+            if (stats.getCount() == 0 && stats.getStarved() == 0) {
+                continue;
+            }
+            row(out, entry.getKey().getKey(), stats.getCount(), stats.getErrors(), stats.getLatencies(), seconds);
+        }
+        row(out, "total", result.getTotalCount(), result.getTotalErrors(), result.getTotalLatencies(), seconds);
+        out.println();
+        for (Map.Entry<Operation, OperationStats> entry : result.getStats().entrySet()) {
+            OperationStats stats = entry.getValue();
+            stats.getErrorKinds().forEach((kind, count) ->
+                    out.printf(Locale.ROOT, "%s errors: %s x%d%n", entry.getKey().getKey(), kind, count));
+            if (stats.getStarved() > 0) {
+                out.printf(Locale.ROOT, "%s skipped %d times: no waiting booking to approve%n",
+                        entry.getKey().getKey(), stats.getStarved());
+            }
+        }
+    }
+
+    public void write(Path output) throws IOException {
+        Files.createDirectories(output);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(output.resolve("summary.txt")))) {
+            print(out);
+        }
+        for (Map.Entry<Operation, OperationStats> entry : result.getStats().entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                writeHistogram(output.resolve(entry.getKey().getKey() + ".hgrm"), entry.getValue().getLatencies());
+            }
+        }
+        writeHistogram(output.resolve("total.hgrm"), result.getTotalLatencies());
+    }
+
+    private static void row(PrintStream out, String name, long count, long errors, Histogram latencies,
+                            double seconds) {
+        out.printf(Locale.ROOT, ROW, name, count,
+                String.format(Locale.ROOT, "%.1f", count / seconds),
+                errors,
+                String.format(Locale.ROOT, "%.2f", count == 0 ? 0.0 : 100.0 * errors / count),
+                millis(latencies, 50.0),
+                millis(latencies, 99.0),
+                millis(latencies, 99.9),
+                String.format(Locale.ROOT, "%.2f", latencies.getMaxValue() / MICROS_PER_MILLI));
+    }
+
+    private static String millis(Histogram latencies, double percentile) {
+        return String.format(Locale.ROOT, "%.2f", latencies.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+    }
+
+    private static void writeHistogram(Path file, Histogram latencies) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latencies.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+
+public class LoadResult {
+
+    private final Map<Operation, OperationStats> stats;
+    private final Duration elapsed;
+
+    public LoadResult(Map<Operation, OperationStats> stats, Duration elapsed) {
+        this.stats = stats;
+        this.elapsed = elapsed;
+    }
+
+    public Map<Operation, OperationStats> getStats() {
+        return stats;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public Histogram getTotalLatencies() {
+        Histogram total = new Histogram(3);
+        stats.values().forEach(operationStats -> total.add(operationStats.getLatencies()));
+        return total;
+    }
+
+    public long getTotalCount() {
+        return stats.values().stream().mapToLong(OperationStats::getCount).sum();
+    }
+
+    public long getTotalErrors() {
+        return stats.values().stream().mapToLong(OperationStats::getErrors).sum();
+    }
+}
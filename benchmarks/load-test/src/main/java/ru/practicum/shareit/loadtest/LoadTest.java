@@ -0,0 +1,70 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path output = options.getOutput();
+        List<ApplicationProcess> processes = new ArrayList<>();
+        try {
+            String gatewayUrl = options.isExternalGateway() ? options.getGatewayUrl() : start(options, processes);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            Workload workload = new Workload(gatewayUrl, client, options.getSeed());
+            System.out.printf("Seeding %d users, %d items and %d bookings through %s%n", options.getUsers(),
+                    options.getUsers() * options.getItemsPerUser(), options.getBookings(), gatewayUrl);
+            workload.seed(options.getUsers(), options.getItemsPerUser(), options.getBookings());
+
+            TrafficMix mix = options.getMix();
+            System.out.printf("Running %d req/s for %s after %s warmup, mix %s%n",
+                    options.getRps(), options.getDuration(), options.getWarmup(), mix);
+            LoadResult result = new OpenLoopDriver(client, workload, mix, options.getMaxInFlight(), options.getSeed())
+                    .run(options.getRps(), options.getWarmup(), options.getDuration());
+
+            LoadReport report = new LoadReport(result);
+            report.print(System.out);
+            report.write(output);
+            System.out.println("Histograms written to " + output.toAbsolutePath());
+        } finally {
+            for (int i = processes.size() - 1; i >= 0; i--) {
+                processes.get(i).close();
+            }
+        }
+    }
+
+    private static String start(LoadTestOptions options, List<ApplicationProcess> processes) throws Exception {
+        Path output = options.getOutput();
+        List<String> serverArguments = new ArrayList<>();
+        Map<String, String> serverEnvironment = Map.of();
+        if (options.getDatabase().equals("h2")) {
+            serverArguments.add("--spring.profiles.active=test");
+        } else {
+            serverEnvironment = Map.of(
+                    "SPRING_DATASOURCE_URL", options.getDatabaseUrl(),
+                    "POSTGRES_USER", options.getDatabaseUser(),
+                    "POSTGRES_PASSWORD", options.getDatabasePassword());
+        }
+        System.out.printf("Starting server on %s%n", options.getDatabase());
+        ApplicationProcess server = ApplicationProcess.start("server", options.getServerJar(),
+                ApplicationProcess.freePort(), serverArguments, serverEnvironment, output);
+        processes.add(server);
+        server.awaitHealthy(options.getStartupTimeout());
+
+        System.out.println("Starting gateway");
+        ApplicationProcess gateway = ApplicationProcess.start("gateway", options.getGatewayJar(),
+                ApplicationProcess.freePort(), List.of(), Map.of("SHAREIT_SERVER_URL", server.getUrl()), output);
+        processes.add(gateway);
+        gateway.awaitHealthy(options.getStartupTimeout());
+        return gateway.getUrl();
+    }
+}
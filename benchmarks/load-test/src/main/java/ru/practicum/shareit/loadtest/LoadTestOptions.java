@@ -0,0 +1,135 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class LoadTestOptions {
+
+    static final String PROPERTY_PREFIX = "loadtest.";
+    static final String DEFAULT_MIX = "create-booking=15,approve-booking=10,list-by-state=35,search=20,item-detail=20";
+
+    private final Map<String, String> values;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(PROPERTY_PREFIX))
+                .forEach(name -> values.put(name.substring(PROPERTY_PREFIX.length()), System.getProperty(name)));
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments must look like --name=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    public String getGatewayUrl() {
+        return values.get("gateway-url");
+    }
+
+    public boolean isExternalGateway() {
+        return getGatewayUrl() != null && !getGatewayUrl().isBlank();
+    }
+
+    public Path getServerJar() {
+        return Path.of(required("server-jar"));
+    }
+
+    public Path getGatewayJar() {
+        return Path.of(required("gateway-jar"));
+    }
+
+    public String getDatabase() {
+        String database = values.getOrDefault("db", "h2").toLowerCase(Locale.ROOT);
+        if (!database.equals("h2") && !database.equals("postgres")) {
+            throw new IllegalArgumentException("Unknown database: " + database);
+        }
+        return database;
+    }
+
+    public String getDatabaseUrl() {
+        return values.getOrDefault("db-url", "jdbc:postgresql://localhost:5432/shareit");
+    }
+
+    public String getDatabaseUser() {
+        return values.getOrDefault("db-user", "shareit");
+    }
+
+    public String getDatabasePassword() {
+        return values.getOrDefault("db-password", "shareit");
+    }
+
+    public int getRps() {
+        return positiveInt("rps", 100);
+    }
+
+    public Duration getDuration() {
+        return duration("duration", "60s");
+    }
+
+    public Duration getWarmup() {
+        return duration("warmup", "10s");
+    }
+
+    public Duration getStartupTimeout() {
+        return duration("startup-timeout", "120s");
+    }
+
+    public TrafficMix getMix() {
+        return TrafficMix.parse(values.getOrDefault("mix", DEFAULT_MIX));
+    }
+
+    public int getUsers() {
+        return positiveInt("users", 50);
+    }
+
+    public int getItemsPerUser() {
+        return positiveInt("items-per-user", 2);
+    }
+
+    public int getBookings() {
+        return positiveInt("bookings", 200);
+    }
+
+    public int getMaxInFlight() {
+        return positiveInt("max-in-flight", 1000);
+    }
+
+    public long getSeed() {
+        return Long.parseLong(values.getOrDefault("seed", "42"));
+    }
+
+    public Path getOutput() {
+        return Path.of(values.getOrDefault("output", "load-test"));
+    }
+
+    private String required(String name) {
+        String value = values.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing option --" + name);
+        }
+        return value;
+    }
+
+    private int positiveInt(String name, int defaultValue) {
+        int value = Integer.parseInt(values.getOrDefault(name, String.valueOf(defaultValue)));
+        if (value <= 0) {
+            throw new IllegalArgumentException("Option --" + name + " must be positive");
+        }
+        return value;
+    }
+
+    private Duration duration(String name, String defaultValue) {
+        String value = values.getOrDefault(name, defaultValue).toUpperCase(Locale.ROOT);
+        return Duration.parse(value.startsWith("P") ? value : "PT" + value);
+    }
+}
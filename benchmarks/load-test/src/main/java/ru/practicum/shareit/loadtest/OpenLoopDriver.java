@@ -0,0 +1,96 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class OpenLoopDriver {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final TrafficMix mix;
+    private final int maxInFlight;
+    private final SplittableRandom random;
+
+    public OpenLoopDriver(HttpClient client, Workload workload, TrafficMix mix, int maxInFlight, long seed) {
+        this.client = client;
+        this.workload = workload;
+        this.mix = mix;
+        this.maxInFlight = maxInFlight;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public LoadResult run(int rps, Duration warmup, Duration duration) throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long interval = TimeUnit.SECONDS.toNanos(1) / rps;
+        long start = System.nanoTime();
+        long measureStart = start + warmup.toNanos();
+        long end = measureStart + duration.toNanos();
+
+        for (long intended = start; intended < end; intended += interval) {
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            boolean measured = intended >= measureStart;
+            Operation operation = mix.next(random);
+            OperationStats operationStats = measured ? stats.get(operation) : null;
+            Workload.Call call = workload.next(operation);
+            if (call == null) {
+                if (measured) {
+                    operationStats.starved();
+                }
+                continue;
+            }
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    operationStats.dropped();
+                }
+                continue;
+            }
+            // latency is measured from the intended send time, so a stall is not hidden by coordinated omission
+            long scheduled = intended;
+            client.sendAsync(call.getRequest(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        long latency = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+                        try {
+                            if (error != null) {
+                                record(operationStats, latency, error.getClass().getSimpleName());
+                            } else if (response.statusCode() >= 400) {
+                                record(operationStats, latency, "HTTP " + response.statusCode());
+                            } else {
+                                call.succeeded(response.body());
+                                if (operationStats != null) {
+                                    operationStats.success(latency);
+                                }
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+        }
+        long elapsed = System.nanoTime() - measureStart;
+        if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw new IllegalStateException("Requests still in flight after " + DRAIN_TIMEOUT);
+        }
+        return new LoadResult(stats, Duration.ofNanos(elapsed));
+    }
+
+    private static void record(OperationStats stats, long latency, String kind) {
+        if (stats != null) {
+            stats.error(latency, kind);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+
+public enum Operation {
+    CREATE_BOOKING("create-booking"),
+    APPROVE_BOOKING("approve-booking"),
+    LIST_BY_STATE("list-by-state"),
+    SEARCH("search"),
+    ITEM_DETAIL("item-detail");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + key));
+    }
+}
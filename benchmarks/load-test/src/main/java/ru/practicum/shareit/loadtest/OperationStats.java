@@ -0,0 +1,65 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OperationStats {
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder successes = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder starved = new LongAdder();
+
+    public void success(long latencyMicros) {
+        latencies.recordValue(latencyMicros);
+        successes.increment();
+    }
+
+    public void error(long latencyMicros, String kind) {
+        latencies.recordValue(latencyMicros);
+        errors.computeIfAbsent(kind, key -> new LongAdder()).increment();
+    }
+
+    public void dropped() {
+        dropped.increment();
+    }
+
+    public void starved() {
+        starved.increment();
+    }
+
+    public Histogram getLatencies() {
+        return latencies;
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum() + dropped.sum();
+    }
+
+    public Map<String, Long> getErrorKinds() {
+        Map<String, Long> kinds = new TreeMap<>();
+        errors.forEach((kind, count) -> kinds.put(kind, count.sum()));
+        if (dropped.sum() > 0) {
+            kinds.put("dropped", dropped.sum());
+        }
+        return kinds;
+    }
+
+    public long getStarved() {
+        return starved.sum();
+    }
+
+    public long getCount() {
+        return getSuccesses() + getErrors();
+    }
+}
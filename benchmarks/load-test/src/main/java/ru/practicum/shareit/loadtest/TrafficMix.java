@@ -0,0 +1,68 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+public class TrafficMix {
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+    private final int total;
+
+    private TrafficMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weights.get(operations[i]);
+            cumulative[i] = sum;
+        }
+        this.total = sum;
+    }
+
+    public static TrafficMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entry must be operation=weight: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weight must not be negative: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix must contain at least one operation with positive weight");
+        }
+        return new TrafficMix(weights);
+    }
+
+    public Operation next(SplittableRandom random) {
+        int value = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (value < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public double share(Operation operation) {
+        return weights.getOrDefault(operation, 0) / (double) total;
+    }
+
+    @Override
+    public String toString() {
+        return weights.entrySet().stream()
+                .map(entry -> entry.getKey().getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,206 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+public class Workload {
+
+    static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] WORDS = {
+            "drill", "saw", "ladder", "tent", "kayak", "bike", "camera", "projector",
+            "guitar", "scooter", "mixer", "hammock", "telescope", "speaker", "sled", "grill"};
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SplittableRandom random;
+    private final List<Long> users = new ArrayList<>();
+    private final List<Long> items = new ArrayList<>();
+    private final List<Long> itemOwners = new ArrayList<>();
+    private final Queue<long[]> waitingBookings = new ConcurrentLinkedQueue<>();
+
+    public Workload(String baseUrl, HttpClient client, long seed) {
+        this.baseUrl = baseUrl;
+        this.client = client;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public void seed(int userCount, int itemsPerUser, int bookingCount) throws IOException, InterruptedException {
+        for (int i = 0; i < userCount; i++) {
+            users.add(id(execute(post("/users", null,
+                    "{\"name\":\"user " + i + "\",\"email\":\"user" + i + "-" + random.nextInt(1_000_000)
+                            + "@load.test\"}"))));
+        }
+        for (Long owner : users) {
+            for (int i = 0; i < itemsPerUser; i++) {
+                String word = word();
+                items.add(id(execute(post("/items", owner,
+                        "{\"name\":\"" + word + " " + items.size() + "\",\"description\":\"" + word + " for "
+                                + word() + " trips\",\"available\":true}"))));
+                itemOwners.add(owner);
+            }
+        }
+        for (int i = 0; i < bookingCount; i++) {
+            int item = random.nextInt(items.size());
+            Long booker = booker(item);
+            long booking = id(execute(post("/bookings", booker, bookingBody(item))));
+            if (random.nextBoolean()) {
+                execute(patch("/bookings/" + booking + "?approved=" + random.nextBoolean(), itemOwners.get(item)));
+            } else {
+                waitingBookings.add(new long[]{booking, itemOwners.get(item)});
+            }
+        }
+    }
+
+    public Call next(Operation operation) {
+        switch (operation) {
+            case CREATE_BOOKING:
+                return createBooking();
+            case APPROVE_BOOKING:
+                return approveBooking();
+            case LIST_BY_STATE:
+                return listByState();
+            case SEARCH:
+                return new Call(operation, get("/items/search?text=" + word(), user()), null);
+            case ITEM_DETAIL:
+                return new Call(operation, get("/items/" + items.get(random.nextInt(items.size())), user()), null);
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + operation);
+        }
+    }
+
+    private Call createBooking() {
+        int item = random.nextInt(items.size());
+        long owner = itemOwners.get(item);
+        return new Call(Operation.CREATE_BOOKING, post("/bookings", booker(item), bookingBody(item)),
+                body -> waitingBookings.add(new long[]{id(body), owner}));
+    }
+
+    private Call approveBooking() {
+        long[] booking = waitingBookings.poll();
+        if (booking == null) {
+            return null;
+        }
+        return new Call(Operation.APPROVE_BOOKING,
+                patch("/bookings/" + booking[0] + "?approved=" + (random.nextInt(4) != 0), booking[1]), null);
+    }
+
+    private Call listByState() {
+        String path = random.nextBoolean() ? "/bookings" : "/bookings/owner";
+        String state = STATES[random.nextInt(STATES.length)];
+        return new Call(Operation.LIST_BY_STATE, get(path + "?state=" + state + "&from=0&size=10", user()), null);
+    }
+
+    private String bookingBody(int item) {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                .plusDays(1 + random.nextInt(60))
+                .plusHours(random.nextInt(24));
+        LocalDateTime end = start.plusDays(1 + random.nextInt(7));
+        return "{\"itemId\":" + items.get(item) + ",\"start\":\"" + start + "\",\"end\":\"" + end + "\"}";
+    }
+
+    private Long booker(int item) {
+        Long owner = itemOwners.get(item);
+        Long booker;
+        do {
+            booker = user();
+        } while (booker.equals(owner) && users.size() > 1);
+        return booker;
+    }
+
+    private Long user() {
+        return users.get(random.nextInt(users.size()));
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private HttpRequest get(String path, Long userId) {
+        return request(path, userId).GET().build();
+    }
+
+    private HttpRequest post(String path, Long userId, String body) {
+        return request(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest patch(String path, Long userId) {
+        return request(path, userId)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (userId != null) {
+            builder.header(USER_HEADER, userId.toString());
+        }
+        return builder;
+    }
+
+    private String execute(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Seeding failed: " + request.method() + " " + request.uri()
+                    + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private long id(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Response has no id: " + body, e);
+        }
+    }
+
+    public static class Call {
+
+        private final Operation operation;
+        private final HttpRequest request;
+        private final Consumer<String> onSuccess;
+
+        Call(Operation operation, HttpRequest request, Consumer<String> onSuccess) {
+            this.operation = operation;
+            this.request = request;
+            this.onSuccess = onSuccess;
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+
+        public HttpRequest getRequest() {
+            return request;
+        }
+
+        public void succeeded(String body) {
+            if (onSuccess != null) {
+                onSuccess.accept(body);
+            }
+        }
+    }
+}
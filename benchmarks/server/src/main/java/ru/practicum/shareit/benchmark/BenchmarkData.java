@@ -0,0 +1,84 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+    static final int BOOKERS = 20;
+    static final int BOOKINGS_PER_ITEM = 5;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static User user(Long id, int index) {
+        return User.builder()
+                .id(id)
+                .name("user" + index)
+                .email("user" + index + "-" + SEED + "@mail.com")
+                .build();
+    }
+
+    static List<User> users(int count, int offset, boolean withIds) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(withIds ? (long) offset + i : null, offset + i));
+        }
+        return users;
+    }
+
+    static ItemRequest request(Long id, User requester, int index) {
+        ItemRequest request = new ItemRequest();
+        request.setId(id);
+        request.setDescription("request " + index);
+        request.setRequester(requester);
+        request.setCreated(NOW.minusDays(index));
+        return request;
+    }
+
+    static List<Item> items(int count, User owner, List<ItemRequest> requests, Random random, boolean withIds) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(Item.builder()
+                    .id(withIds ? (long) i + 1 : null)
+                    .name("item " + i)
+                    .description("description of item " + i + " " + Long.toHexString(random.nextLong()))
+                    .available(random.nextInt(10) > 0)
+                    .owner(owner)
+                    .request(requests.isEmpty() || random.nextBoolean() ? null : requests.get(random.nextInt(requests.size())))
+                    .build());
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(List<Item> items, List<User> bookers, Random random, boolean withIds) {
+        List<Booking> bookings = new ArrayList<>(items.size() * BOOKINGS_PER_ITEM);
+        long id = 1;
+        Status[] statuses = Status.values();
+        for (Item item : items) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                LocalDateTime start = NOW.plusHours(random.nextInt(24 * 60) - 24 * 30);
+                Booking booking = new Booking();
+                booking.setId(withIds ? id++ : null);
+                booking.setItem(item);
+                booking.setBooker(bookers.get(random.nextInt(bookers.size())));
+                booking.setStart(start);
+                booking.setEnd(start.plusHours(1 + random.nextInt(72)));
+                booking.setStatus(statuses[random.nextInt(statuses.length)]);
+                bookings.add(booking);
+            }
+        }
+        return bookings;
+    }
+}
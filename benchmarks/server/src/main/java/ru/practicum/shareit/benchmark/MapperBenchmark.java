@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.mapper.UserMapperImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private ItemMapper itemMapper;
+    private BookingMapper bookingMapper;
+    private List<Item> items;
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(
+                ItemMapperImpl.class, BookingMapperImpl.class, CommentMapperImpl.class, UserMapperImpl.class);
+        itemMapper = context.getBean(ItemMapper.class);
+        bookingMapper = context.getBean(BookingMapper.class);
+
+        Random random = new Random(BenchmarkData.SEED);
+        User owner = BenchmarkData.user(1L, 1);
+        List<ItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(BenchmarkData.request((long) i + 1, BenchmarkData.user(100L + i, 100 + i), i));
+        }
+        items = BenchmarkData.items(size, owner, requests, random, true);
+        List<Booking> allBookings = BenchmarkData.bookings(items,
+                BenchmarkData.users(BenchmarkData.BOOKERS, 2, true), random, true);
+        bookings = allBookings.subList(0, size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> itemMapperToItemDtoList() {
+        return itemMapper.toItemDtoList(items);
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingMapperToBookingDtoList() {
+        return bookingMapper.toBookingDtoList(bookings);
+    }
+}
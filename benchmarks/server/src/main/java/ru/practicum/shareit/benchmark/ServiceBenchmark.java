@@ -0,0 +1,95 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.GetBookingRequest;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10", "100"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private long ownerId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "shareit.tracing.exporter=none",
+                        "logging.level.root=WARN")
+                .run();
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        populate();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> itemServiceGetByOwnerId() {
+        return itemService.getByOwnerId(ownerId);
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingServiceGetAllForOwnerByState() {
+        return bookingService.getAllForOwnerByState(GetBookingRequest.of(ownerId, BookingState.ALL, 0, PAGE_SIZE));
+    }
+
+    private void populate() {
+        Random random = new Random(BenchmarkData.SEED);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User owner = userRepository.save(BenchmarkData.user(null, 0));
+        List<User> bookers = userRepository.saveAll(BenchmarkData.users(BenchmarkData.BOOKERS, 1, false));
+        List<ItemRequest> requests = context.getBean(ItemRequestRepository.class).saveAll(List.of(
+                BenchmarkData.request(null, bookers.get(0), 0),
+                BenchmarkData.request(null, bookers.get(1), 1)));
+        List<Item> savedItems = context.getBean(ItemRepository.class)
+                .saveAll(BenchmarkData.items(items, owner, requests, random, false));
+        context.getBean(BookingRepository.class).saveAll(BenchmarkData.bookings(savedItems, bookers, random, false));
+        context.getBean(UserIdRegistry.class).rebuild();
+        ownerId = owner.getId();
+    }
+}
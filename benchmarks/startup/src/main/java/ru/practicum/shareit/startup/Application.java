@@ -0,0 +1,158 @@
+package ru.practicum.shareit.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarFile;
+
+public class Application {
+
+    private static final String CLASS_PATH = "application.jar" + File.pathSeparator + "BOOT-INF/lib/*";
+
+    private final String name;
+    private final Path jar;
+    private final List<String> profiles;
+    private final List<String> arguments;
+    private final String probePath;
+    private Path extracted;
+
+    public Application(String name, Path jar, List<String> profiles, List<String> arguments, String probePath) {
+        this.name = name;
+        this.jar = jar;
+        this.profiles = profiles;
+        this.arguments = arguments;
+        this.probePath = probePath;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getProbePath() {
+        return probePath;
+    }
+
+    // Mirrors the Dockerfile: layered extraction, application classes packed into a jar, class list from
+    // a training run without lazy initialization, then a static archive dumped from that list.
+    public void prepareClassDataSharing(Path output) throws IOException, InterruptedException {
+        checkJar();
+        extracted = output.toAbsolutePath().resolve(name + "-cds");
+        deleteRecursively(extracted);
+        Files.createDirectories(extracted);
+        run(output, "extract", List.of(java(), "-Djarmode=layertools", "-jar", jar.toAbsolutePath().toString(),
+                "extract", "--destination", "layers"));
+        Path application = extracted.resolve("app");
+        Files.createDirectories(application);
+        for (String layer : List.of("dependencies", "spring-boot-loader", "snapshot-dependencies", "application")) {
+            copyRecursively(extracted.resolve("layers").resolve(layer), application);
+        }
+        deleteRecursively(extracted.resolve("layers"));
+        run(output, "jar", List.of(tool("jar"), "cf", "app/application.jar", "-C", "app/BOOT-INF/classes", "."));
+        deleteRecursively(application.resolve("BOOT-INF").resolve("classes"));
+
+        List<String> training = new ArrayList<>(List.of(java(), "-XX:DumpLoadedClassList=app.classlist",
+                "-cp", CLASS_PATH, mainClass(), "--server.port=0", "--shareit.fast-start.training-run=true"));
+        if (!profiles.isEmpty()) {
+            training.add("--spring.profiles.active=" + String.join(",", profiles));
+        }
+        training.addAll(arguments);
+        runIn(application, output, "training", training);
+        runIn(application, output, "dump", List.of(java(), "-Xshare:dump", "-XX:SharedClassListFile=app.classlist",
+                "-XX:SharedArchiveFile=app.jsa", "-cp", CLASS_PATH));
+    }
+
+    public ProcessBuilder command(LaunchMode mode, int port) throws IOException {
+        checkJar();
+        List<String> command = new ArrayList<>();
+        command.add(java());
+        File directory = null;
+        if (mode == LaunchMode.FAST_START_CDS) {
+            if (extracted == null) {
+                throw new IllegalStateException("Class data sharing archive of " + name + " is not prepared");
+            }
+            command.addAll(List.of("-XX:SharedArchiveFile=app.jsa", "-Xshare:auto", "-cp", CLASS_PATH, mainClass()));
+            directory = extracted.resolve("app").toFile();
+        } else {
+            command.addAll(List.of("-jar", jar.toAbsolutePath().toString()));
+        }
+        command.add("--server.port=" + port);
+        List<String> active = new ArrayList<>(profiles);
+        if (mode.isFastStart()) {
+            active.add("fast-start");
+        }
+        if (!active.isEmpty()) {
+            command.add("--spring.profiles.active=" + String.join(",", active));
+        }
+        command.addAll(arguments);
+        return new ProcessBuilder(command).directory(directory);
+    }
+
+    private void checkJar() {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException(jar + " not found, package it with: mvn -P benchmark package -DskipTests");
+        }
+    }
+
+    private String mainClass() throws IOException {
+        try (JarFile file = new JarFile(jar.toFile())) {
+            return file.getManifest().getMainAttributes().getValue("Start-Class");
+        }
+    }
+
+    private void run(Path output, String step, List<String> command) throws IOException, InterruptedException {
+        runIn(extracted, output, step, command);
+    }
+
+    private void runIn(Path directory, Path output, String step, List<String> command)
+            throws IOException, InterruptedException {
+        Path log = output.toAbsolutePath().resolve(name + "-cds-" + step + ".log");
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException(name + " " + step + " failed, see " + log);
+        }
+    }
+
+    private static String java() {
+        return tool("java");
+    }
+
+    private static String tool(String name) {
+        return Path.of(System.getProperty("java.home"), "bin", name).toString();
+    }
+
+    private static void copyRecursively(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return;
+        }
+        try (var paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path destination = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.copy(path, destination);
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (var paths = Files.walk(root)) {
+            List<Path> all = new ArrayList<>();
+            paths.forEach(all::add);
+            for (int i = all.size() - 1; i >= 0; i--) {
+                Files.delete(all.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.startup;
+
+public enum LaunchMode {
+    JAR("jar"),
+    FAST_START("fast-start"),
+    FAST_START_CDS("fast-start-cds");
+
+    private final String key;
+
+    LaunchMode(String key) {
+        this.key = key;
+    }
+
+    public static LaunchMode of(String key) {
+        for (LaunchMode mode : values()) {
+            if (mode.key.equals(key)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown mode: " + key);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public boolean isFastStart() {
+        return this != JAR;
+    }
+}
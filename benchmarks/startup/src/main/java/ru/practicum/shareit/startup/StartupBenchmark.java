@@ -0,0 +1,157 @@
+package ru.practicum.shareit.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+public class StartupBenchmark {
+
+    private static final String ROW = "%-8s %-16s %6s %9s %9s %9s%n";
+    private static final long PROBE_INTERVAL_MILLIS = 20;
+
+    private final StartupOptions options;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    public StartupBenchmark(StartupOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupOptions options = StartupOptions.parse(args);
+        List<StartupResult> results = new StartupBenchmark(options).run();
+        print(results, System.out);
+        Path output = options.getOutput();
+        try (PrintStream out = new PrintStream(Files.newOutputStream(output.resolve("summary.txt")))) {
+            print(results, out);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(output.resolve("startup-result.json").toFile(), results);
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    public List<StartupResult> run() throws Exception {
+        Path output = options.getOutput();
+        Files.createDirectories(output);
+        List<StartupResult> results = new ArrayList<>();
+        Application server = new Application("server", options.getServerJar(), List.of("test"), List.of(), "/users");
+        if (options.getApplications().contains("server")) {
+            results.addAll(measure(server));
+        }
+        if (options.getApplications().contains("gateway")) {
+            // The gateway proxies its first request, so it needs a running server.
+            int serverPort = freePort();
+            Process backend = server.command(LaunchMode.JAR, serverPort)
+                    .redirectErrorStream(true)
+                    .redirectOutput(output.resolve("gateway-backend.log").toFile())
+                    .start();
+            try {
+                String serverUrl = "http://localhost:" + serverPort;
+                awaitFirstRequest(backend, serverUrl + "/users", "backend server");
+                Application gateway = new Application("gateway", options.getGatewayJar(), List.of(),
+                        List.of("--shareit-server.url=" + serverUrl), "/users");
+                results.addAll(measure(gateway));
+            } finally {
+                stop(backend);
+            }
+        }
+        return results;
+    }
+
+    private List<StartupResult> measure(Application application) throws Exception {
+        Path output = options.getOutput();
+        List<StartupResult> results = new ArrayList<>();
+        for (LaunchMode mode : options.getModes()) {
+            if (mode == LaunchMode.FAST_START_CDS) {
+                System.out.printf("Building class data sharing archive for %s%n", application.getName());
+                application.prepareClassDataSharing(output);
+            }
+            StartupResult result = new StartupResult(application.getName(), mode.getKey());
+            for (int run = 1; run <= options.getRuns(); run++) {
+                int port = freePort();
+                Path log = output.resolve(application.getName() + "-" + mode.getKey() + "-" + run + ".log");
+                ProcessBuilder builder = application.command(mode, port)
+                        .redirectErrorStream(true)
+                        .redirectOutput(log.toFile());
+                long started = System.nanoTime();
+                Process process = builder.start();
+                try {
+                    awaitFirstRequest(process, "http://localhost:" + port + application.getProbePath(),
+                            application.getName() + " (see " + log + ")");
+                    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    result.add(millis);
+                    System.out.printf(Locale.ROOT, "%s %s run %d: first request served after %d ms%n",
+                            application.getName(), mode.getKey(), run, millis);
+                } finally {
+                    stop(process);
+                }
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private void awaitFirstRequest(Process process, String url, String name) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("X-Sharer-User-Id", "1")
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + options.getStartupTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with code " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            TimeUnit.MILLISECONDS.sleep(PROBE_INTERVAL_MILLIS);
+        }
+        throw new IllegalStateException(name + " did not serve " + url + " within " + options.getStartupTimeout());
+    }
+
+    private static void print(List<StartupResult> results, PrintStream out) {
+        out.printf(Locale.ROOT, ROW, "app", "mode", "runs", "min ms", "median ms", "max ms");
+        for (StartupResult result : results) {
+            out.printf(Locale.ROOT, ROW, result.getApplication(), result.getMode(), result.getMillis().size(),
+                    result.getMin(), result.getMedian(), result.getMax());
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void stop(Process process) {
+        process.destroy();
+        try {
+            if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.startup;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class StartupOptions {
+
+    static final String PROPERTY_PREFIX = "startup.";
+
+    private final Map<String, String> values;
+
+    private StartupOptions(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static StartupOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(PROPERTY_PREFIX))
+                .forEach(name -> values.put(name.substring(PROPERTY_PREFIX.length()), System.getProperty(name)));
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments must look like --name=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new StartupOptions(values);
+    }
+
+    public Path getServerJar() {
+        return Path.of(required("server-jar"));
+    }
+
+    public Path getGatewayJar() {
+        return Path.of(required("gateway-jar"));
+    }
+
+    public int getRuns() {
+        int runs = Integer.parseInt(values.getOrDefault("runs", "5"));
+        if (runs <= 0) {
+            throw new IllegalArgumentException("Option --runs must be positive");
+        }
+        return runs;
+    }
+
+    public List<LaunchMode> getModes() {
+        List<LaunchMode> modes = new ArrayList<>();
+        for (String mode : values.getOrDefault("modes", "jar,fast-start,fast-start-cds").split(",")) {
+            modes.add(LaunchMode.of(mode.trim()));
+        }
+        return modes;
+    }
+
+    public List<String> getApplications() {
+        List<String> applications = List.of(values.getOrDefault("apps", "server,gateway").split(","));
+        for (String application : applications) {
+            if (!application.equals("server") && !application.equals("gateway")) {
+                throw new IllegalArgumentException("Unknown application: " + application);
+            }
+        }
+        return applications;
+    }
+
+    public Duration getStartupTimeout() {
+        String value = values.getOrDefault("startup-timeout", "120s").toUpperCase(Locale.ROOT);
+        return Duration.parse(value.startsWith("P") ? value : "PT" + value);
+    }
+
+    public Path getOutput() {
+        return Path.of(values.getOrDefault("output", "startup"));
+    }
+
+    private String required(String name) {
+        String value = values.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing option --" + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.startup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class StartupResult {
+
+    private final String application;
+    private final String mode;
+    private final List<Long> millis = new ArrayList<>();
+
+    public StartupResult(String application, String mode) {
+        this.application = application;
+        this.mode = mode;
+    }
+
+    void add(long timeToFirstRequestMillis) {
+        millis.add(timeToFirstRequestMillis);
+    }
+
+    public String getApplication() {
+        return application;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public List<Long> getMillis() {
+        return Collections.unmodifiableList(millis);
+    }
+
+    public long getMin() {
+        return Collections.min(millis);
+    }
+
+    public long getMedian() {
+        List<Long> sorted = new ArrayList<>(millis);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    public long getMax() {
+        return Collections.max(millis);
+    }
+}
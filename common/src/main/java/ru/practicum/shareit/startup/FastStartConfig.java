@@ -0,0 +1,23 @@
+package ru.practicum.shareit.startup;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FastStartConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter hotBeanExcludeFilter() {
+        return new HotBeanExcludeFilter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.fast-start.training-run", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> trainingRunExit() {
+        return new TrainingRunExit();
+    }
+}
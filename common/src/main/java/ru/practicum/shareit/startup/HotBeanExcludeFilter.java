@@ -0,0 +1,28 @@
+package ru.practicum.shareit.startup;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+
+class HotBeanExcludeFilter implements LazyInitializationExcludeFilter {
+
+    // Controllers and everything they inject serve the first request; lazy scheduled beans (server) would never run.
+    @Override
+    public boolean isExcluded(String beanName, BeanDefinition beanDefinition, Class<?> beanType) {
+        return beanType != null && (AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+                || AnnotatedElementUtils.hasAnnotation(beanType, ControllerAdvice.class)
+                || hasScheduledMethods(beanType));
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType, (ReflectionUtils.MethodFilter) method ->
+                AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                        || AnnotatedElementUtils.hasAnnotation(method, Schedules.class)).isEmpty();
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+@Slf4j
+class TrainingRunExit implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("Training run started, exiting");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final ConcurrentLinkedQueue<Span> spans = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void export(Span span) {
+        spans.add(span);
+    }
+
+    public List<Span> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    public List<Span> getSpans(String traceId) {
+        return spans.stream()
+                .filter(span -> span.getContext().getTraceId().equals(traceId))
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        spans.clear();
+    }
+}
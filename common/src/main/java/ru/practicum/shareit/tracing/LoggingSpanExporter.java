@@ -0,0 +1,27 @@
+package ru.practicum.shareit.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+public class LoggingSpanExporter implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger("shareit.tracing");
+
+    @Override
+    public void export(Span span) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        log.info("trace={} span={} parent={} kind={} name=\"{}\" durationUs={} error={} attributes={}",
+                span.getContext().getTraceId(),
+                span.getContext().getSpanId(),
+                span.getParentSpanId(),
+                span.getKind(),
+                span.getName(),
+                TimeUnit.NANOSECONDS.toMicros(span.getDurationNanos()),
+                span.getError(),
+                span.getAttributes());
+    }
+}
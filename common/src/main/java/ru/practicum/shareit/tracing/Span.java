@@ -0,0 +1,61 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+public class Span {
+
+    public enum Kind {
+        SERVER, CLIENT, INTERNAL
+    }
+
+    private final TraceContext context;
+    private final String parentSpanId;
+    private final String name;
+    private final Kind kind;
+    private final long startEpochMillis;
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final long startNanos;
+    @Getter(AccessLevel.PACKAGE)
+    private final Span localParent;
+    private long durationNanos = -1;
+    @Setter
+    private String error;
+
+    Span(TraceContext context, @Nullable String parentSpanId, String name, Kind kind, @Nullable Span localParent) {
+        this.context = context;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.localParent = localParent;
+        this.startEpochMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+
+    public Span tag(String key, @Nullable Object value) {
+        if (value != null) {
+            attributes.put(key, value.toString());
+        }
+        return this;
+    }
+
+    public Map<String, String> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    void finish() {
+        durationNanos = System.nanoTime() - startNanos;
+    }
+
+    public boolean isFinished() {
+        return durationNanos >= 0;
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.tracing;
+
+public interface SpanExporter {
+
+    void export(Span span);
+}
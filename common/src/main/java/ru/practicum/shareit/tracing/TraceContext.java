@@ -0,0 +1,76 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class TraceContext {
+
+    private static final String VERSION = "00";
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+    private static final String INVALID_SPAN_ID = "0000000000000000";
+
+    private final String traceId;
+    private final String spanId;
+    private final boolean sampled;
+
+    public static TraceContext newRoot() {
+        return new TraceContext(randomHex(2), randomHex(1), true);
+    }
+
+    public TraceContext newChild() {
+        return new TraceContext(traceId, randomHex(1), sampled);
+    }
+
+    @Nullable
+    public static TraceContext parse(@Nullable String traceparent) {
+        if (traceparent == null) {
+            return null;
+        }
+        String[] parts = traceparent.trim().split("-");
+        if (parts.length < 4 || !VERSION.equals(parts[0])
+                || !isHex(parts[1], 32) || INVALID_TRACE_ID.equals(parts[1])
+                || !isHex(parts[2], 16) || INVALID_SPAN_ID.equals(parts[2])
+                || !isHex(parts[3], 2)) {
+            return null;
+        }
+        boolean sampled = (Integer.parseInt(parts[3], 16) & 1) == 1;
+        return new TraceContext(parts[1], parts[2], sampled);
+    }
+
+    public String toTraceparent() {
+        return VERSION + "-" + traceId + "-" + spanId + "-" + (sampled ? "01" : "00");
+    }
+
+    private static boolean isHex(String value, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String randomHex(int longs) {
+        StringBuilder builder = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            long value;
+            do {
+                value = ThreadLocalRandom.current().nextLong();
+            } while (value == 0);
+            String hex = Long.toHexString(value);
+            builder.append("0".repeat(16 - hex.length())).append(hex);
+        }
+        return builder.toString();
+    }
+}
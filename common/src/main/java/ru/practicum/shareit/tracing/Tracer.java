@@ -0,0 +1,71 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+public class Tracer {
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final SpanExporter exporter;
+
+    public Span startServerSpan(String name, @Nullable TraceContext remoteParent) {
+        if (remoteParent == null) {
+            return start(TraceContext.newRoot(), null, name, Span.Kind.SERVER, null);
+        }
+        return start(remoteParent.newChild(), remoteParent.getSpanId(), name, Span.Kind.SERVER, null);
+    }
+
+    public Span startSpan(String name, Span.Kind kind) {
+        Span parent = current.get();
+        if (parent == null) {
+            return start(TraceContext.newRoot(), null, name, kind, null);
+        }
+        return start(parent.getContext().newChild(), parent.getContext().getSpanId(), name, kind, parent);
+    }
+
+    public void end(Span span) {
+        span.finish();
+        if (span.getLocalParent() == null) {
+            current.remove();
+        } else {
+            current.set(span.getLocalParent());
+        }
+        if (span.getContext().isSampled()) {
+            exporter.export(span);
+        }
+    }
+
+    @Nullable
+    public Span currentSpan() {
+        return current.get();
+    }
+
+    public <T> Supplier<T> propagate(Supplier<T> task) {
+        Span parent = current.get();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            Span previous = current.get();
+            current.set(parent);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    current.remove();
+                } else {
+                    current.set(previous);
+                }
+            }
+        };
+    }
+
+    private Span start(TraceContext context, String parentSpanId, String name, Span.Kind kind, Span localParent) {
+        Span span = new Span(context, parentSpanId, name, kind, localParent);
+        current.set(span);
+        return span;
+    }
+}
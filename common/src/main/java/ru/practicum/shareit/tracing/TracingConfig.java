@@ -0,0 +1,33 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.exporter", havingValue = "logging")
+    public SpanExporter loggingSpanExporter() {
+        return new LoggingSpanExporter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.exporter", havingValue = "memory")
+    public InMemorySpanExporter inMemorySpanExporter() {
+        return new InMemorySpanExporter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.exporter", havingValue = "none", matchIfMissing = true)
+    public SpanExporter noopSpanExporter() {
+        return span -> {
+        };
+    }
+
+    @Bean
+    public Tracer tracer(SpanExporter spanExporter) {
+        return new Tracer(spanExporter);
+    }
+}
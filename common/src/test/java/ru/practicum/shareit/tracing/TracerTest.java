@@ -0,0 +1,94 @@
+package ru.practicum.shareit.tracing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracerTest {
+
+    private InMemorySpanExporter exporter;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new InMemorySpanExporter();
+        tracer = new Tracer(exporter);
+    }
+
+    @Test
+    void parse_whenValidTraceparent_thenRoundTrips() {
+        String traceparent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+        TraceContext context = TraceContext.parse(traceparent);
+
+        assertNotNull(context);
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", context.getTraceId());
+        assertEquals("00f067aa0ba902b7", context.getSpanId());
+        assertTrue(context.isSampled());
+        assertEquals(traceparent, context.toTraceparent());
+    }
+
+    @Test
+    void parse_whenInvalidTraceparent_thenNull() {
+        assertNull(TraceContext.parse(null));
+        assertNull(TraceContext.parse("garbage"));
+        assertNull(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        assertNull(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01"));
+        assertNull(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01"));
+    }
+
+    @Test
+    void startSpan_whenNested_thenChildLinkedToParentAndCurrentRestored() {
+        TraceContext remote = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        Span server = tracer.startServerSpan("GET /users", remote);
+        Span child = tracer.startSpan("UserController.getAll", Span.Kind.INTERNAL);
+        tracer.end(child);
+
+        assertSame(server, tracer.currentSpan());
+        tracer.end(server);
+        assertNull(tracer.currentSpan());
+
+        List<Span> spans = exporter.getSpans("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertEquals(2, spans.size());
+        assertEquals("00f067aa0ba902b7", server.getParentSpanId());
+        assertEquals(server.getContext().getSpanId(), child.getParentSpanId());
+        assertTrue(child.isFinished());
+    }
+
+    @Test
+    void end_whenNotSampled_thenNotExported() {
+        TraceContext remote = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00");
+
+        tracer.end(tracer.startServerSpan("GET /users", remote));
+
+        assertTrue(exporter.getSpans().isEmpty());
+    }
+
+    @Test
+    void propagate_whenRunOnAnotherThread_thenChildOfCallerSpan() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Span server = tracer.startServerSpan("POST /batch", null);
+
+            Span child = CompletableFuture.supplyAsync(tracer.propagate(() -> {
+                Span span = tracer.startSpan("GET /1", Span.Kind.CLIENT);
+                tracer.end(span);
+                return span;
+            }), executor).get();
+            tracer.end(server);
+
+            assertEquals(server.getContext().getTraceId(), child.getContext().getTraceId());
+            assertEquals(server.getContext().getSpanId(), child.getParentSpanId());
+            assertNull(executor.submit(tracer::currentSpan).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
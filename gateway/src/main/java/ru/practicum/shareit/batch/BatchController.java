@@ -0,0 +1,37 @@
+package ru.practicum.shareit.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import java.util.List;
+
+@Controller
+@RequestMapping(path = "/batch")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class BatchController {
+    private final BatchService batchService;
+
+    @PostMapping
+    public ResponseEntity<List<SubResponseDto>> execute(
+            @Valid @RequestBody BatchRequestDto dto,
+            @RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        log.info("Executing batch of {} requests, userId={}", dto.getRequests().size(), userId);
+        return ResponseEntity.ok(batchService.execute(dto, userId, request, response));
+    }
+}
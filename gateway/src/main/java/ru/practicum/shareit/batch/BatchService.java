@@ -0,0 +1,163 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+import ru.practicum.shareit.timing.ServerTiming;
+import ru.practicum.shareit.tracing.Tracer;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
+
+@Slf4j
+@Service
+public class BatchService {
+
+    private final WebApplicationContext context;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final Tracer tracer;
+    private volatile DispatcherServlet dispatcher;
+
+    public BatchService(WebApplicationContext context,
+                        ObjectMapper objectMapper,
+                        @Value("${shareit.batch.pool-size:8}") int poolSize,
+                        @Nullable Tracer tracer) {
+        this.context = context;
+        this.tracer = tracer;
+        this.objectMapper = objectMapper;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(poolSize * 16), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public List<SubResponseDto> execute(BatchRequestDto batch, Long userId,
+                                        HttpServletRequest request, HttpServletResponse response) {
+        List<CompletableFuture<SubResponseDto>> futures = batch.getRequests().stream()
+                .map(subRequest -> CompletableFuture.supplyAsync(
+                        propagate(() -> execute(subRequest, userId, request, response)), executor))
+                .collect(toList());
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .collect(toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> Supplier<T> propagate(Supplier<T> task) {
+        Supplier<T> timed = ServerTiming.propagate(task);
+        return tracer == null ? timed : tracer.propagate(timed);
+    }
+
+    // Sub-requests go through the same handler mappings, interceptors, argument resolvers and
+    // exception handlers as top-level requests, so every GET endpoint is reachable without a route table.
+    private SubResponseDto execute(SubRequestDto subRequest, Long userId,
+                                   HttpServletRequest request, HttpServletResponse response) {
+        if (!"GET".equalsIgnoreCase(subRequest.getMethod())) {
+            return SubResponseDto.of(subRequest.getId(), HttpStatus.METHOD_NOT_ALLOWED.value(),
+                    Map.of("error", "Only GET sub-requests are supported"));
+        }
+        try {
+            UriComponents uri = UriComponentsBuilder.fromUriString(subRequest.getPath()).build();
+            BatchSubResponse subResponse = new BatchSubResponse(response);
+            dispatcher().service(new BatchSubRequest(request, uri, userId), subResponse);
+            return SubResponseDto.of(subRequest.getId(), subResponse.status(), body(subResponse));
+        } catch (IllegalArgumentException e) {
+            return SubResponseDto.of(subRequest.getId(), HttpStatus.BAD_REQUEST.value(),
+                    Map.of("error", String.valueOf(e.getMessage())));
+        } catch (Exception e) {
+            log.error("Batch sub-request {} failed", subRequest.getId(), e);
+            return SubResponseDto.of(subRequest.getId(), HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    private Object body(BatchSubResponse subResponse) {
+        byte[] bytes = subResponse.body();
+        if (bytes.length == 0) {
+            if (subResponse.status() < 400) {
+                return null;
+            }
+            HttpStatus status = HttpStatus.resolve(subResponse.status());
+            String message = subResponse.errorMessage() != null ? subResponse.errorMessage()
+                    : status != null ? status.getReasonPhrase() : String.valueOf(subResponse.status());
+            return Map.of("error", message);
+        }
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private DispatcherServlet dispatcher() throws ServletException {
+        DispatcherServlet current = dispatcher;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (dispatcher == null) {
+                DispatcherServlet servlet = new DispatcherServlet(context);
+                servlet.setPublishContext(false);
+                servlet.setPublishEvents(false);
+                servlet.init(servletConfig(context.getServletContext()));
+                dispatcher = servlet;
+            }
+            return dispatcher;
+        }
+    }
+
+    private static ServletConfig servletConfig(ServletContext servletContext) {
+        return new ServletConfig() {
+            @Override
+            public String getServletName() {
+                return "batch";
+            }
+
+            @Override
+            public ServletContext getServletContext() {
+                return servletContext;
+            }
+
+            @Override
+            public String getInitParameter(String name) {
+                return null;
+            }
+
+            @Override
+            public Enumeration<String> getInitParameterNames() {
+                return Collections.emptyEnumeration();
+            }
+        };
+    }
+}
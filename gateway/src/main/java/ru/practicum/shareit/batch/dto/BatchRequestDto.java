@@ -0,0 +1,19 @@
+package ru.practicum.shareit.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestDto {
+    @NotEmpty
+    @Size(max = 20)
+    private List<@Valid SubRequestDto> requests;
+}
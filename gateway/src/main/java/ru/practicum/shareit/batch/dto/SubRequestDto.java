@@ -0,0 +1,17 @@
+package ru.practicum.shareit.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubRequestDto {
+    private String id;
+    private String method = "GET";
+    @NotBlank
+    private String path;
+}
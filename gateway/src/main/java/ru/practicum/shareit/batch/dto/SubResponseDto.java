@@ -0,0 +1,14 @@
+package ru.practicum.shareit.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor(staticName = "of")
+public class SubResponseDto {
+    private String id;
+    private int status;
+    private Object body;
+}
@@ -4,15 +4,31 @@ import org.springframework.http.*;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.timing.ServerTiming;
+import ru.practicum.shareit.tracing.Span;
+import ru.practicum.shareit.tracing.Tracer;
+import ru.practicum.shareit.tracing.TracingFilter;
 
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
     protected final RestTemplate rest;
+    private final RequestHedger requestHedger;
+    private final Tracer tracer;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable RequestHedger requestHedger) {
+        this(rest, requestHedger, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable RequestHedger requestHedger, @Nullable Tracer tracer) {
         this.rest = rest;
+        this.requestHedger = requestHedger;
+        this.tracer = tracer;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -76,8 +92,51 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        if (tracer == null) {
+            return send(method, path, parameters, new HttpEntity<>(body, defaultHeaders(userId)));
+        }
+        Span span = tracer.startSpan(method + " " + spanPath(path, parameters), Span.Kind.CLIENT);
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.set(TracingFilter.TRACEPARENT, span.getContext().toTraceparent());
+        try {
+            ResponseEntity<Object> response = send(method, path, parameters, new HttpEntity<>(body, headers));
+            span.tag("http.status", response.getStatusCodeValue());
+            return response;
+        } catch (RuntimeException e) {
+            span.setError(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            tracer.end(span);
+        }
+    }
 
+    private <T> ResponseEntity<Object> send(HttpMethod method, String path, @Nullable Map<String, Object> parameters, HttpEntity<T> requestEntity) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null) {
+            return dispatch(method, path, parameters, requestEntity);
+        }
+        timing.markUpstreamStart();
+        long start = System.nanoTime();
+        ResponseEntity<Object> response = dispatch(method, path, parameters, requestEntity);
+        List<String> serverTimings = response.getHeaders().getValuesAsList(ServerTiming.HEADER);
+        timing.addUpstream(System.nanoTime() - start, serverTimings);
+        if (serverTimings.isEmpty()) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.remove(ServerTiming.HEADER);
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    private <T> ResponseEntity<Object> dispatch(HttpMethod method, String path, @Nullable Map<String, Object> parameters, HttpEntity<T> requestEntity) {
+        if (method == HttpMethod.GET && requestHedger != null) {
+            return requestHedger.execute(() -> exchange(method, path, parameters, requestEntity));
+        }
+        return exchange(method, path, parameters, requestEntity);
+    }
+
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters, HttpEntity<T> requestEntity) {
         ResponseEntity<Object> shareitServerResponse;
         try {
             if (parameters != null) {
@@ -86,11 +145,20 @@ public class BaseClient {
                 shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(e.getStatusCode());
+            HttpHeaders responseHeaders = e.getResponseHeaders();
+            if (responseHeaders != null && responseHeaders.containsKey(ServerTiming.HEADER)) {
+                builder.header(ServerTiming.HEADER, responseHeaders.getValuesAsList(ServerTiming.HEADER).toArray(String[]::new));
+            }
+            return builder.body(e.getResponseBodyAsByteArray());
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private String spanPath(String path, @Nullable Map<String, Object> parameters) {
+        return rest.getUriTemplateHandler().expand(path, parameters == null ? Map.of() : parameters).getPath();
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+@Configuration
+public class ClientConfig {
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(
+            @Value("${shareit-server.http2.enabled:true}") boolean http2Enabled,
+            @Value("${shareit-server.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${shareit-server.read-timeout:30s}") Duration readTimeout) {
+        if (http2Enabled) {
+            return new Http2ClientHttpRequestFactory(connectTimeout, readTimeout);
+        }
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
+        factory.setConnectTimeout((int) connectTimeout.toMillis());
+        factory.setReadTimeout((int) readTimeout.toMillis());
+        return factory;
+    }
+
+    @Bean
+    public RequestHedger requestHedger(
+            @Value("${shareit-server.hedging.enabled:true}") boolean enabled,
+            @Value("${shareit-server.hedging.percentile:0.95}") double percentile,
+            @Value("${shareit-server.hedging.min-delay:10ms}") Duration minDelay,
+            @Value("${shareit-server.hedging.max-delay:1s}") Duration maxDelay,
+            @Value("${shareit-server.hedging.budget-ratio:0.05}") double budgetRatio,
+            @Value("${shareit-server.hedging.pool-size:64}") int poolSize,
+            MeterRegistry meterRegistry) {
+        return new RequestHedger(enabled, percentile, minDelay, maxDelay, budgetRatio, poolSize, meterRegistry);
+    }
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+public class Http2ClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+
+    public Http2ClientHttpRequestFactory(Duration connectTimeout, Duration readTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new Http2ClientHttpRequest(uri, httpMethod);
+    }
+
+    private class Http2ClientHttpRequest extends AbstractClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        Http2ClientHttpRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return method.name();
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(readTimeout);
+            headers.forEach((name, values) -> {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                    values.forEach(value -> builder.header(name, value));
+                }
+            });
+            builder.setHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+            HttpRequest.BodyPublisher publisher = body.size() > 0
+                    ? HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())
+                    : HttpRequest.BodyPublishers.noBody();
+            builder.method(method.name(), publisher);
+            try {
+                HttpResponse<InputStream> response = httpClient.send(
+                        builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+                return new Http2ClientHttpResponse(response);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            }
+        }
+    }
+
+    private static class Http2ClientHttpResponse implements ClientHttpResponse {
+        private final HttpResponse<InputStream> response;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final boolean gzipped;
+        private InputStream body;
+
+        Http2ClientHttpResponse(HttpResponse<InputStream> response) {
+            this.response = response;
+            response.headers().map().forEach((name, values) -> {
+                if (!name.startsWith(":")) {
+                    headers.addAll(name, values);
+                }
+            });
+            List<String> encoding = headers.getOrEmpty(HttpHeaders.CONTENT_ENCODING);
+            this.gzipped = encoding.stream().anyMatch("gzip"::equalsIgnoreCase);
+            if (gzipped) {
+                headers.remove(HttpHeaders.CONTENT_ENCODING);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+            }
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.valueOf(response.statusCode());
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getStatusText() {
+            HttpStatus status = HttpStatus.resolve(response.statusCode());
+            return status != null ? status.getReasonPhrase() : "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = gzipped ? new GZIPInputStream(response.body()) : response.body();
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (body != null) {
+                    body.close();
+                } else {
+                    response.body().close();
+                }
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
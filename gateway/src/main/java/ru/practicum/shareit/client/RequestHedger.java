@@ -0,0 +1,185 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class RequestHedger {
+
+    private static final int WINDOW = 1024;
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final double MAX_TOKENS = 10.0;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double budgetRatio;
+    private final ExecutorService executor;
+
+    private final long[] latencies = new long[WINDOW];
+    private int samples;
+    private int position;
+    private volatile long delayNanos;
+    private double tokens = MAX_TOKENS;
+
+    private final Counter requests;
+    private final Counter hedges;
+    private final Counter hedgeWins;
+    private final Counter budgetExhausted;
+
+    public RequestHedger(boolean enabled,
+                         double percentile,
+                         Duration minDelay,
+                         Duration maxDelay,
+                         double budgetRatio,
+                         int poolSize,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.budgetRatio = budgetRatio;
+        this.delayNanos = maxDelayNanos;
+        this.executor = new ThreadPoolExecutor(0, poolSize, 60L, TimeUnit.SECONDS, new SynchronousQueue<>());
+
+        this.requests = meterRegistry.counter("shareit.client.requests");
+        this.hedges = meterRegistry.counter("shareit.client.hedges");
+        this.hedgeWins = meterRegistry.counter("shareit.client.hedge.wins");
+        this.budgetExhausted = meterRegistry.counter("shareit.client.hedge.budget.exhausted");
+        Gauge.builder("shareit.client.hedge.delay", this, hedger -> hedger.delayNanos / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        requests.increment();
+        addTokens();
+        long start = System.nanoTime();
+        CompletableFuture<T> primary;
+        try {
+            primary = CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            return record(start, call.get());
+        }
+        try {
+            return record(start, primary.get(delayNanos, TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            return hedge(call, primary, start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for response", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    public long getDelayNanos() {
+        return delayNanos;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T hedge(Supplier<T> call, CompletableFuture<T> primary, long start) {
+        if (!tryAcquireToken()) {
+            budgetExhausted.increment();
+            return record(start, join(primary));
+        }
+        CompletableFuture<T> secondary;
+        try {
+            secondary = CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            return record(start, join(primary));
+        }
+        hedges.increment();
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((result, error) -> complete(winner, result, error, failures, false));
+        secondary.whenComplete((result, error) -> complete(winner, result, error, failures, true));
+        return record(start, join(winner));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private <T> void complete(CompletableFuture<T> winner, T result, Throwable error,
+                              AtomicInteger failures, boolean secondary) {
+        if (error == null) {
+            synchronized (winner) {
+                if (!winner.isDone() && secondary) {
+                    hedgeWins.increment();
+                }
+                winner.complete(result);
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(error);
+        }
+    }
+
+    private <T> T record(long start, T result) {
+        long elapsed = System.nanoTime() - start;
+        synchronized (latencies) {
+            latencies[position] = elapsed;
+            position = (position + 1) % WINDOW;
+            samples++;
+            if (samples >= RECOMPUTE_EVERY && samples % RECOMPUTE_EVERY == 0) {
+                long[] sorted = Arrays.copyOf(latencies, Math.min(samples, WINDOW));
+                Arrays.sort(sorted);
+                int index = Math.max((int) Math.ceil(percentile * sorted.length) - 1, 0);
+                delayNanos = Math.min(Math.max(sorted[index], minDelayNanos), maxDelayNanos);
+            }
+        }
+        return result;
+    }
+
+    private synchronized void addTokens() {
+        tokens = Math.min(tokens + budgetRatio, MAX_TOKENS);
+    }
+
+    private synchronized boolean tryAcquireToken() {
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+}
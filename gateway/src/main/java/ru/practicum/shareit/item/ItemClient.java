@@ -4,14 +4,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestHedger;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CreateItemDto;
 import ru.practicum.shareit.item.dto.PatchItemDto;
+import ru.practicum.shareit.tracing.Tracer;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -19,12 +22,18 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareItServerRequestFactory,
+                      RequestHedger requestHedger,
+                      Tracer tracer) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                requestHedger,
+                tracer
         );
     }
 
@@ -40,14 +49,28 @@ public class ItemClient extends BaseClient {
         return get("/" + id, userId);
     }
 
+    public ResponseEntity<Object> getCalendar(long id, long userId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to);
+        return get("/" + id + "/calendar?from={from}&to={to}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getByOwnerId(long ownerId) {
         return get("", ownerId);
     }
 
-    public ResponseEntity<Object> searchItems(long userId, String text) {
+    public ResponseEntity<Object> searchItems(long userId, String text, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text);
+            return get("/search?text={text}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
-                "text", text);
-        return get("/search?text={text}", userId, parameters);
+                "text", text,
+                "start", start,
+                "end", end);
+        return get("/search?text={text}&start={start}&end={end}", userId, parameters);
     }
 
     public ResponseEntity<Object> createComment(long id, long userId, CommentDto commentDto) {
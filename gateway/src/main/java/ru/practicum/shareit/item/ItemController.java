@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -12,6 +13,7 @@ import ru.practicum.shareit.item.dto.PatchItemDto;
 import ru.practicum.shareit.validation.ValidationGroup;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -43,6 +45,18 @@ public class ItemController {
         return itemClient.getById(id, userId);
     }
 
+    @GetMapping("/{id}/calendar")
+    public ResponseEntity<Object> getCalendar(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Calendar end must be after its start");
+        }
+        return itemClient.getCalendar(id, userId, from, to);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getByOwnerId(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
         return itemClient.getByOwnerId(ownerId);
@@ -51,8 +65,16 @@ public class ItemController {
     @GetMapping("/search")
     public ResponseEntity<Object> searchItems(
             @RequestParam String text,
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemClient.searchItems(userId, text);
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        if ((start == null) != (end == null)) {
+            throw new IllegalArgumentException("Search window needs both start and end");
+        }
+        if (start != null && !end.isAfter(start)) {
+            throw new IllegalArgumentException("Search window end must be after its start");
+        }
+        return itemClient.searchItems(userId, text, start, end);
     }
 
     @PostMapping("/{id}/comment")
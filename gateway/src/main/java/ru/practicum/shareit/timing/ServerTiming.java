@@ -0,0 +1,97 @@
+package ru.practicum.shareit.timing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+public class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final List<String> upstreamMetrics = new ArrayList<>();
+    private long handlerStartNanos = -1;
+    private long validationNanos = -1;
+    private long upstreamNanos;
+    private long concurrentUpstreamNanos;
+
+    public static ServerTiming start() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return task;
+        }
+        return () -> {
+            ServerTiming previous = CURRENT.get();
+            ServerTiming segment = new ServerTiming();
+            CURRENT.set(segment);
+            try {
+                return task.get();
+            } finally {
+                timing.addConcurrent(segment);
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    public void markHandlerStart() {
+        handlerStartNanos = System.nanoTime();
+    }
+
+    public void markUpstreamStart() {
+        completeValidation();
+    }
+
+    public synchronized void addUpstream(long nanos, List<String> serverTimings) {
+        upstreamNanos += nanos;
+        upstreamMetrics.addAll(serverTimings);
+    }
+
+    // Parallel segments overlap in wall time, so only the slowest one counts.
+    private synchronized void addConcurrent(ServerTiming segment) {
+        concurrentUpstreamNanos = Math.max(concurrentUpstreamNanos, segment.upstreamNanos);
+        upstreamMetrics.addAll(segment.upstreamMetrics);
+    }
+
+    public synchronized String toHeaderValue() {
+        completeValidation();
+        StringBuilder value = new StringBuilder()
+                .append(metric("validation", Math.max(validationNanos, 0)))
+                .append(", ").append(metric("upstream", upstreamNanos + concurrentUpstreamNanos))
+                .append(", ").append(metric("gateway", System.nanoTime() - startNanos));
+        for (String upstreamMetric : upstreamMetrics) {
+            value.append(", ").append(upstreamMetric);
+        }
+        return value.toString();
+    }
+
+    private void completeValidation() {
+        if (validationNanos < 0 && handlerStartNanos >= 0) {
+            validationNanos = System.nanoTime() - handlerStartNanos;
+        }
+    }
+
+    private static String metric(String name, long nanos) {
+        return name + ";dur=" + String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.timing;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ServerTiming.stop();
+            if (!request.isAsyncStarted() && !response.isCommitted()
+                    && !response.containsHeader(ServerTiming.HEADER)) {
+                response.setHeader(ServerTiming.HEADER, timing.toHeaderValue());
+            }
+        }
+    }
+}
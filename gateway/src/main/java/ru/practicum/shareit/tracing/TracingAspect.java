@@ -0,0 +1,27 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+@Aspect
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("execution(public * ru.practicum.shareit..*Controller.*(..))")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span span = tracer.startSpan(joinPoint.getTarget().getClass().getSimpleName()
+                + "." + joinPoint.getSignature().getName(), Span.Kind.INTERNAL);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.setError(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            tracer.end(span);
+        }
+    }
+}
@@ -3,24 +3,40 @@ package ru.practicum.shareit.user;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestHedger;
+import ru.practicum.shareit.tracing.Tracer;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareItServerRequestFactory,
+                      RequestHedger requestHedger,
+                      Tracer tracer) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                requestHedger,
+                tracer
         );
     }
 
@@ -36,8 +52,24 @@ public class UserClient extends BaseClient {
         return get("/" + id);
     }
 
-    public ResponseEntity<Object> getAll() {
-        return get("");
+    public ResponseEntity<Object> getAll(Long after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size);
+        return get("?after={after}&size={size}", null, parameters);
+    }
+
+    public void export(OutputStream out) {
+        rest.execute("/export", HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(APPLICATION_NDJSON)),
+                response -> StreamUtils.copy(response.getBody(), out));
+    }
+
+    public ResponseEntity<Object> getDashboard(long id, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size);
+        return get("/" + id + "/dashboard?from={from}&size={size}", null, parameters);
     }
 
     public ResponseEntity<Object> deleteById(long id) {
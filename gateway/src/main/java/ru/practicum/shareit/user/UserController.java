@@ -2,13 +2,18 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.validation.ValidationGroup;
 
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
 @Controller
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -36,8 +41,25 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
-        return userClient.getAll();
+    public ResponseEntity<Object> getAll(
+            @Min(0) @RequestParam(name = "after", defaultValue = "0", required = false) Long after,
+            @Min(1) @Max(1000) @RequestParam(name = "size", defaultValue = "100", required = false) Integer size) {
+        return userClient.getAll(after, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(userClient::export);
+    }
+
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<Object> getDashboard(
+            @PathVariable Long id,
+            @Min(0) @RequestParam(name = "from", defaultValue = "0", required = false) Integer from,
+            @Min(1) @RequestParam(name = "size", defaultValue = "10", required = false) Integer size) {
+        return userClient.getDashboard(id, from, size);
     }
 
     @DeleteMapping("/{id}")
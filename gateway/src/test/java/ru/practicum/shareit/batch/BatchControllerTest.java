@@ -0,0 +1,198 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.request.ItemRequestController;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {BatchController.class, UserController.class, ItemController.class,
+        BookingController.class, ItemRequestController.class})
+@Import(BatchService.class)
+class BatchControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @MockBean
+    private UserClient userClient;
+    @MockBean
+    private ItemClient itemClient;
+    @MockBean
+    private BookingClient bookingClient;
+    @MockBean
+    private ItemRequestClient itemRequestClient;
+
+    @SneakyThrows
+    @Test
+    void execute_whenSubRequestsValid_thenResponsesReturnedInOrder() {
+        long userId = 1L;
+        UserDto userDto = new UserDto();
+        userDto.setId(userId);
+        userDto.setName("TestName");
+        when(userClient.getById(userId)).thenReturn(ResponseEntity.ok(userDto));
+        when(itemClient.getByOwnerId(userId)).thenReturn(ResponseEntity.ok(Collections.emptyList()));
+        when(bookingClient.getAllForOwnerByState(userId, BookingState.WAITING, 0, 10))
+                .thenReturn(ResponseEntity.ok(Collections.emptyList()));
+        when(itemRequestClient.getById(5L, userId)).thenReturn(ResponseEntity.status(404)
+                .body("{\"error\":\"Request with id 5 not found\"}".getBytes(StandardCharsets.UTF_8)));
+        BatchRequestDto batch = new BatchRequestDto(List.of(
+                new SubRequestDto("user", "GET", "/users/1"),
+                new SubRequestDto("items", "GET", "/items"),
+                new SubRequestDto("waiting", "GET", "/bookings/owner?state=waiting"),
+                new SubRequestDto("request", "GET", "/requests/5")));
+
+        mockMvc.perform(post("/batch")
+                        .content(objectMapper.writeValueAsString(batch))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is("user")))
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].body.name", is("TestName")))
+                .andExpect(jsonPath("$[1].status", is(200)))
+                .andExpect(jsonPath("$[2].id", is("waiting")))
+                .andExpect(jsonPath("$[2].status", is(200)))
+                .andExpect(jsonPath("$[3].status", is(404)))
+                .andExpect(jsonPath("$[3].body.error", is("Request with id 5 not found")));
+    }
+
+    @SneakyThrows
+    @Test
+    void execute_whenSubRequestInvalid_thenItsStatusIsPreserved() {
+        BatchRequestDto batch = new BatchRequestDto(List.of(
+                new SubRequestDto("state", "GET", "/bookings?state=unknown"),
+                new SubRequestDto("path", "GET", "/unknown"),
+                new SubRequestDto("method", "DELETE", "/users/1")));
+
+        mockMvc.perform(post("/batch")
+                        .content(objectMapper.writeValueAsString(batch))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(400)))
+                .andExpect(jsonPath("$[0].body.error", is("Unknown state: unknown")))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andExpect(jsonPath("$[2].status", is(405)));
+    }
+
+    @SneakyThrows
+    @Test
+    void execute_whenCalendarAndDashboardRequested_thenRoutedToControllers() {
+        long userId = 1L;
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        when(itemClient.getCalendar(2L, userId, from, to)).thenReturn(ResponseEntity.ok(Map.of("itemId", 2)));
+        when(userClient.getDashboard(userId, 0, 5)).thenReturn(ResponseEntity.ok(Map.of("items", List.of())));
+        BatchRequestDto batch = new BatchRequestDto(List.of(
+                new SubRequestDto("calendar", "GET", "/items/2/calendar?from=" + from + "&to=" + to),
+                new SubRequestDto("dashboard", "GET", "/users/1/dashboard?size=5"),
+                new SubRequestDto("noWindow", "GET", "/items/2/calendar?from=" + from)));
+
+        mockMvc.perform(post("/batch")
+                        .content(objectMapper.writeValueAsString(batch))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].body.itemId", is(2)))
+                .andExpect(jsonPath("$[1].status", is(200)))
+                .andExpect(jsonPath("$[2].status", is(400)));
+    }
+
+    @SneakyThrows
+    @Test
+    void execute_whenSubRequestPathMalformed_thenOnlyThatSubRequestFails() {
+        when(itemClient.getByOwnerId(1L)).thenReturn(ResponseEntity.ok(Collections.emptyList()));
+        BatchRequestDto batch = new BatchRequestDto(List.of(
+                new SubRequestDto("malformed", "GET", "http://[/items"),
+                new SubRequestDto("items", "GET", "/items")));
+
+        mockMvc.perform(post("/batch")
+                        .content(objectMapper.writeValueAsString(batch))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(400)))
+                .andExpect(jsonPath("$[1].status", is(200)));
+    }
+
+    @SneakyThrows
+    @Test
+    void execute_whenUserIdHeaderMissing_thenSubRequestStatusIsBadRequest() {
+        BatchRequestDto batch = new BatchRequestDto(List.of(new SubRequestDto("items", "GET", "/items")));
+
+        mockMvc.perform(post("/batch")
+                        .content(objectMapper.writeValueAsString(batch))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(400)));
+        verify(itemClient, never()).getByOwnerId(anyLong());
+    }
+
+    @SneakyThrows
+    @Test
+    void execute_whenParametersOmitted_thenControllerDefaultsAndLiteralPathsApply() {
+        long userId = 1L;
+        when(itemRequestClient.getAll(userId, 0, 10)).thenReturn(ResponseEntity.ok(List.of(Map.of("id", 7))));
+        when(bookingClient.getAllForUserByState(userId, BookingState.ALL, 0, 10))
+                .thenReturn(ResponseEntity.ok(Collections.emptyList()));
+        BatchRequestDto batch = new BatchRequestDto(List.of(
+                new SubRequestDto("all", "GET", "/requests/all"),
+                new SubRequestDto("bookings", "GET", "/bookings"),
+                new SubRequestDto("badId", "GET", "/requests/abc")));
+
+        mockMvc.perform(post("/batch")
+                        .content(objectMapper.writeValueAsString(batch))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].body[0].id", is(7)))
+                .andExpect(jsonPath("$[1].status", is(200)))
+                .andExpect(jsonPath("$[2].status", is(400)));
+    }
+
+    @SneakyThrows
+    @Test
+    void execute_whenNoSubRequests_thenStatusIsBadRequest() {
+        BatchRequestDto batch = new BatchRequestDto(Collections.emptyList());
+
+        mockMvc.perform(post("/batch")
+                        .content(objectMapper.writeValueAsString(batch))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
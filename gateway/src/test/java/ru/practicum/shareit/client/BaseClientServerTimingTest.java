@@ -0,0 +1,64 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.timing.ServerTiming;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientServerTimingTest {
+
+    private MockRestServiceServer server;
+    private BaseClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        client = new BaseClient(restTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ServerTiming.stop();
+    }
+
+    @Test
+    void get_whenUpstreamReportsServerTiming_thenMergedIntoGatewayTiming() {
+        ServerTiming timing = ServerTiming.start();
+        timing.markHandlerStart();
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(ServerTiming.HEADER, "db;dur=1.50, mapping;dur=0.20, serialization;dur=0.10, server;dur=3.00");
+        server.expect(requestTo("/users/1"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = client.get("/users/1");
+
+        server.verify();
+        assertFalse(response.getHeaders().containsKey(ServerTiming.HEADER));
+        String value = timing.toHeaderValue();
+        assertTrue(value.matches("validation;dur=\\d+\\.\\d{2}, upstream;dur=\\d+\\.\\d{2}, gateway;dur=\\d+\\.\\d{2}, "
+                + "db;dur=1.50, mapping;dur=0.20, serialization;dur=0.10, server;dur=3.00"), value);
+    }
+
+    @Test
+    void get_whenTimingNotStarted_thenResponseUntouched() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(ServerTiming.HEADER, "db;dur=1.50");
+        server.expect(requestTo("/users/1"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = client.get("/users/1");
+
+        assertTrue(response.getHeaders().containsKey(ServerTiming.HEADER));
+    }
+}
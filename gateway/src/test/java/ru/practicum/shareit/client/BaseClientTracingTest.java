@@ -0,0 +1,63 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.tracing.InMemorySpanExporter;
+import ru.practicum.shareit.tracing.Span;
+import ru.practicum.shareit.tracing.TraceContext;
+import ru.practicum.shareit.tracing.Tracer;
+import ru.practicum.shareit.tracing.TracingFilter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTracingTest {
+
+    private MockRestServiceServer server;
+    private InMemorySpanExporter exporter;
+    private Tracer tracer;
+    private BaseClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        exporter = new InMemorySpanExporter();
+        tracer = new Tracer(exporter);
+        client = new BaseClient(restTemplate, null, tracer);
+    }
+
+    @Test
+    void get_whenInsideServerSpan_thenTraceparentOfClientSpanSent() {
+        Span serverSpan = tracer.startServerSpan("GET /users/1", null);
+        String traceId = serverSpan.getContext().getTraceId();
+        server.expect(requestTo("/users/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(request -> {
+                    TraceContext sent = TraceContext.parse(request.getHeaders().getFirst(TracingFilter.TRACEPARENT));
+                    assertEquals(traceId, sent.getTraceId());
+                })
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        client.get("/users/1", 1L);
+        tracer.end(serverSpan);
+
+        server.verify();
+        List<Span> spans = exporter.getSpans(traceId);
+        assertEquals(2, spans.size());
+        Span clientSpan = spans.get(0);
+        assertEquals(Span.Kind.CLIENT, clientSpan.getKind());
+        assertEquals(serverSpan.getContext().getSpanId(), clientSpan.getParentSpanId());
+        assertEquals("200", clientSpan.getAttributes().get("http.status"));
+    }
+}
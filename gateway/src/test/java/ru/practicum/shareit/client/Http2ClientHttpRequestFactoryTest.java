@@ -0,0 +1,95 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Http2ClientHttpRequestFactoryTest {
+
+    private static final String JSON = "[{\"id\":1,\"name\":\"Item name\",\"description\":\"Item description\"}]";
+
+    private HttpServer server;
+    private RestTemplate rest;
+
+    @BeforeEach
+    @SneakyThrows
+    void startServer() {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            byte[] body = JSON.getBytes(StandardCharsets.UTF_8);
+            String acceptEncoding = exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                    gzip.write(body);
+                }
+                body = compressed.toByteArray();
+                exchange.getResponseHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/echo", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "text/plain");
+            exchange.getResponseHeaders().set("X-Method", exchange.getRequestMethod());
+            exchange.sendResponseHeaders(404, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        rest = new RestTemplate(new Http2ClientHttpRequestFactory(Duration.ofSeconds(1), Duration.ofSeconds(5)));
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void exchange_whenResponseIsGzipped_thenBodyIsDecodedAndEncodingHeaderRemoved() {
+        ResponseEntity<String> response = rest.getForEntity(baseUrl() + "/items", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(JSON, response.getBody());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void exchange_whenPatchWithBody_thenMethodAndBodyAreSent() {
+        HttpClientErrorException e = assertThrows(HttpClientErrorException.class, () -> rest.exchange(
+                baseUrl() + "/echo", HttpMethod.PATCH, new HttpEntity<>("payload"), String.class));
+
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+        assertEquals("payload", e.getResponseBodyAsString());
+        assertEquals("PATCH", e.getResponseHeaders().getFirst("X-Method"));
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+}
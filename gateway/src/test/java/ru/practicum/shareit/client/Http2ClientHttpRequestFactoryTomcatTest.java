@@ -0,0 +1,67 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.Http2;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Http2ClientHttpRequestFactoryTomcatTest {
+
+    private static WebServer server;
+    private static RestTemplate rest;
+
+    @BeforeAll
+    static void startServer() {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        Http2 http2 = new Http2();
+        http2.setEnabled(true);
+        factory.setHttp2(http2);
+        server = factory.getWebServer(context -> context.addServlet("protocol", new ProtocolServlet())
+                .addMapping("/protocol"));
+        server.start();
+        rest = new RestTemplate(new Http2ClientHttpRequestFactory(Duration.ofSeconds(1), Duration.ofSeconds(5)));
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void exchange_whenServerSupportsH2c_thenHttp2Negotiated() {
+        ResponseEntity<String> first = rest.getForEntity(baseUrl() + "/protocol", String.class);
+        ResponseEntity<String> second = rest.exchange(
+                baseUrl() + "/protocol", HttpMethod.POST, new HttpEntity<>("payload"), String.class);
+
+        assertEquals("HTTP/2.0", first.getHeaders().getFirst("X-Protocol"));
+        assertEquals("HTTP/2.0", second.getHeaders().getFirst("X-Protocol"));
+        assertEquals("payload", second.getBody());
+    }
+
+    private static String baseUrl() {
+        return "http://localhost:" + server.getPort();
+    }
+
+    private static class ProtocolServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setHeader("X-Protocol", request.getProtocol());
+            response.setContentType("text/plain");
+            request.getInputStream().transferTo(response.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestHedgerTest {
+
+    private MeterRegistry meterRegistry;
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hedger = new RequestHedger(true, 0.95, Duration.ofMillis(10), Duration.ofMillis(50), 0.05, 8, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedger.shutdown();
+    }
+
+    @Test
+    void execute_whenPrimaryIsFast_thenNoHedgeSent() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger.execute(() -> "response-" + calls.incrementAndGet());
+
+        assertEquals("response-1", result);
+        assertEquals(1, calls.get());
+        assertEquals(0.0, meterRegistry.counter("shareit.client.hedges").count());
+    }
+
+    @Test
+    void execute_whenPrimaryIsSlow_thenHedgeWins() {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                await(release);
+                return "primary";
+            }
+            return "hedge";
+        });
+        release.countDown();
+
+        assertEquals("hedge", result);
+        assertEquals(1.0, meterRegistry.counter("shareit.client.hedges").count());
+        assertEquals(1.0, meterRegistry.counter("shareit.client.hedge.wins").count());
+    }
+
+    @Test
+    void execute_whenBudgetExhausted_thenWaitsForPrimary() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            hedger.execute(() -> sleep(60, "slow"));
+        }
+
+        String result = hedger.execute(() -> calls.incrementAndGet() == 1 ? sleep(60, "primary") : "hedge");
+
+        assertEquals("primary", result);
+        assertEquals(1, calls.get());
+        assertEquals(10.0, meterRegistry.counter("shareit.client.hedges").count());
+        assertEquals(1.0, meterRegistry.counter("shareit.client.hedge.budget.exhausted").count());
+    }
+
+    @Test
+    void execute_whenBudgetExhaustedAndPrimaryFails_thenOriginalExceptionRethrown() {
+        for (int i = 0; i < 10; i++) {
+            hedger.execute(() -> sleep(60, "slow"));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> hedger.execute(() -> {
+            sleep(60, null);
+            throw new IllegalArgumentException("Failed");
+        }));
+        assertEquals(1.0, meterRegistry.counter("shareit.client.hedge.budget.exhausted").count());
+    }
+
+    @Test
+    void execute_whenBothAttemptsFail_thenExceptionRethrown() {
+        assertThrows(IllegalArgumentException.class, () -> hedger.execute(() -> {
+            sleep(60, null);
+            throw new IllegalArgumentException("Failed");
+        }));
+    }
+
+    @Test
+    void execute_whenDisabled_thenCallRunsOnCallerThread() {
+        RequestHedger disabled = new RequestHedger(false, 0.95, Duration.ofMillis(10), Duration.ofMillis(50),
+                0.05, 8, meterRegistry);
+
+        String result = disabled.execute(() -> Thread.currentThread().getName());
+
+        assertEquals(Thread.currentThread().getName(), result);
+        disabled.shutdown();
+    }
+
+    @SneakyThrows
+    private static void await(CountDownLatch latch) {
+        latch.await(5, TimeUnit.SECONDS);
+    }
+
+    @SneakyThrows
+    private static <T> T sleep(long millis, T result) {
+        Thread.sleep(millis);
+        return result;
+    }
+}
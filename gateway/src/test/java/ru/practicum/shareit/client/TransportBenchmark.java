@@ -0,0 +1,66 @@
+package ru.practicum.shareit.client;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares gateway-to-server transports on the booking list endpoints of a running server.
+ * Usage: {@code TransportBenchmark <server-url> <user-id> [iterations] [page-size]}
+ */
+public class TransportBenchmark {
+
+    private static final List<String> ENDPOINTS = List.of("/bookings", "/bookings/owner");
+
+    public static void main(String[] args) throws Exception {
+        String serverUrl = args.length > 0 ? args[0] : "http://localhost:9090";
+        long userId = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int size = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+
+        System.out.printf("%-16s %-10s %-6s %12s %10s %10s%n",
+                "endpoint", "protocol", "gzip", "bytes/resp", "p50 ms", "p99 ms");
+        for (String endpoint : ENDPOINTS) {
+            URI uri = URI.create(serverUrl + endpoint + "?state=ALL&from=0&size=" + size);
+            run(uri, userId, iterations, HttpClient.Version.HTTP_1_1, false);
+            run(uri, userId, iterations, HttpClient.Version.HTTP_1_1, true);
+            run(uri, userId, iterations, HttpClient.Version.HTTP_2, true);
+        }
+    }
+
+    private static void run(URI uri, long userId, int iterations, HttpClient.Version version, boolean gzip)
+            throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(version).build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .header("Accept", "application/json");
+        if (gzip) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        HttpRequest request = builder.GET().build();
+        for (int i = 0; i < iterations / 10; i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+
+        long[] latencies = new long[iterations];
+        long bytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            latencies[i] = System.nanoTime() - start;
+            bytes += response.body().length;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-16s %-10s %-6s %12d %10.3f %10.3f%n",
+                uri.getPath(), version, gzip, bytes / iterations,
+                percentile(latencies, 0.50), percentile(latencies, 0.99));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -16,9 +16,12 @@ import ru.practicum.shareit.item.dto.CreateItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.PatchItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -122,7 +125,7 @@ class ItemControllerTest {
         String text = "Test";
         List<ItemDto> dtoList = List.of(getItemDto());
         ResponseEntity<Object> response = ResponseEntity.status(200).body(dtoList);
-        when(itemClient.searchItems(userId, text)).thenReturn(response);
+        when(itemClient.searchItems(userId, text, null, null)).thenReturn(response);
 
         mockMvc.perform(get("/items/search")
                         .param("text", text)
@@ -131,6 +134,68 @@ class ItemControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(dtoList)));
     }
 
+    @SneakyThrows
+    @Test
+    void search_whenWindowGiven_thenPassedToClient() {
+        long userId = 1L;
+        String text = "Test";
+        LocalDateTime start = LocalDateTime.of(2030, 1, 4, 10, 0);
+        LocalDateTime end = start.plusDays(2);
+        List<ItemDto> dtoList = List.of(getItemDto());
+        when(itemClient.searchItems(userId, text, start, end)).thenReturn(ResponseEntity.ok(dtoList));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", text)
+                        .param("start", start.toString())
+                        .param("end", end.toString())
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(dtoList)));
+    }
+
+    @SneakyThrows
+    @Test
+    void search_whenWindowIncomplete_thenStatusIsBadRequest() {
+        mockMvc.perform(get("/items/search")
+                        .param("text", "Test")
+                        .param("start", LocalDateTime.of(2030, 1, 4, 10, 0).toString())
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(itemClient);
+    }
+
+    @SneakyThrows
+    @Test
+    void getCalendar_whenWindowValid_thenReturnedServerResponse() {
+        long itemId = 1L;
+        long userId = 1L;
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusMonths(1);
+        Map<String, Object> calendar = Map.of("itemId", itemId, "busy", List.of(List.of(
+                "2030-01-02T10:00:00", "2030-01-03T10:00:00")));
+        when(itemClient.getCalendar(itemId, userId, from, to)).thenReturn(ResponseEntity.ok(calendar));
+
+        mockMvc.perform(get("/items/{id}/calendar", itemId)
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(calendar)));
+    }
+
+    @SneakyThrows
+    @Test
+    void getCalendar_whenEndNotAfterStart_thenStatusIsBadRequest() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        mockMvc.perform(get("/items/{id}/calendar", 1L)
+                        .param("from", from.toString())
+                        .param("to", from.toString())
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(itemClient);
+    }
+
     @SneakyThrows
     @Test
     void createComment_whenInvoked_thenReturnedSavedCommentDto() {
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerTiming.stop();
+    }
+
+    @Test
+    void toHeaderValue_whenUpstreamCallsRunConcurrently_thenSlowestCountedAndMetricsKept() {
+        ServerTiming timing = ServerTiming.start();
+
+        CompletableFuture<Void> fast = CompletableFuture.supplyAsync(ServerTiming.propagate(() -> {
+            ServerTiming.current().addUpstream(2_000_000, List.of("db;dur=1.00"));
+            return null;
+        }));
+        CompletableFuture<Void> slow = CompletableFuture.supplyAsync(ServerTiming.propagate(() -> {
+            ServerTiming.current().addUpstream(5_000_000, List.of("db;dur=4.00"));
+            return null;
+        }));
+        CompletableFuture.allOf(fast, slow).join();
+
+        String value = timing.toHeaderValue();
+        assertTrue(value.contains("upstream;dur=5.00"), value);
+        assertTrue(value.contains("db;dur=1.00") && value.contains("db;dur=4.00"), value);
+    }
+}
@@ -11,13 +11,19 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.util.NestedServletException;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -90,13 +96,53 @@ class UserControllerTest {
     void getAll_whenUsersFound_thenReturnedListOfUsersDto() {
         List<UserDto> dtoList = List.of(getTestUserDto());
         ResponseEntity<Object> response = ResponseEntity.status(200).body(dtoList);
-        when(userClient.getAll()).thenReturn(response);
+        when(userClient.getAll(0L, 100)).thenReturn(response);
 
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(dtoList)));
     }
 
+    @SneakyThrows
+    @Test
+    void getAll_whenCursorPassed_thenPassedToClient() {
+        ResponseEntity<Object> response = ResponseEntity.status(200).body(List.of());
+        when(userClient.getAll(10L, 5)).thenReturn(response);
+
+        mockMvc.perform(get("/users")
+                        .param("after", "10")
+                        .param("size", "5"))
+                .andExpect(status().isOk());
+        verify(userClient).getAll(10L, 5);
+    }
+
+    @SneakyThrows
+    @Test
+    void getAll_whenSizeTooLarge_thenClientNotInvoked() {
+        assertThrows(NestedServletException.class, () -> mockMvc.perform(get("/users")
+                .param("size", "1001")));
+        verifyNoInteractions(userClient);
+    }
+
+    @SneakyThrows
+    @Test
+    void export_whenInvoked_thenServerStreamCopied() {
+        String ndjson = "{\"id\":1}\n{\"id\":2}\n";
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write(ndjson.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userClient).export(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(ndjson));
+    }
+
     @SneakyThrows
     @Test
     void deleteById_whenUserFound_thenStatusIsOk() {
@@ -109,6 +155,21 @@ class UserControllerTest {
         verify(userClient).deleteById(userId);
     }
 
+    @SneakyThrows
+    @Test
+    void getDashboard_whenInvoked_thenStatusIsOkAndRequestPassedToClient() {
+        long userId = 1L;
+        ResponseEntity<Object> response = ResponseEntity.status(200).body(Map.of("userId", userId));
+        when(userClient.getDashboard(userId, 0, 5)).thenReturn(response);
+
+        mockMvc.perform(get("/users/{id}/dashboard", userId)
+                        .param("from", "0")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId", is(1)));
+        verify(userClient).getDashboard(userId, 0, 5);
+    }
+
     UserDto getTestUserDto() {
         UserDto dto = new UserDto();
         dto.setId(1L);
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ArchivedBooking {
+    long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    long itemId;
+    long bookerId;
+    long ownerId;
+    Status status;
+}
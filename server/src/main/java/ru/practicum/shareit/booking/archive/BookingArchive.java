@@ -0,0 +1,320 @@
+package ru.practicum.shareit.booking.archive;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class BookingArchive implements MeterBinder {
+
+    static final String SEGMENT_PREFIX = "bookings-";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final Comparator<ArchivedBooking> NEWEST_FIRST = Comparator
+            .comparing(ArchivedBooking::getStart)
+            .thenComparingLong(ArchivedBooking::getId)
+            .reversed();
+
+    private static final String UPDATE_READER = "update booking_archive_readers "
+            + "set loaded_sequence = ?, seen_at = ? where instance_id = ?";
+    private static final String INSERT_READER = "insert into booking_archive_readers "
+            + "(loaded_sequence, seen_at, instance_id) values (?, ?, ?)";
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Path directory;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Set<Long> loadedSequences = new HashSet<>();
+    private volatile List<BookingSegment> segments = List.of();
+    private volatile long loadedSequence;
+    private volatile boolean pendingPurge;
+
+    public BookingArchive(ItemRepository itemRepository,
+                          UserRepository userRepository,
+                          JdbcTemplate jdbcTemplate,
+                          @Value("${shareit.booking-archive.enabled:false}") boolean enabled,
+                          @Value("${shareit.booking-archive.directory:data/booking-archive}") String directory) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (enabled) {
+            loadNewSegments();
+            log.info("Booking archive loaded: {} segments, {} bookings", segments.size(), getRowCount());
+        }
+    }
+
+    // Picks up segments written by whichever instance ran the archiver and records how far this instance has
+    // read, so rows are only deleted from bookings once every live instance serves them from a segment.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${shareit.booking-archive.refresh-interval:PT1M}",
+            fixedDelayString = "${shareit.booking-archive.refresh-interval:PT1M}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        loadNewSegments();
+        Integer pending = jdbcTemplate.queryForObject(
+                "select count(*) from booking_archive_segments where purged = false", Integer.class);
+        pendingPurge = pending != null && pending > 0;
+        Object[] args = {loadedSequence, Timestamp.valueOf(LocalDateTime.now()), instanceId};
+        if (jdbcTemplate.update(UPDATE_READER, args) == 0) {
+            jdbcTemplate.update(INSERT_READER, args);
+        }
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    public boolean containsBooker(long bookerId) {
+        return contains(BookingSegment.Key.BOOKER, bookerId);
+    }
+
+    public boolean containsOwner(long ownerId) {
+        return contains(BookingSegment.Key.OWNER, ownerId);
+    }
+
+    public List<ArchivedBooking> findByBooker(long bookerId) {
+        return findBy(BookingSegment.Key.BOOKER, bookerId);
+    }
+
+    public List<ArchivedBooking> findByOwner(long ownerId) {
+        return findBy(BookingSegment.Key.OWNER, ownerId);
+    }
+
+    public boolean hasBooking(long itemId, long bookerId, Status status) {
+        return findByBooker(bookerId).stream()
+                .anyMatch(booking -> booking.getItemId() == itemId && booking.getStatus() == status);
+    }
+
+    // Archived rows whose item or booker has been deleted are skipped while merging, so they never take a slot
+    // of the page. Their items and bookers are looked up in chunks as the merge reaches them. While a segment
+    // waits for its rows to be purged, the chunk is also checked against bookings so no booking shows twice.
+    public List<Booking> mergeNewestFirst(List<ArchivedBooking> archived,
+                                          IntFunction<List<Booking>> hotLoader,
+                                          Pageable pageable) {
+        int offset = (int) pageable.getOffset();
+        int limit = offset + pageable.getPageSize();
+        List<Booking> hot = hotLoader.apply(limit);
+        Set<Long> hotIds = hot.stream().map(Booking::getId).collect(Collectors.toSet());
+        Map<Long, Item> items = new HashMap<>();
+        Map<Long, User> users = new HashMap<>();
+        Set<Long> stillHot = new HashSet<>();
+
+        List<Booking> page = new ArrayList<>(pageable.getPageSize());
+        int h = 0;
+        int a = 0;
+        int resolved = 0;
+        for (int position = 0; position < limit; position++) {
+            while (a < archived.size()) {
+                if (a == resolved) {
+                    resolved = resolve(archived, resolved, limit - position, items, users, stillHot);
+                }
+                ArchivedBooking candidate = archived.get(a);
+                if (!hotIds.contains(candidate.getId()) && !stillHot.contains(candidate.getId())
+                        && items.containsKey(candidate.getItemId()) && users.containsKey(candidate.getBookerId())) {
+                    break;
+                }
+                a++;
+            }
+            boolean hasHot = h < hot.size();
+            boolean hasArchived = a < archived.size();
+            if (!hasHot && !hasArchived) {
+                break;
+            }
+            Booking next;
+            if (hasHot && (!hasArchived || !isNewer(archived.get(a), hot.get(h)))) {
+                next = hot.get(h++);
+            } else {
+                next = toBooking(archived.get(a++), items, users);
+            }
+            if (position >= offset) {
+                page.add(next);
+            }
+        }
+        return page;
+    }
+
+    Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    long getLoadedSequence() {
+        return loadedSequence;
+    }
+
+    String getInstanceId() {
+        return instanceId;
+    }
+
+    // Only called by the archiver while it holds the archival lock, so no other writer is mid-segment.
+    void removeIncompleteSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && !name.endsWith(SEGMENT_SUFFIX)) {
+                    Files.delete(file);
+                    log.warn("Removed incomplete booking archive segment {}", file);
+                }
+            }
+        }
+    }
+
+    long getRowCount() {
+        return segments.stream().mapToLong(BookingSegment::getRowCount).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.booking.archive.segments", this, archive -> archive.segments.size())
+                .register(registry);
+        Gauge.builder("shareit.booking.archive.bookings", this, BookingArchive::getRowCount)
+                .register(registry);
+    }
+
+    // Temporary files are left alone: on a shared directory they may belong to a writer on another instance.
+    private synchronized void loadNewSegments() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<BookingSegment> loaded = new ArrayList<>(segments);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().collect(Collectors.toList())) {
+                String name = file.getFileName().toString();
+                if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+                    continue;
+                }
+                long sequence = sequence(name);
+                if (loadedSequences.add(sequence)) {
+                    loaded.add(BookingSegment.open(file));
+                    loadedSequence = Math.max(loadedSequence, sequence);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load booking archive from " + directory, e);
+        }
+        segments = List.copyOf(loaded);
+    }
+
+    private boolean contains(BookingSegment.Key key, long value) {
+        for (BookingSegment segment : segments) {
+            if (segment.contains(key, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<ArchivedBooking> findBy(BookingSegment.Key key, long value) {
+        Map<Long, ArchivedBooking> byId = new LinkedHashMap<>();
+        for (BookingSegment segment : segments) {
+            for (ArchivedBooking booking : segment.findBy(key, value)) {
+                byId.putIfAbsent(booking.getId(), booking);
+            }
+        }
+        List<ArchivedBooking> result = new ArrayList<>(byId.values());
+        result.sort(NEWEST_FIRST);
+        return result;
+    }
+
+    private int resolve(List<ArchivedBooking> archived, int from, int count,
+                        Map<Long, Item> items, Map<Long, User> users, Set<Long> stillHot) {
+        int to = Math.min(archived.size(), from + Math.max(count, 1));
+        Set<Long> itemIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (ArchivedBooking booking : archived.subList(from, to)) {
+            if (!items.containsKey(booking.getItemId())) {
+                itemIds.add(booking.getItemId());
+            }
+            if (!users.containsKey(booking.getBookerId())) {
+                userIds.add(booking.getBookerId());
+            }
+        }
+        if (!itemIds.isEmpty()) {
+            itemRepository.findAllById(itemIds).forEach(item -> items.put(item.getId(), item));
+        }
+        if (!userIds.isEmpty()) {
+            userRepository.findAllById(userIds).forEach(user -> users.put(user.getId(), user));
+        }
+        if (pendingPurge && to > from) {
+            List<ArchivedBooking> chunk = archived.subList(from, to);
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            stillHot.addAll(jdbcTemplate.queryForList("select id from bookings where id in (" + placeholders + ")",
+                    Long.class, chunk.stream().map(ArchivedBooking::getId).toArray()));
+        }
+        return to;
+    }
+
+    private static Booking toBooking(ArchivedBooking archived, Map<Long, Item> items, Map<Long, User> users) {
+        Booking booking = new Booking();
+        booking.setId(archived.getId());
+        booking.setStart(archived.getStart());
+        booking.setEnd(archived.getEnd());
+        booking.setItem(items.get(archived.getItemId()));
+        booking.setBooker(users.get(archived.getBookerId()));
+        booking.setStatus(archived.getStatus());
+        return booking;
+    }
+
+    private static boolean isNewer(ArchivedBooking archived, Booking hot) {
+        int byStart = archived.getStart().compareTo(hot.getStart());
+        return byStart > 0 || byStart == 0 && archived.getId() > hot.getId();
+    }
+
+    private static long sequence(String name) {
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.datasource.QueryFamily;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking-archive.enabled", havingValue = "true")
+public class BookingArchiver {
+
+    private static final long ADVISORY_LOCK_KEY = 0x73686172656975L;
+    private static final String SELECT_FINISHED = "select b.id, b.start_date, b.end_date, b.item_id, b.booker_id, "
+            + "i.owner_id, b.status from bookings b join items i on i.id = b.item_id "
+            + "where b.end_date < ? and b.id > ? order by b.id limit ?";
+    private static final String SELECT_PENDING = "select sequence, min_id, max_id, cutoff "
+            + "from booking_archive_segments where purged = false order by sequence";
+    private static final String INSERT_SEGMENT = "insert into booking_archive_segments "
+            + "(sequence, min_id, max_id, cutoff, row_count) values (?, ?, ?, ?, ?)";
+    private static final String MARK_PURGED = "update booking_archive_segments set purged = true where sequence = ?";
+    private static final String DELETE_VIEW_BY_RANGE = "delete from booking_view where id in "
+            + "(select id from bookings where id between ? and ? and end_date < ?)";
+    private static final String DELETE_BY_RANGE = "delete from bookings where id between ? and ? and end_date < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingArchive bookingArchive;
+    private final Period retention;
+    private final int segmentSize;
+    private final int blockSize;
+    private final Duration readerTimeout;
+    private Boolean postgres;
+
+    public BookingArchiver(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           BookingArchive bookingArchive,
+                           @Value("${shareit.booking-archive.retention:P1Y}") Period retention,
+                           @Value("${shareit.booking-archive.segment-size:100000}") int segmentSize,
+                           @Value("${shareit.booking-archive.block-size:1024}") int blockSize,
+                           @Value("${shareit.booking-archive.reader-timeout:PT5M}") Duration readerTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = QueryFamily.MAINTENANCE.apply(transactionTemplate);
+        this.bookingArchive = bookingArchive;
+        this.retention = retention;
+        this.segmentSize = segmentSize;
+        this.blockSize = blockSize;
+        this.readerTimeout = readerTimeout;
+    }
+
+    // Segments are written first and the rows deleted only once every instance that reported within the reader
+    // timeout has loaded them. With a directory that is not shared, the other instances never do, so the rows
+    // stay in bookings and a warning is logged on every run instead of bookings silently disappearing.
+    @Scheduled(initialDelayString = "${shareit.booking-archive.interval:PT1H}",
+            fixedDelayString = "${shareit.booking-archive.interval:PT1H}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        try {
+            Files.createDirectories(bookingArchive.getDirectory());
+        } catch (IOException e) {
+            log.error("Cannot create booking archive directory {}", bookingArchive.getDirectory(), e);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!tryLock()) {
+                log.info("Booking archival is running elsewhere, skipping");
+                return;
+            }
+            List<PendingSegment> pending = findPending();
+            if (pending.isEmpty()) {
+                writeSegments(cutoff);
+                pending = findPending();
+            }
+            bookingArchive.refresh();
+            purge(pending);
+        });
+    }
+
+    private void writeSegments(LocalDateTime cutoff) {
+        try {
+            bookingArchive.removeIncompleteSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clean booking archive directory", e);
+        }
+        Long stored = jdbcTemplate.queryForObject(
+                "select max(sequence) from booking_archive_segments", Long.class);
+        long sequence = Math.max(stored == null ? 0 : stored, bookingArchive.getLoadedSequence());
+        long lastId = 0;
+        List<ArchivedBooking> batch;
+        do {
+            batch = jdbcTemplate.query(SELECT_FINISHED, (rs, rowNum) -> new ArchivedBooking(
+                    rs.getLong(1),
+                    rs.getTimestamp(2).toLocalDateTime(),
+                    rs.getTimestamp(3).toLocalDateTime(),
+                    rs.getLong(4),
+                    rs.getLong(5),
+                    rs.getLong(6),
+                    Status.valueOf(rs.getString(7))), Timestamp.valueOf(cutoff), lastId, segmentSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            long minId = batch.get(0).getId();
+            lastId = batch.get(batch.size() - 1).getId();
+            Path segment = writeSegment(++sequence, batch);
+            jdbcTemplate.update(INSERT_SEGMENT, sequence, minId, lastId, Timestamp.valueOf(cutoff), batch.size());
+            log.info("Archived {} bookings that ended before {} into {}", batch.size(), cutoff, segment);
+        } while (batch.size() == segmentSize);
+    }
+
+    // A segment holds every booking with an id in [min_id, max_id] that ended before its cutoff, so the same
+    // range and cutoff select exactly its rows again; end dates never move and new ids are always larger.
+    private void purge(List<PendingSegment> pending) {
+        LocalDateTime liveSince = LocalDateTime.now().minus(readerTimeout);
+        jdbcTemplate.update("delete from booking_archive_readers where seen_at < ?", Timestamp.valueOf(liveSince));
+        long total = 0;
+        for (PendingSegment segment : pending) {
+            Integer behind = jdbcTemplate.queryForObject(
+                    "select count(*) from booking_archive_readers where loaded_sequence < ?",
+                    Integer.class, segment.sequence);
+            if (behind != null && behind > 0) {
+                log.warn("Booking archive segment {} is not loaded by {} instance(s) yet, its bookings stay in "
+                                + "bookings; every instance must see {} as shared storage",
+                        segment.sequence, behind, bookingArchive.getDirectory());
+                break;
+            }
+            jdbcTemplate.update(DELETE_VIEW_BY_RANGE, segment.minId, segment.maxId, segment.cutoff);
+            total += jdbcTemplate.update(DELETE_BY_RANGE, segment.minId, segment.maxId, segment.cutoff);
+            jdbcTemplate.update(MARK_PURGED, segment.sequence);
+        }
+        if (total > 0) {
+            log.info("Booking archival finished: {} bookings moved to {}", total, bookingArchive.getDirectory());
+        }
+    }
+
+    private List<PendingSegment> findPending() {
+        return jdbcTemplate.query(SELECT_PENDING, (rs, rowNum) -> new PendingSegment(
+                rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getTimestamp(4)));
+    }
+
+    // The lock only exists on PostgreSQL; other databases are embedded and run a single instance.
+    private boolean tryLock() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        if (!Boolean.TRUE.equals(postgres)) {
+            return true;
+        }
+        Boolean locked = jdbcTemplate.queryForObject(
+                "select pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+        return Boolean.TRUE.equals(locked);
+    }
+
+    private Path writeSegment(long sequence, List<ArchivedBooking> batch) {
+        Path target = bookingArchive.segmentPath(sequence);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            BookingSegment.write(temporary, batch, blockSize);
+            return Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write booking archive segment " + target, e);
+        }
+    }
+
+    private static final class PendingSegment {
+        private final long sequence;
+        private final long minId;
+        private final long maxId;
+        private final Timestamp cutoff;
+
+        private PendingSegment(long sequence, long minId, long maxId, Timestamp cutoff) {
+            this.sequence = sequence;
+            this.minId = minId;
+            this.maxId = maxId;
+            this.cutoff = cutoff;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package ru.practicum.shareit.booking.archive;
+
+import ru.practicum.shareit.booking.model.Status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public final class BookingSegment {
+
+    static final int MAGIC = 0x53424b41;
+    static final int VERSION = 1;
+
+    private static final Comparator<ArchivedBooking> NEWEST_FIRST = Comparator
+            .comparing(ArchivedBooking::getStart)
+            .thenComparingLong(ArchivedBooking::getId)
+            .reversed();
+    private static final Status[] STATUSES = Status.values();
+
+    private enum Column { ID, START, END, ITEM, BOOKER, OWNER, STATUS }
+
+    enum Key { BOOKER, OWNER }
+
+    private static final int COLUMNS = Column.values().length;
+    private static final int BLOCK_ENTRY_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int rowCount;
+    private final int blockSize;
+    private final LocalDateTime minStart;
+    private final LocalDateTime maxStart;
+    private final int blockTableOffset;
+    private final int[] indexOffsets = new int[Key.values().length];
+
+    private BookingSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a booking archive segment: " + path);
+        }
+        rowCount = buffer.getInt(8);
+        blockSize = buffer.getInt(12);
+        minStart = fromMicros(buffer.getLong(16));
+        maxStart = fromMicros(buffer.getLong(24));
+        blockTableOffset = 32;
+        int offset = blockTableOffset + COLUMNS * blockCount() * BLOCK_ENTRY_BYTES;
+        for (Key key : Key.values()) {
+            indexOffsets[key.ordinal()] = offset;
+            int keyCount = buffer.getInt(offset);
+            offset += Integer.BYTES + keyCount * Long.BYTES + (keyCount + 1) * Integer.BYTES + rowCount * Integer.BYTES;
+        }
+    }
+
+    public static BookingSegment open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new BookingSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open booking archive segment " + path, e);
+        }
+    }
+
+    public static void write(Path path, List<ArchivedBooking> bookings, int blockSize) throws IOException {
+        List<ArchivedBooking> rows = new ArrayList<>(bookings);
+        rows.sort(NEWEST_FIRST);
+        int rowCount = rows.size();
+        int blockCount = (rowCount + blockSize - 1) / blockSize;
+
+        ByteArrayOutputStream blobs = new ByteArrayOutputStream();
+        long[][] blockTable = new long[COLUMNS * blockCount][];
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            for (Column column : Column.values()) {
+                for (int block = 0; block < blockCount; block++) {
+                    List<ArchivedBooking> slice = rows.subList(block * blockSize,
+                            Math.min(rowCount, (block + 1) * blockSize));
+                    byte[] raw = encode(column, slice);
+                    byte[] compressed = deflate(deflater, raw);
+                    blockTable[column.ordinal() * blockCount + block] =
+                            new long[]{blobs.size(), compressed.length, raw.length};
+                    blobs.write(compressed);
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+
+        ByteArrayOutputStream indexes = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(indexes);
+        writeIndex(indexOut, rows, ArchivedBooking::getBookerId);
+        writeIndex(indexOut, rows, ArchivedBooking::getOwnerId);
+
+        int headerLength = 32 + blockTable.length * BLOCK_ENTRY_BYTES + indexes.size();
+        ByteBuffer header = ByteBuffer.allocate(headerLength);
+        header.putInt(MAGIC).putInt(VERSION).putInt(rowCount).putInt(blockSize);
+        header.putLong(rowCount == 0 ? 0 : toMicros(rows.get(rowCount - 1).getStart()));
+        header.putLong(rowCount == 0 ? 0 : toMicros(rows.get(0).getStart()));
+        for (long[] entry : blockTable) {
+            header.putLong(headerLength + entry[0]).putInt((int) entry[1]).putInt((int) entry[2]);
+        }
+        header.put(indexes.toByteArray());
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(header);
+            ByteBuffer body = ByteBuffer.wrap(blobs.toByteArray());
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+            channel.force(true);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public LocalDateTime getMinStart() {
+        return minStart;
+    }
+
+    public LocalDateTime getMaxStart() {
+        return maxStart;
+    }
+
+    public boolean contains(Key key, long value) {
+        return find(key, value) >= 0;
+    }
+
+    public List<ArchivedBooking> findBy(Key key, long value) {
+        int position = find(key, value);
+        if (position < 0) {
+            return List.of();
+        }
+        int indexOffset = indexOffsets[key.ordinal()];
+        int keyCount = buffer.getInt(indexOffset);
+        int offsetsStart = indexOffset + Integer.BYTES + keyCount * Long.BYTES;
+        int rowsStart = offsetsStart + (keyCount + 1) * Integer.BYTES;
+        int from = buffer.getInt(offsetsStart + position * Integer.BYTES);
+        int to = buffer.getInt(offsetsStart + (position + 1) * Integer.BYTES);
+        int[] rowIds = new int[to - from];
+        for (int i = from; i < to; i++) {
+            rowIds[i - from] = buffer.getInt(rowsStart + i * Integer.BYTES);
+        }
+        return read(rowIds);
+    }
+
+    private int find(Key key, long value) {
+        int indexOffset = indexOffsets[key.ordinal()];
+        int low = 0;
+        int high = buffer.getInt(indexOffset) - 1;
+        int keysStart = indexOffset + Integer.BYTES;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long candidate = buffer.getLong(keysStart + middle * Long.BYTES);
+            if (candidate < value) {
+                low = middle + 1;
+            } else if (candidate > value) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private List<ArchivedBooking> read(int[] rowIds) {
+        Map<Integer, long[][]> blocks = new HashMap<>();
+        List<ArchivedBooking> result = new ArrayList<>(rowIds.length);
+        for (int row : rowIds) {
+            int block = row / blockSize;
+            int i = row % blockSize;
+            long[][] columns = blocks.computeIfAbsent(block, this::decodeBlock);
+            result.add(new ArchivedBooking(
+                    columns[Column.ID.ordinal()][i],
+                    fromMicros(columns[Column.START.ordinal()][i]),
+                    fromMicros(columns[Column.END.ordinal()][i]),
+                    columns[Column.ITEM.ordinal()][i],
+                    columns[Column.BOOKER.ordinal()][i],
+                    columns[Column.OWNER.ordinal()][i],
+                    STATUSES[(int) columns[Column.STATUS.ordinal()][i]]));
+        }
+        return result;
+    }
+
+    private long[][] decodeBlock(int block) {
+        int rows = Math.min(blockSize, rowCount - block * blockSize);
+        long[][] columns = new long[COLUMNS][];
+        Inflater inflater = new Inflater();
+        try {
+            for (Column column : Column.values()) {
+                int entry = blockTableOffset + (column.ordinal() * blockCount() + block) * BLOCK_ENTRY_BYTES;
+                int offset = (int) buffer.getLong(entry);
+                int compressedLength = buffer.getInt(entry + Long.BYTES);
+                int rawLength = buffer.getInt(entry + Long.BYTES + Integer.BYTES);
+                ByteBuffer compressed = buffer.duplicate();
+                compressed.position(offset).limit(offset + compressedLength);
+                inflater.reset();
+                inflater.setInput(compressed);
+                byte[] raw = new byte[rawLength];
+                if (inflater.inflate(raw) != rawLength) {
+                    throw new IllegalStateException("Truncated block " + block + " in " + path);
+                }
+                columns[column.ordinal()] = decode(column, raw, rows);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted block " + block + " in " + path, e);
+        } finally {
+            inflater.end();
+        }
+        return columns;
+    }
+
+    private int blockCount() {
+        return (rowCount + blockSize - 1) / blockSize;
+    }
+
+    private static byte[] encode(Column column, List<ArchivedBooking> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows.size() * 3);
+        long previous = 0;
+        for (ArchivedBooking row : rows) {
+            if (column == Column.STATUS) {
+                out.write(row.getStatus().ordinal());
+                continue;
+            }
+            long value = value(column, row);
+            long delta = value - previous;
+            writeVarLong(out, (delta << 1) ^ (delta >> 63));
+            previous = value;
+        }
+        return out.toByteArray();
+    }
+
+    private static long[] decode(Column column, byte[] raw, int rows) {
+        long[] values = new long[rows];
+        if (column == Column.STATUS) {
+            for (int i = 0; i < rows; i++) {
+                values[i] = raw[i];
+            }
+            return values;
+        }
+        int position = 0;
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            long zigzag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = raw[position++];
+                zigzag |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static long value(Column column, ArchivedBooking row) {
+        switch (column) {
+            case ID:
+                return row.getId();
+            case START:
+                return toMicros(row.getStart());
+            case END:
+                return toMicros(row.getEnd());
+            case ITEM:
+                return row.getItemId();
+            case BOOKER:
+                return row.getBookerId();
+            case OWNER:
+                return row.getOwnerId();
+            default:
+                throw new IllegalArgumentException("Unexpected column " + column);
+        }
+    }
+
+    private static void writeIndex(DataOutputStream out, List<ArchivedBooking> rows,
+                                   ToLongFunction<ArchivedBooking> key) throws IOException {
+        TreeMap<Long, List<Integer>> postings = new TreeMap<>();
+        for (int row = 0; row < rows.size(); row++) {
+            postings.computeIfAbsent(key.applyAsLong(rows.get(row)), k -> new ArrayList<>()).add(row);
+        }
+        out.writeInt(postings.size());
+        for (Long value : postings.keySet()) {
+            out.writeLong(value);
+        }
+        int offset = 0;
+        out.writeInt(offset);
+        for (List<Integer> rowIds : postings.values()) {
+            offset += rowIds.size();
+            out.writeInt(offset);
+        }
+        for (List<Integer> rowIds : postings.values()) {
+            for (int row : rowIds) {
+                out.writeInt(row);
+            }
+        }
+        out.flush();
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] chunk = new byte[Math.max(64, raw.length)];
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+        while (!deflater.finished()) {
+            int length = deflater.deflate(chunk);
+            out.write(chunk, 0, length);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7fL) != 0) {
+            out.write((int) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long toMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    @Override
+    public String toString() {
+        return "BookingSegment{" + path + ", rows=" + rowCount + ", start=" + minStart + ".." + maxStart
+                + ", blocks=" + blockCount() + "}";
+    }
+}
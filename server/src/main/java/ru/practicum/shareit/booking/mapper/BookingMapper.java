@@ -6,6 +6,7 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInItemDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.view.BookingView;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
@@ -24,6 +25,21 @@ public interface BookingMapper {
 
     List<BookingDto> toBookingDtoList(List<Booking> bookingList);
 
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "item.description", source = "itemDescription")
+    @Mapping(target = "item.available", source = "itemAvailable")
+    @Mapping(target = "item.requestId", source = "itemRequestId")
+    @Mapping(target = "item.lastBooking", ignore = true)
+    @Mapping(target = "item.nextBooking", ignore = true)
+    @Mapping(target = "item.comments", ignore = true)
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "booker.email", source = "bookerEmail")
+    BookingDto toBookingDto(BookingView view);
+
+    List<BookingDto> toBookingDtoListFromViews(List<BookingView> views);
+
     @Mapping(target = "bookerId", source = "booking.booker.id")
     BookingInItemDto toBookingInItemDto(Booking booking);
 }
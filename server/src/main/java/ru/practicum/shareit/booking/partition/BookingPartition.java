@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+@Value
+public class BookingPartition implements Comparable<BookingPartition> {
+
+    static final String PREFIX = "bookings_p";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("uuuuMM");
+
+    YearMonth month;
+
+    public static BookingPartition of(YearMonth month) {
+        return new BookingPartition(month);
+    }
+
+    public static Optional<BookingPartition> parse(String tableName) {
+        if (tableName == null || !tableName.startsWith(PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(of(YearMonth.parse(tableName.substring(PREFIX.length()), SUFFIX)));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String getTableName() {
+        return PREFIX + month.format(SUFFIX);
+    }
+
+    public LocalDateTime getFrom() {
+        return month.atDay(1).atStartOfDay();
+    }
+
+    public LocalDateTime getTo() {
+        return month.plusMonths(1).atDay(1).atStartOfDay();
+    }
+
+    @Override
+    public int compareTo(BookingPartition other) {
+        return month.compareTo(other.month);
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.datasource.QueryFamily;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking-partitions.enabled", havingValue = "true")
+public class BookingPartitionMaintainer {
+
+    static final String PARENT_TABLE = "bookings";
+    static final String DEFAULT_PARTITION = "bookings_default";
+
+    private static final long ADVISORY_LOCK_KEY = 0x73686172656974L;
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final Period retention;
+    private final String archiveSchema;
+
+    public BookingPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${shareit.booking-partitions.months-ahead:3}") int monthsAhead,
+                                      @Value("${shareit.booking-partitions.retention:P5Y}") Period retention,
+                                      @Value("${shareit.booking-partitions.archive-schema:booking_archive}")
+                                      String archiveSchema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = QueryFamily.MAINTENANCE.apply(transactionTemplate);
+        this.monthsAhead = monthsAhead;
+        this.retention = retention;
+        this.archiveSchema = archiveSchema;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${shareit.booking-partitions.maintenance-interval:PT6H}",
+            fixedDelayString = "${shareit.booking-partitions.maintenance-interval:PT6H}")
+    public void maintain() {
+        try {
+            if (!isPartitioned()) {
+                log.warn("Table {} is not range-partitioned, skipping partition maintenance", PARENT_TABLE);
+                return;
+            }
+            BookingPartitionPlan plan = BookingPartitionPlan.of(
+                    findAttachedMonths(), findMonthsInDefaultPartition(), YearMonth.now(), monthsAhead, retention);
+            if (plan.isEmpty()) {
+                log.debug("Booking partitions are up to date");
+                return;
+            }
+            for (BookingPartition partition : plan.getToCreate()) {
+                if (!inLockedTransaction(() -> create(partition))) {
+                    return;
+                }
+            }
+            for (BookingPartition partition : plan.getToArchive()) {
+                if (!inLockedTransaction(() -> archive(partition))) {
+                    return;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("Booking partition maintenance failed", e);
+        }
+    }
+
+    private void create(BookingPartition partition) {
+        String table = partition.getTableName();
+        if (isAttached(table)) {
+            return;
+        }
+        jdbcTemplate.execute("create table if not exists " + table
+                + " (like " + PARENT_TABLE + " including defaults including constraints)");
+        Timestamp from = Timestamp.valueOf(partition.getFrom());
+        Timestamp to = Timestamp.valueOf(partition.getTo());
+        int moved = jdbcTemplate.update("insert into " + table + " select * from " + DEFAULT_PARTITION
+                + " where start_date >= ? and start_date < ?", from, to);
+        if (moved > 0) {
+            jdbcTemplate.update("delete from " + DEFAULT_PARTITION
+                    + " where start_date >= ? and start_date < ?", from, to);
+        }
+        jdbcTemplate.execute("alter table " + PARENT_TABLE + " attach partition " + table
+                + " for values from ('" + bound(partition.getFrom()) + "') to ('" + bound(partition.getTo()) + "')");
+        log.info("Booking partition {} created, {} rows moved from {}", table, moved, DEFAULT_PARTITION);
+    }
+
+    private void archive(BookingPartition partition) {
+        String table = partition.getTableName();
+        if (!isAttached(table)) {
+            return;
+        }
+        jdbcTemplate.update("delete from booking_view where start_date >= ? and start_date < ?",
+                Timestamp.valueOf(partition.getFrom()), Timestamp.valueOf(partition.getTo()));
+        jdbcTemplate.execute("alter table " + PARENT_TABLE + " detach partition " + table);
+        jdbcTemplate.execute("alter table " + table + " set schema " + archiveSchema);
+        log.info("Booking partition {} detached into schema {}", table, archiveSchema);
+    }
+
+    private boolean inLockedTransaction(Runnable action) {
+        Boolean done = transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject(
+                    "select pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                log.info("Booking partition maintenance is running elsewhere, skipping");
+                return false;
+            }
+            action.run();
+            return true;
+        });
+        return Boolean.TRUE.equals(done);
+    }
+
+    private boolean isPartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "select c.relkind::text from pg_class c where c.oid = to_regclass(?)", String.class, PARENT_TABLE);
+        return kinds.size() == 1 && "p".equals(kinds.get(0));
+    }
+
+    private boolean isAttached(String table) {
+        Boolean attached = jdbcTemplate.queryForObject("select exists(select 1 from pg_inherits i "
+                + "where i.inhrelid = to_regclass(?) and i.inhparent = to_regclass(?))",
+                Boolean.class, table, PARENT_TABLE);
+        return Boolean.TRUE.equals(attached);
+    }
+
+    private List<YearMonth> findAttachedMonths() {
+        return jdbcTemplate.queryForList("select c.relname::text from pg_inherits i "
+                        + "join pg_class c on c.oid = i.inhrelid where i.inhparent = to_regclass(?)",
+                        String.class, PARENT_TABLE).stream()
+                .map(BookingPartition::parse)
+                .flatMap(Optional::stream)
+                .map(BookingPartition::getMonth)
+                .collect(Collectors.toList());
+    }
+
+    private List<YearMonth> findMonthsInDefaultPartition() {
+        return jdbcTemplate.queryForList("select distinct date_trunc('month', start_date) from "
+                        + DEFAULT_PARTITION + " where start_date is not null", Timestamp.class).stream()
+                .map(month -> YearMonth.from(month.toLocalDateTime()))
+                .collect(Collectors.toList());
+    }
+
+    private static String bound(LocalDateTime value) {
+        return value.format(BOUND_FORMAT);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.Value;
+
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Value
+public class BookingPartitionPlan {
+
+    List<BookingPartition> toCreate;
+    List<BookingPartition> toArchive;
+
+    public static BookingPartitionPlan of(Collection<YearMonth> attached,
+                                          Collection<YearMonth> inDefaultPartition,
+                                          YearMonth current,
+                                          int monthsAhead,
+                                          Period retention) {
+        Set<YearMonth> wanted = new TreeSet<>(inDefaultPartition);
+        for (int i = 0; i <= monthsAhead; i++) {
+            wanted.add(current.plusMonths(i));
+        }
+        wanted.removeAll(attached);
+
+        Set<YearMonth> all = new TreeSet<>(attached);
+        all.addAll(wanted);
+        long retentionMonths = retention.toTotalMonths();
+        YearMonth cutoff = current.minusMonths(retentionMonths);
+        List<BookingPartition> toArchive = retentionMonths <= 0 ? List.of() : all.stream()
+                .filter(month -> month.isBefore(cutoff))
+                .map(BookingPartition::of)
+                .collect(Collectors.toList());
+
+        return new BookingPartitionPlan(
+                wanted.stream().map(BookingPartition::of).collect(Collectors.toList()),
+                toArchive);
+    }
+
+    public boolean isEmpty() {
+        return toCreate.isEmpty() && toArchive.isEmpty();
+    }
+}
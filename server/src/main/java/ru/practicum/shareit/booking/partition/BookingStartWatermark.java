@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.datasource.ReplicaRoutingContext;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingStartWatermark {
+
+    static final LocalDateTime NO_LOWER_BOUND = LocalDateTime.of(1900, 1, 1, 0, 0);
+
+    private final BookingRepository bookingRepository;
+    private LocalDateTime lowerBound = NO_LOWER_BOUND;
+    private LocalDateTime lowestSinceRefresh;
+    private boolean refreshing;
+
+    public synchronized LocalDateTime getLowerBound() {
+        return lowerBound;
+    }
+
+    public void registerAfterCommit(LocalDateTime start) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lowerTo(start);
+                }
+            });
+        } else {
+            lowerTo(start);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${shareit.booking-partitions.watermark-refresh-interval:PT1M}",
+            fixedDelayString = "${shareit.booking-partitions.watermark-refresh-interval:PT1M}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            refreshing = true;
+            lowestSinceRefresh = null;
+        }
+        LocalDateTime computed = now;
+        try {
+            LocalDateTime minStart = ReplicaRoutingContext.onPrimary(
+                    () -> bookingRepository.findMinStartByEndAfter(now));
+            if (minStart != null && minStart.isBefore(now)) {
+                computed = minStart;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh booking start watermark, keeping {}", getLowerBound(), e);
+            synchronized (this) {
+                refreshing = false;
+            }
+            return;
+        }
+        synchronized (this) {
+            refreshing = false;
+            lowerBound = min(computed, lowestSinceRefresh);
+        }
+        log.debug("Booking start watermark refreshed to {}", computed);
+    }
+
+    synchronized void lowerTo(LocalDateTime start) {
+        if (start == null) {
+            return;
+        }
+        lowerBound = min(lowerBound, start);
+        if (refreshing) {
+            lowestSinceRefresh = min(lowestSinceRefresh, start);
+        }
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        return a.isAfter(b) ? b : a;
+    }
+}
@@ -3,42 +3,40 @@ package ru.practicum.shareit.booking.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.timeline.BookingTimelineEntry;
 import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByBookerId(Long bookerId, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(
-            Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findByBookerIdAndStartIsAfterAndEndIsAfter(
-            Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Page<Booking> findByBookerIdAndStatus(Long bookerId, Status status, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByBookerIdAndStartIsBeforeAndEndIsBefore(
             Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStatusIs(Long bookerId, Status status, Pageable pageable);
-
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByItemOwnerId(Long ownerId, Pageable pageable);
 
-    Page<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
-            Long ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findByItemOwnerIdAndStartIsAfterAndEndIsAfter(
-            Long ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Page<Booking> findByItemOwnerIdAndStatus(Long ownerId, Status status, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsBefore(
             Long ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
-    Page<Booking> findByItemOwnerIdAndStatusIs(Long ownerId, Status status, Pageable pageable);
-
     Booking findFirstByItemIdAndStartLessThanEqual(
             Long itemId, LocalDateTime start, Sort sort);
 
@@ -51,4 +49,11 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             List<Item> items, LocalDateTime start, Sort sort);
 
     List<Booking> findByItemInAndStartIsAfter(List<Item> items, LocalDateTime start, Sort sort);
+
+    @Query("select b.item.id as itemId, b.id as id, b.start as start, b.end as end, b.status as status "
+            + "from Booking b where b.item.id in ?1 and b.status in ?2")
+    List<BookingTimelineEntry> findTimelineEntries(Collection<Long> itemIds, Collection<Status> statuses);
+
+    @Query("select min(b.start) from Booking b where b.end > ?1")
+    LocalDateTime findMinStartByEndAfter(LocalDateTime end);
 }
@@ -4,9 +4,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
+import ru.practicum.shareit.booking.archive.BookingArchive;
 import ru.practicum.shareit.booking.controller.BookingState;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
@@ -14,18 +17,25 @@ import ru.practicum.shareit.booking.dto.GetBookingRequest;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.partition.BookingStartWatermark;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.booking.view.BookingView;
+import ru.practicum.shareit.booking.view.BookingViewRepository;
 import ru.practicum.shareit.exception.BookingStatusException;
 import ru.practicum.shareit.exception.ItemUnavailableException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.DomainEventOutbox;
+import ru.practicum.shareit.outbox.DomainEventType;
+import ru.practicum.shareit.resolver.EntityResolver;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -36,32 +46,36 @@ public class BookingServiceImpl implements BookingService {
     private static final Sort SORT_BY_START_DESC = Sort.by(Sort.Direction.DESC, "start");
 
     private final BookingRepository bookingRepository;
-    private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final BookingViewRepository bookingViewRepository;
+    private final EntityResolver entityResolver;
     private final UserService userService;
     private final BookingMapper bookingMapper;
+    private final BookingStartWatermark bookingStartWatermark;
+    private final BookingArchive bookingArchive;
+    private final BookingTimelineCache bookingTimelineCache;
+    private final DomainEventOutbox domainEventOutbox;
 
     @Transactional
     @Override
     public BookingDto create(CreateBookingDto dto, Long userId) {
-        Item item = itemRepository.findById(dto.getItemId()).orElseThrow(() -> {
-            throw new NotFoundException("Item with id " + dto.getItemId() + " not found");
-        });
+        Item item = entityResolver.getItem(dto.getItemId());
         if (item.getOwner().getId().equals(userId)) {
             throw new NotFoundException("Owner of the item cannot create a booking");
         }
         if (Boolean.FALSE.equals(item.getAvailable())) {
             throw new ItemUnavailableException("Item with id " + dto.getItemId() + " not available");
         }
-        User user = userRepository.findById(userId).orElseThrow(() -> {
-            throw new NotFoundException("User with id " + userId + " not found");
-        });
+        User user = entityResolver.getUser(userId);
         Booking booking = bookingMapper.toEntity(dto);
         booking.setItem(item);
         booking.setBooker(user);
         Booking savedBooking = bookingRepository.save(booking);
+        bookingStartWatermark.registerAfterCommit(savedBooking.getStart());
+        bookingTimelineCache.registerAfterCommit(savedBooking);
         log.info("Booking with id {} created", savedBooking.getId());
-        return bookingMapper.toBookingDto(savedBooking);
+        BookingDto bookingDto = bookingMapper.toBookingDto(savedBooking);
+        domainEventOutbox.append(DomainEventType.BOOKING_CREATED, savedBooking.getId(), bookingDto);
+        return bookingDto;
     }
 
     @Transactional
@@ -81,8 +95,12 @@ public class BookingServiceImpl implements BookingService {
         } else {
             booking.setStatus(Status.REJECTED);
         }
+        bookingTimelineCache.registerAfterCommit(booking);
         log.info("Booking status with id {} changed to {}", booking.getId(), booking.getStatus());
-        return bookingMapper.toBookingDto(booking);
+        BookingDto bookingDto = bookingMapper.toBookingDto(booking);
+        domainEventOutbox.append(isApproved ? DomainEventType.BOOKING_APPROVED : DomainEventType.BOOKING_REJECTED,
+                booking.getId(), bookingDto);
+        return bookingDto;
     }
 
     @Override
@@ -104,30 +122,51 @@ public class BookingServiceImpl implements BookingService {
         userService.checkUserExist(userId);
         PageRequest pageRequest = PageRequest.of(
                 (request.getFrom() / request.getSize()), request.getSize(), SORT_BY_START_DESC);
-        Page<Booking> page = Page.empty();
+        Page<BookingView> page = Page.empty();
         switch (state) {
             case ALL:
-                page = bookingRepository.findByBookerId(userId, pageRequest);
+                if (bookingArchive.containsBooker(userId)) {
+                    return mergeWithArchive(bookingArchive.findByBooker(userId),
+                            first -> bookingRepository.findByBookerId(userId, first), pageRequest);
+                }
+                page = bookingViewRepository.findByBookerId(userId, pageRequest);
                 break;
             case CURRENT:
-                page = bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfter(
-                        userId, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
+                page = bookingViewRepository.findByBookerIdAndStartGreaterThanEqualAndStartIsBeforeAndEndIsAfter(
+                        userId, bookingStartWatermark.getLowerBound(), LocalDateTime.now(), LocalDateTime.now(),
+                        pageRequest);
                 break;
             case FUTURE:
-                page = bookingRepository.findByBookerIdAndStartIsAfterAndEndIsAfter(
+                page = bookingViewRepository.findByBookerIdAndStartIsAfterAndEndIsAfter(
                         userId, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
                 break;
             case PAST:
-                page = bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsBefore(
+                if (bookingArchive.containsBooker(userId)) {
+                    LocalDateTime now = LocalDateTime.now();
+                    return mergeWithArchive(bookingArchive.findByBooker(userId),
+                            first -> bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsBefore(
+                                    userId, now, now, first), pageRequest);
+                }
+                page = bookingViewRepository.findByBookerIdAndStartIsBeforeAndEndIsBefore(
                         userId, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
                 break;
             case WAITING:
-                page = bookingRepository.findByBookerIdAndStatusIs(userId, Status.WAITING, pageRequest);
+                if (bookingArchive.containsBooker(userId)) {
+                    return mergeWithArchive(withStatus(bookingArchive.findByBooker(userId), Status.WAITING),
+                            first -> bookingRepository.findByBookerIdAndStatus(userId, Status.WAITING, first),
+                            pageRequest);
+                }
+                page = bookingViewRepository.findByBookerIdAndStatusIs(userId, Status.WAITING, pageRequest);
                 break;
             case REJECTED:
-                page = bookingRepository.findByBookerIdAndStatusIs(userId, Status.REJECTED, pageRequest);
+                if (bookingArchive.containsBooker(userId)) {
+                    return mergeWithArchive(withStatus(bookingArchive.findByBooker(userId), Status.REJECTED),
+                            first -> bookingRepository.findByBookerIdAndStatus(userId, Status.REJECTED, first),
+                            pageRequest);
+                }
+                page = bookingViewRepository.findByBookerIdAndStatusIs(userId, Status.REJECTED, pageRequest);
         }
-        return bookingMapper.toBookingDtoList(page.getContent());
+        return bookingMapper.toBookingDtoListFromViews(page.getContent());
     }
 
     @Override
@@ -137,29 +176,64 @@ public class BookingServiceImpl implements BookingService {
         userService.checkUserExist(ownerId);
         PageRequest pageRequest = PageRequest.of(
                 (request.getFrom() / request.getSize()), request.getSize(), SORT_BY_START_DESC);
-        Page<Booking> page = Page.empty();
+        Page<BookingView> page = Page.empty();
         switch (state) {
             case ALL:
-                page = bookingRepository.findByItemOwnerId(ownerId, pageRequest);
+                if (bookingArchive.containsOwner(ownerId)) {
+                    return mergeWithArchive(bookingArchive.findByOwner(ownerId),
+                            first -> bookingRepository.findByItemOwnerId(ownerId, first), pageRequest);
+                }
+                page = bookingViewRepository.findByOwnerId(ownerId, pageRequest);
                 break;
             case CURRENT:
-                page = bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
-                        ownerId, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
+                page = bookingViewRepository.findByOwnerIdAndStartGreaterThanEqualAndStartIsBeforeAndEndIsAfter(
+                        ownerId, bookingStartWatermark.getLowerBound(), LocalDateTime.now(), LocalDateTime.now(),
+                        pageRequest);
                 break;
             case FUTURE:
-                page = bookingRepository.findByItemOwnerIdAndStartIsAfterAndEndIsAfter(
+                page = bookingViewRepository.findByOwnerIdAndStartIsAfterAndEndIsAfter(
                         ownerId, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
                 break;
             case PAST:
-                page = bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsBefore(
+                if (bookingArchive.containsOwner(ownerId)) {
+                    LocalDateTime now = LocalDateTime.now();
+                    return mergeWithArchive(bookingArchive.findByOwner(ownerId),
+                            first -> bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsBefore(
+                                    ownerId, now, now, first), pageRequest);
+                }
+                page = bookingViewRepository.findByOwnerIdAndStartIsBeforeAndEndIsBefore(
                         ownerId, LocalDateTime.now(), LocalDateTime.now(), pageRequest);
                 break;
             case WAITING:
-                page = bookingRepository.findByItemOwnerIdAndStatusIs(ownerId, Status.WAITING, pageRequest);
+                if (bookingArchive.containsOwner(ownerId)) {
+                    return mergeWithArchive(withStatus(bookingArchive.findByOwner(ownerId), Status.WAITING),
+                            first -> bookingRepository.findByItemOwnerIdAndStatus(ownerId, Status.WAITING, first),
+                            pageRequest);
+                }
+                page = bookingViewRepository.findByOwnerIdAndStatusIs(ownerId, Status.WAITING, pageRequest);
                 break;
             case REJECTED:
-                page = bookingRepository.findByItemOwnerIdAndStatusIs(ownerId, Status.REJECTED, pageRequest);
+                if (bookingArchive.containsOwner(ownerId)) {
+                    return mergeWithArchive(withStatus(bookingArchive.findByOwner(ownerId), Status.REJECTED),
+                            first -> bookingRepository.findByItemOwnerIdAndStatus(ownerId, Status.REJECTED, first),
+                            pageRequest);
+                }
+                page = bookingViewRepository.findByOwnerIdAndStatusIs(ownerId, Status.REJECTED, pageRequest);
         }
-        return bookingMapper.toBookingDtoList(page.getContent());
+        return bookingMapper.toBookingDtoListFromViews(page.getContent());
+    }
+
+    private List<BookingDto> mergeWithArchive(List<ArchivedBooking> archived,
+                                              Function<Pageable, Page<Booking>> hotLoader,
+                                              PageRequest pageRequest) {
+        return bookingMapper.toBookingDtoList(bookingArchive.mergeNewestFirst(archived,
+                limit -> hotLoader.apply(PageRequest.of(0, limit, SORT_BY_START_DESC)).getContent(),
+                pageRequest));
+    }
+
+    private static List<ArchivedBooking> withStatus(List<ArchivedBooking> archived, Status status) {
+        return archived.stream()
+                .filter(booking -> booking.getStatus() == status)
+                .collect(Collectors.toList());
     }
 }
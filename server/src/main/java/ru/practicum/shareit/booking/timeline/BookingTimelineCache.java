@@ -0,0 +1,192 @@
+package ru.practicum.shareit.booking.timeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.datasource.ReplicaRoutingContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+@Slf4j
+@Component
+public class BookingTimelineCache implements MeterBinder {
+
+    static final List<Status> BUSY_STATUSES = List.of(Status.APPROVED, Status.WAITING);
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    // Local changes are applied after commit; changes committed by other instances show up once the entry expires.
+    private final Map<Long, CachedTimeline> timelines;
+    // Bumped by every change so a load that raced with a commit does not cache what it read before it.
+    private long generation;
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @Autowired
+    public BookingTimelineCache(BookingRepository bookingRepository,
+                                @Value("${shareit.booking-timeline.max-items:10000}") int maxItems,
+                                @Value("${shareit.booking-timeline.ttl:PT30S}") Duration ttl) {
+        this(bookingRepository, maxItems, ttl, System::nanoTime);
+    }
+
+    BookingTimelineCache(BookingRepository bookingRepository, int maxItems, Duration ttl, LongSupplier nanoTime) {
+        this.bookingRepository = bookingRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+        this.timelines = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedTimeline> eldest) {
+                return size() > maxItems;
+            }
+        };
+    }
+
+    public ItemTimeline get(long itemId) {
+        return getAll(List.of(itemId), true).get(itemId);
+    }
+
+    // Timelines of all given items; the ones not cached are loaded together, one query per LOAD_CHUNK_SIZE items.
+    // Broad lookups such as search results pass cacheLoaded = false so they do not flush the LRU.
+    public Map<Long, ItemTimeline> getAll(Collection<Long> itemIds, boolean cacheLoaded) {
+        Map<Long, ItemTimeline> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long loadGeneration;
+        long loadedAt = nanoTime.getAsLong();
+        synchronized (this) {
+            for (Long itemId : new LinkedHashSet<>(itemIds)) {
+                CachedTimeline cached = timelines.get(itemId);
+                if (cached != null && loadedAt - cached.loadedAt < ttlNanos) {
+                    result.put(itemId, cached.timeline);
+                } else {
+                    missing.add(itemId);
+                }
+            }
+            loadGeneration = generation;
+        }
+        increment(hitCounter, result.size());
+        increment(missCounter, missing.size());
+        Map<Long, ItemTimeline> loaded = load(missing);
+        synchronized (this) {
+            if (cacheLoaded && generation == loadGeneration) {
+                loaded.forEach((itemId, timeline) -> timelines.put(itemId, new CachedTimeline(timeline, loadedAt)));
+            }
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    public void registerItemAfterCommit(Long itemId) {
+        afterCommit(() -> put(itemId, ItemTimeline.EMPTY));
+    }
+
+    public void registerAfterCommit(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long bookingId = booking.getId();
+        if (BUSY_STATUSES.contains(booking.getStatus())) {
+            boolean approved = booking.getStatus() == Status.APPROVED;
+            afterCommit(() -> change(itemId, timeline ->
+                    timeline.with(bookingId, booking.getStart(), booking.getEnd(), approved)));
+        } else {
+            afterCommit(() -> change(itemId, timeline -> timeline.without(bookingId)));
+        }
+    }
+
+    public void clearAfterCommit() {
+        afterCommit(this::clear);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        timelines.clear();
+        log.debug("Booking timelines cleared");
+    }
+
+    synchronized int size() {
+        return timelines.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.booking.timeline.items", this, BookingTimelineCache::size)
+                .register(registry);
+        hitCounter = Counter.builder("shareit.booking.timeline.requests").tag("result", "hit").register(registry);
+        missCounter = Counter.builder("shareit.booking.timeline.requests").tag("result", "miss").register(registry);
+    }
+
+    private synchronized void change(long itemId, UnaryOperator<ItemTimeline> change) {
+        generation++;
+        CachedTimeline cached = timelines.get(itemId);
+        if (cached != null) {
+            timelines.put(itemId, new CachedTimeline(change.apply(cached.timeline), cached.loadedAt));
+        }
+    }
+
+    private synchronized void put(long itemId, ItemTimeline timeline) {
+        generation++;
+        timelines.put(itemId, new CachedTimeline(timeline, nanoTime.getAsLong()));
+    }
+
+    private Map<Long, ItemTimeline> load(List<Long> itemIds) {
+        Map<Long, List<BookingTimelineEntry>> entries = new HashMap<>();
+        for (int from = 0; from < itemIds.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = itemIds.subList(from, Math.min(from + LOAD_CHUNK_SIZE, itemIds.size()));
+            ReplicaRoutingContext.onPrimary(() -> bookingRepository.findTimelineEntries(chunk, BUSY_STATUSES))
+                    .forEach(entry -> entries.computeIfAbsent(entry.getItemId(), id -> new ArrayList<>()).add(entry));
+        }
+        Map<Long, ItemTimeline> loaded = new HashMap<>();
+        for (Long itemId : itemIds) {
+            loaded.put(itemId, ItemTimeline.of(entries.getOrDefault(itemId, List.of())));
+        }
+        return loaded;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void increment(Counter counter, int amount) {
+        if (counter != null && amount > 0) {
+            counter.increment(amount);
+        }
+    }
+
+    private static final class CachedTimeline {
+        private final ItemTimeline timeline;
+        private final long loadedAt;
+
+        private CachedTimeline(ItemTimeline timeline, long loadedAt) {
+            this.timeline = timeline;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
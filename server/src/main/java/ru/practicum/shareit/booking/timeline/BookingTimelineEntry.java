@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.timeline;
+
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+public interface BookingTimelineEntry {
+    Long getItemId();
+
+    Long getId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    Status getStatus();
+}
@@ -0,0 +1,193 @@
+package ru.practicum.shareit.booking.timeline;
+
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Immutable, sorted by start. maxEnds[i] is the latest end among the first i + 1 intervals, so the first
+// interval that can reach into a window is found by binary search and only overlapping ones are scanned.
+public final class ItemTimeline {
+
+    static final ItemTimeline EMPTY = new ItemTimeline(new long[0], new long[0], new long[0], new boolean[0]);
+
+    private final long[] bookingIds;
+    private final long[] starts;
+    private final long[] ends;
+    private final boolean[] approved;
+    private final long[] maxEnds;
+
+    private ItemTimeline(long[] bookingIds, long[] starts, long[] ends, boolean[] approved) {
+        this.bookingIds = bookingIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.approved = approved;
+        this.maxEnds = new long[ends.length];
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+
+    static ItemTimeline of(List<BookingTimelineEntry> entries) {
+        List<BookingTimelineEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(BookingTimelineEntry::getStart));
+        long[] bookingIds = new long[sorted.size()];
+        long[] starts = new long[sorted.size()];
+        long[] ends = new long[sorted.size()];
+        boolean[] approved = new boolean[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            BookingTimelineEntry entry = sorted.get(i);
+            bookingIds[i] = entry.getId();
+            starts[i] = floor(entry.getStart());
+            ends[i] = ceil(entry.getEnd());
+            approved[i] = entry.getStatus() == Status.APPROVED;
+        }
+        return new ItemTimeline(bookingIds, starts, ends, approved);
+    }
+
+    public int size() {
+        return bookingIds.length;
+    }
+
+    // Busy intervals of APPROVED and WAITING bookings that overlap [from, to), merged and clipped to the window.
+    public List<List<LocalDateTime>> busy(LocalDateTime from, LocalDateTime to) {
+        long windowStart = floor(from);
+        long windowEnd = ceil(to);
+        List<List<LocalDateTime>> busy = new ArrayList<>();
+        if (windowEnd <= windowStart) {
+            return busy;
+        }
+        long mergedStart = 0;
+        long mergedEnd = Long.MIN_VALUE;
+        for (int i = firstReaching(windowStart); i < starts.length && starts[i] < windowEnd; i++) {
+            if (ends[i] <= windowStart) {
+                continue;
+            }
+            if (starts[i] > mergedEnd) {
+                if (mergedEnd != Long.MIN_VALUE) {
+                    busy.add(interval(mergedStart, mergedEnd, windowStart, windowEnd));
+                }
+                mergedStart = starts[i];
+            }
+            mergedEnd = Math.max(mergedEnd, ends[i]);
+        }
+        if (mergedEnd != Long.MIN_VALUE) {
+            busy.add(interval(mergedStart, mergedEnd, windowStart, windowEnd));
+        }
+        return busy;
+    }
+
+    // Whether an APPROVED booking overlaps [from, to); WAITING bookings do not make the item unavailable.
+    public boolean isBookedBetween(LocalDateTime from, LocalDateTime to) {
+        long windowStart = floor(from);
+        long windowEnd = ceil(to);
+        for (int i = firstReaching(windowStart); i < starts.length && starts[i] < windowEnd; i++) {
+            if (approved[i] && ends[i] > windowStart) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    ItemTimeline with(long bookingId, LocalDateTime start, LocalDateTime end, boolean isApproved) {
+        ItemTimeline timeline = without(bookingId);
+        long startSecond = floor(start);
+        int position = timeline.insertionPoint(startSecond);
+        int size = timeline.size();
+        long[] newIds = new long[size + 1];
+        long[] newStarts = new long[size + 1];
+        long[] newEnds = new long[size + 1];
+        boolean[] newApproved = new boolean[size + 1];
+        copyAround(timeline, position, newIds, newStarts, newEnds, newApproved);
+        newIds[position] = bookingId;
+        newStarts[position] = startSecond;
+        newEnds[position] = ceil(end);
+        newApproved[position] = isApproved;
+        return new ItemTimeline(newIds, newStarts, newEnds, newApproved);
+    }
+
+    ItemTimeline without(long bookingId) {
+        for (int i = 0; i < bookingIds.length; i++) {
+            if (bookingIds[i] == bookingId) {
+                return new ItemTimeline(remove(bookingIds, i), remove(starts, i), remove(ends, i), remove(approved, i));
+            }
+        }
+        return this;
+    }
+
+    private int firstReaching(long windowStart) {
+        int low = 0;
+        int high = maxEnds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (maxEnds[middle] > windowStart) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private int insertionPoint(long start) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] <= start) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void copyAround(ItemTimeline source, int position, long[] ids, long[] starts, long[] ends,
+                                   boolean[] approved) {
+        int tail = source.size() - position;
+        System.arraycopy(source.bookingIds, 0, ids, 0, position);
+        System.arraycopy(source.bookingIds, position, ids, position + 1, tail);
+        System.arraycopy(source.starts, 0, starts, 0, position);
+        System.arraycopy(source.starts, position, starts, position + 1, tail);
+        System.arraycopy(source.ends, 0, ends, 0, position);
+        System.arraycopy(source.ends, position, ends, position + 1, tail);
+        System.arraycopy(source.approved, 0, approved, 0, position);
+        System.arraycopy(source.approved, position, approved, position + 1, tail);
+    }
+
+    private static long[] remove(long[] values, int index) {
+        long[] result = Arrays.copyOf(values, values.length - 1);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    private static boolean[] remove(boolean[] values, int index) {
+        boolean[] result = Arrays.copyOf(values, values.length - 1);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    private static List<LocalDateTime> interval(long start, long end, long windowStart, long windowEnd) {
+        return List.of(toDateTime(Math.max(start, windowStart)), toDateTime(Math.min(end, windowEnd)));
+    }
+
+    // Sub-second parts widen the interval, so a booking never looks shorter than it is.
+    private static long floor(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long ceil(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) + (dateTime.getNano() > 0 ? 1 : 0);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
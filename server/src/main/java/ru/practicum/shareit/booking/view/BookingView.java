@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking.view;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Immutable;
+import ru.practicum.shareit.booking.model.Status;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Getter
+@Setter
+@ToString
+@RequiredArgsConstructor
+@Entity
+@Immutable
+@Table(name = "booking_view")
+public class BookingView {
+
+    @Id
+    private Long id;
+
+    @Column(name = "start_date")
+    private LocalDateTime start;
+
+    @Column(name = "end_date")
+    private LocalDateTime end;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "item_name")
+    private String itemName;
+
+    @Column(name = "item_description")
+    private String itemDescription;
+
+    @Column(name = "item_available")
+    private Boolean itemAvailable;
+
+    @Column(name = "item_request_id")
+    private Long itemRequestId;
+
+    @Column(name = "booker_id")
+    private Long bookerId;
+
+    @Column(name = "booker_name")
+    private String bookerName;
+
+    @Column(name = "booker_email")
+    @ToString.Exclude
+    private String bookerEmail;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        BookingView view = (BookingView) o;
+        return id != null && Objects.equals(id, view.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking.view;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.outbox.DomainEventAppended;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingViewProjector {
+
+    private static final String SELECT_SOURCE = "select b.id, b.start_date, b.end_date, b.status, "
+            + "i.id, i.name, i.description, i.available, i.request_id, u.id, u.name, u.email, i.owner_id "
+            + "from bookings b join items i on i.id = b.item_id join users u on u.id = b.booker_id";
+    private static final String INSERT_INTO = "insert into booking_view (id, start_date, end_date, status, "
+            + "item_id, item_name, item_description, item_available, item_request_id, "
+            + "booker_id, booker_name, booker_email, owner_id) ";
+
+    private static final String INSERT_BOOKING = INSERT_INTO + SELECT_SOURCE + " where b.id = ?";
+    private static final String UPDATE_STATUS = "update booking_view "
+            + "set status = (select b.status from bookings b where b.id = ?) where id = ?";
+    private static final String UPDATE_ITEM = "update booking_view set "
+            + "item_name = (select i.name from items i where i.id = ?), "
+            + "item_description = (select i.description from items i where i.id = ?), "
+            + "item_available = (select i.available from items i where i.id = ?), "
+            + "item_request_id = (select i.request_id from items i where i.id = ?) "
+            + "where item_id = ?";
+    private static final String UPDATE_BOOKER = "update booking_view set "
+            + "booker_name = (select u.name from users u where u.id = ?), "
+            + "booker_email = (select u.email from users u where u.id = ?) "
+            + "where booker_id = ?";
+    private static final String INSERT_AFTER = INSERT_INTO + SELECT_SOURCE + " where b.id > ? "
+            + "and not exists (select 1 from booking_view v where v.id = b.id)";
+    private static final String DELETE_USER = "delete from booking_view where booker_id = ? or owner_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    public void on(DomainEventAppended event) {
+        long id = event.getAggregateId();
+        switch (event.getType()) {
+            case BOOKING_CREATED:
+                jdbcTemplate.update(INSERT_BOOKING, id);
+                break;
+            case BOOKING_APPROVED:
+            case BOOKING_REJECTED:
+                jdbcTemplate.update(UPDATE_STATUS, id, id);
+                break;
+            case ITEM_UPDATED:
+                jdbcTemplate.update(UPDATE_ITEM, id, id, id, id, id);
+                break;
+            case USER_UPDATED:
+                jdbcTemplate.update(UPDATE_BOOKER, id, id, id);
+                break;
+            case USER_DELETED:
+                jdbcTemplate.update(DELETE_USER, id, id);
+                break;
+            default:
+                return;
+        }
+        log.debug("Booking view updated for {} {}", event.getType(), id);
+    }
+
+    public int projectAfter(long bookingId) {
+        return jdbcTemplate.update(INSERT_AFTER, bookingId);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.view;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+public interface BookingViewRepository extends JpaRepository<BookingView, Long> {
+
+    Page<BookingView> findByBookerId(Long bookerId, Pageable pageable);
+
+    Page<BookingView> findByBookerIdAndStartGreaterThanEqualAndStartIsBeforeAndEndIsAfter(
+            Long bookerId, LocalDateTime startFrom, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    Page<BookingView> findByBookerIdAndStartIsAfterAndEndIsAfter(
+            Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    Page<BookingView> findByBookerIdAndStartIsBeforeAndEndIsBefore(
+            Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    Page<BookingView> findByBookerIdAndStatusIs(Long bookerId, Status status, Pageable pageable);
+
+    Page<BookingView> findByOwnerId(Long ownerId, Pageable pageable);
+
+    Page<BookingView> findByOwnerIdAndStartGreaterThanEqualAndStartIsBeforeAndEndIsAfter(
+            Long ownerId, LocalDateTime startFrom, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    Page<BookingView> findByOwnerIdAndStartIsAfterAndEndIsAfter(
+            Long ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    Page<BookingView> findByOwnerIdAndStartIsBeforeAndEndIsBefore(
+            Long ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    Page<BookingView> findByOwnerIdAndStatusIs(Long ownerId, Status status, Pageable pageable);
+}
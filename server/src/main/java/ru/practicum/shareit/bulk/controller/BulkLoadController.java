@@ -0,0 +1,35 @@
+package ru.practicum.shareit.bulk.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.bulk.dto.BulkLoadResultDto;
+import ru.practicum.shareit.bulk.service.BulkLoadService;
+import ru.practicum.shareit.bulk.service.BulkLoadTable;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/bulk")
+@ConditionalOnProperty(name = "shareit.bulk-load.enabled", havingValue = "true")
+public class BulkLoadController {
+
+    private final BulkLoadService bulkLoadService;
+
+    @PostMapping(path = "/{table}", consumes = "text/csv")
+    @ResponseStatus(HttpStatus.OK)
+    public BulkLoadResultDto load(@PathVariable String table, HttpServletRequest request) throws IOException {
+        BulkLoadTable target = BulkLoadTable.of(table);
+        try (InputStream csv = request.getInputStream()) {
+            return bulkLoadService.load(target, csv);
+        }
+    }
+}
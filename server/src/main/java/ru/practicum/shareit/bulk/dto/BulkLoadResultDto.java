@@ -0,0 +1,16 @@
+package ru.practicum.shareit.bulk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class BulkLoadResultDto {
+    private String table;
+    private long rows;
+    private long loaded;
+    private long skipped;
+    private int chunks;
+}
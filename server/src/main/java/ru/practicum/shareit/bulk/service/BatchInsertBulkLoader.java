@@ -0,0 +1,35 @@
+package ru.practicum.shareit.bulk.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.view.BookingViewProjector;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+class BatchInsertBulkLoader {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingViewProjector bookingViewProjector;
+
+    BatchInsertBulkLoader(JdbcTemplate jdbcTemplate, BookingViewProjector bookingViewProjector) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookingViewProjector = bookingViewProjector;
+    }
+
+    int load(BulkLoadTable table, List<Object[]> rows) {
+        Long lastBookingId = table == BulkLoadTable.BOOKINGS
+                ? jdbcTemplate.queryForObject("select coalesce(max(id), 0) from bookings", Long.class)
+                : null;
+        int[] counts = jdbcTemplate.batchUpdate(table.getInsertRowSql(), rows.stream()
+                .map(table::toInsertArgs)
+                .collect(Collectors.toList()));
+        if (lastBookingId != null) {
+            bookingViewProjector.projectAfter(lastBookingId);
+        }
+        int loaded = 0;
+        for (int count : counts) {
+            loaded += Math.max(count, 0);
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.bulk.service;
+
+import ru.practicum.shareit.bulk.dto.BulkLoadResultDto;
+
+import java.io.InputStream;
+
+public interface BulkLoadService {
+    BulkLoadResultDto load(BulkLoadTable table, InputStream csv);
+}
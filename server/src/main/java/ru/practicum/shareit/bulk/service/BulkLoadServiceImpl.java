@@ -0,0 +1,122 @@
+package ru.practicum.shareit.bulk.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.partition.BookingStartWatermark;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.booking.view.BookingViewProjector;
+import ru.practicum.shareit.bulk.dto.BulkLoadResultDto;
+import ru.practicum.shareit.cache.SecondLevelCacheEvictor;
+import ru.practicum.shareit.datasource.QueryFamily;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "shareit.bulk-load.enabled", havingValue = "true")
+public class BulkLoadServiceImpl implements BulkLoadService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchInsertBulkLoader batchInsertBulkLoader;
+    private final UserIdRegistry userIdRegistry;
+    private final SecondLevelCacheEvictor secondLevelCacheEvictor;
+    private final BookingStartWatermark bookingStartWatermark;
+    private final BookingTimelineCache bookingTimelineCache;
+    private final int chunkSize;
+
+    public BulkLoadServiceImpl(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               BookingViewProjector bookingViewProjector,
+                               UserIdRegistry userIdRegistry,
+                               SecondLevelCacheEvictor secondLevelCacheEvictor,
+                               BookingStartWatermark bookingStartWatermark,
+                               BookingTimelineCache bookingTimelineCache,
+                               @Value("${shareit.bulk-load.chunk-size:10000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = QueryFamily.MAINTENANCE.apply(transactionTemplate);
+        this.batchInsertBulkLoader = new BatchInsertBulkLoader(jdbcTemplate, bookingViewProjector);
+        this.userIdRegistry = userIdRegistry;
+        this.secondLevelCacheEvictor = secondLevelCacheEvictor;
+        this.bookingStartWatermark = bookingStartWatermark;
+        this.bookingTimelineCache = bookingTimelineCache;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkLoadResultDto load(BulkLoadTable table, InputStream csv) {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)));
+        BulkLoadResultDto result = BulkLoadResultDto.builder()
+                .table(table.name().toLowerCase(Locale.ROOT))
+                .build();
+        try {
+            table.checkHeader(reader.next());
+            List<Object[]> chunk = new ArrayList<>(chunkSize);
+            String[] values;
+            while ((values = reader.next()) != null) {
+                chunk.add(table.parseRow(values, reader.getRow()));
+                if (chunk.size() == chunkSize) {
+                    loadChunk(table, chunk, result);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                loadChunk(table, chunk, result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (result.getChunks() > 0) {
+                afterLoad(table);
+            }
+        }
+        log.info("Bulk load of {}: {} rows in {} chunks, {} loaded, {} skipped", result.getTable(),
+                result.getRows(), result.getChunks(), result.getLoaded(), result.getSkipped());
+        return result;
+    }
+
+    private void loadChunk(BulkLoadTable table, List<Object[]> chunk, BulkLoadResultDto result) {
+        Integer loaded = transactionTemplate.execute(status -> jdbcTemplate.execute((ConnectionCallback<Integer>)
+                connection -> CopyBulkLoader.supports(connection)
+                        ? new CopyBulkLoader().load(connection, table, chunk)
+                        : batchInsertBulkLoader.load(table, chunk)));
+        int count = loaded == null ? 0 : loaded;
+        result.setRows(result.getRows() + chunk.size());
+        result.setLoaded(result.getLoaded() + count);
+        result.setSkipped(result.getSkipped() + chunk.size() - count);
+        result.setChunks(result.getChunks() + 1);
+        log.debug("Bulk load of {}: chunk {} committed, {} of {} rows loaded", result.getTable(),
+                result.getChunks(), count, chunk.size());
+        chunk.clear();
+    }
+
+    private void afterLoad(BulkLoadTable table) {
+        switch (table) {
+            case USERS:
+                userIdRegistry.rebuild();
+                break;
+            case ITEMS:
+                secondLevelCacheEvictor.evictQueryRegions();
+                break;
+            case BOOKINGS:
+                bookingStartWatermark.refresh();
+                bookingTimelineCache.clear();
+                break;
+            default:
+                break;
+        }
+    }
+}
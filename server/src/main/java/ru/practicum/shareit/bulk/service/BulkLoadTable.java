@@ -0,0 +1,182 @@
+package ru.practicum.shareit.bulk.service;
+
+import lombok.Getter;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.BulkLoadFormatException;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+
+@Getter
+public enum BulkLoadTable {
+
+    USERS(List.of("name", "email"),
+            "create temporary table if not exists bulk_users "
+                    + "(name varchar(255), email varchar(512)) on commit drop",
+            "insert into users (name, email) "
+                    + "select distinct on (s.email) s.name, s.email from bulk_users s order by s.email "
+                    + "on conflict (email) do nothing",
+            "insert into users (name, email) select ?, ? "
+                    + "where not exists (select 1 from users u where u.email = ?)") {
+        @Override
+        Object[] parse(String[] values, long row) {
+            return new Object[]{required(values[0], "name", row), required(values[1], "email", row)};
+        }
+
+        @Override
+        Object[] toInsertArgs(Object[] row) {
+            return new Object[]{row[0], row[1], row[1]};
+        }
+    },
+    ITEMS(List.of("name", "description", "available", "owner_email", "request_id"),
+            "create temporary table if not exists bulk_items (name varchar(255), description varchar, "
+                    + "available boolean, owner_email varchar(512), request_id bigint) on commit drop",
+            "insert into items (name, description, available, owner_id, request_id) "
+                    + "select s.name, s.description, s.available, u.id, r.id from bulk_items s "
+                    + "join users u on u.email = s.owner_email "
+                    + "left join requests r on r.id = s.request_id "
+                    + "where s.request_id is null or r.id is not null",
+            "insert into items (name, description, available, owner_id, request_id) "
+                    + "select ?, ?, ?, u.id, r.id from users u left join requests r on r.id = ? "
+                    + "where u.email = ? and (cast(? as bigint) is null or r.id is not null)") {
+        @Override
+        Object[] parse(String[] values, long row) {
+            return new Object[]{
+                    required(values[0], "name", row),
+                    values[1],
+                    parseBoolean(required(values[2], "available", row), row),
+                    required(values[3], "owner_email", row),
+                    parseLong(values[4], "request_id", row)};
+        }
+
+        @Override
+        Object[] toInsertArgs(Object[] row) {
+            return new Object[]{row[0], row[1], row[2], row[4], row[3], row[4]};
+        }
+    },
+    BOOKINGS(List.of("start_date", "end_date", "item_id", "booker_email", "status"),
+            "create temporary table if not exists bulk_bookings (start_date timestamp, end_date timestamp, "
+                    + "item_id bigint, booker_email varchar(512), status varchar(32)) on commit drop",
+            "with inserted as ("
+                    + "insert into bookings (start_date, end_date, item_id, booker_id, status) "
+                    + "select s.start_date, s.end_date, i.id, u.id, s.status from bulk_bookings s "
+                    + "join items i on i.id = s.item_id "
+                    + "join users u on u.email = s.booker_email and u.id <> i.owner_id "
+                    + "returning id, start_date, end_date, item_id, booker_id, status) "
+                    + "insert into booking_view (id, start_date, end_date, status, item_id, item_name, "
+                    + "item_description, item_available, item_request_id, booker_id, booker_name, booker_email, "
+                    + "owner_id) "
+                    + "select b.id, b.start_date, b.end_date, b.status, i.id, i.name, i.description, i.available, "
+                    + "i.request_id, u.id, u.name, u.email, i.owner_id from inserted b "
+                    + "join items i on i.id = b.item_id join users u on u.id = b.booker_id",
+            "insert into bookings (start_date, end_date, item_id, booker_id, status) "
+                    + "select ?, ?, i.id, u.id, ? from items i join users u on u.email = ? "
+                    + "where i.id = ? and u.id <> i.owner_id") {
+        @Override
+        Object[] parse(String[] values, long row) {
+            return new Object[]{
+                    parseTimestamp(required(values[0], "start_date", row), row),
+                    parseTimestamp(required(values[1], "end_date", row), row),
+                    parseLong(required(values[2], "item_id", row), "item_id", row),
+                    required(values[3], "booker_email", row),
+                    parseStatus(required(values[4], "status", row), row)};
+        }
+
+        @Override
+        Object[] toInsertArgs(Object[] row) {
+            return new Object[]{row[0], row[1], row[4], row[3], row[2]};
+        }
+    };
+
+    private final List<String> columns;
+    private final String stagingTableSql;
+    private final String insertFromStagingSql;
+    private final String insertRowSql;
+
+    BulkLoadTable(List<String> columns, String stagingTableSql, String insertFromStagingSql, String insertRowSql) {
+        this.columns = columns;
+        this.stagingTableSql = stagingTableSql;
+        this.insertFromStagingSql = insertFromStagingSql;
+        this.insertRowSql = insertRowSql;
+    }
+
+    public static BulkLoadTable of(String name) {
+        for (BulkLoadTable table : values()) {
+            if (table.name().equalsIgnoreCase(name)) {
+                return table;
+            }
+        }
+        throw new NotFoundException("Bulk load of " + name + " is not supported");
+    }
+
+    public String getStagingTable() {
+        return "bulk_" + name().toLowerCase(Locale.ROOT);
+    }
+
+    abstract Object[] parse(String[] values, long row);
+
+    abstract Object[] toInsertArgs(Object[] row);
+
+    void checkHeader(String[] header) {
+        if (header == null || !columns.equals(List.of(header))) {
+            throw new BulkLoadFormatException("Expected header " + String.join(",", columns) + " for "
+                    + name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    Object[] parseRow(String[] values, long row) {
+        if (values.length != columns.size()) {
+            throw new BulkLoadFormatException("Expected " + columns.size() + " values in row " + row
+                    + " but found " + values.length);
+        }
+        return parse(values, row);
+    }
+
+    private static String required(String value, String column, long row) {
+        if (value == null || value.isBlank()) {
+            throw new BulkLoadFormatException("Missing " + column + " in row " + row);
+        }
+        return value;
+    }
+
+    private static Long parseLong(String value, String column, long row) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BulkLoadFormatException("Invalid " + column + " '" + value + "' in row " + row);
+        }
+    }
+
+    private static Boolean parseBoolean(String value, long row) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if (normalized.equals("true") || normalized.equals("t")) {
+            return Boolean.TRUE;
+        }
+        if (normalized.equals("false") || normalized.equals("f")) {
+            return Boolean.FALSE;
+        }
+        throw new BulkLoadFormatException("Invalid available '" + value + "' in row " + row);
+    }
+
+    private static LocalDateTime parseTimestamp(String value, long row) {
+        try {
+            return LocalDateTime.parse(value.trim().replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new BulkLoadFormatException("Invalid timestamp '" + value + "' in row " + row);
+        }
+    }
+
+    private static String parseStatus(String value, long row) {
+        try {
+            return Status.valueOf(value.trim().toUpperCase(Locale.ROOT)).name();
+        } catch (IllegalArgumentException e) {
+            throw new BulkLoadFormatException("Invalid status '" + value + "' in row " + row);
+        }
+    }
+}
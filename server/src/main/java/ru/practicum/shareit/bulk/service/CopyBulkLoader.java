@@ -0,0 +1,54 @@
+package ru.practicum.shareit.bulk.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+class CopyBulkLoader {
+
+    private final StringBuilder line = new StringBuilder();
+
+    static boolean supports(Connection connection) throws SQLException {
+        return connection.isWrapperFor(PGConnection.class);
+    }
+
+    int load(Connection connection, BulkLoadTable table, List<Object[]> rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(table.getStagingTableSql());
+        }
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("copy " + table.getStagingTable() + " from stdin with (format csv)");
+        try {
+            for (Object[] row : rows) {
+                byte[] bytes = toCsv(row).getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(table.getInsertFromStagingSql());
+        }
+    }
+
+    private String toCsv(Object[] row) {
+        line.setLength(0);
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            if (row[i] != null) {
+                line.append('"').append(row[i].toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        return line.append('\n').toString();
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.bulk.service;
+
+import ru.practicum.shareit.exception.BulkLoadFormatException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+class CsvReader {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private int peeked = -2;
+    private long row;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    long getRow() {
+        return row;
+    }
+
+    String[] next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        row++;
+        List<String> values = new ArrayList<>();
+        while (true) {
+            field.setLength(0);
+            boolean quoted = false;
+            if (c == '"') {
+                quoted = true;
+                while (true) {
+                    c = read();
+                    if (c == -1) {
+                        throw new BulkLoadFormatException("Unterminated quoted value in row " + row);
+                    }
+                    if (c == '"') {
+                        if (peek() != '"') {
+                            break;
+                        }
+                        read();
+                    }
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            while (c != ',' && c != '\n' && c != '\r' && c != -1) {
+                field.append((char) c);
+                c = read();
+            }
+            values.add(quoted || field.length() > 0 ? field.toString() : null);
+            if (c == ',') {
+                c = read();
+                continue;
+            }
+            if (c == '\r' && peek() == '\n') {
+                read();
+            }
+            return values.toArray(new String[0]);
+        }
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+}
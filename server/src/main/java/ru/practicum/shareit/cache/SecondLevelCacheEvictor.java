@@ -0,0 +1,51 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Items, requests and their query results disappear through "on delete cascade",
+    // which Hibernate never sees, so everything that may reference the user is dropped.
+    public void evictUserGraphAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictUserGraph(userId);
+                }
+            });
+        } else {
+            evictUserGraph(userId);
+        }
+    }
+
+    public void evictQueryRegions() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        log.debug("Second-level query cache evicted");
+    }
+
+    void evictUserGraph(Long userId) {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(User.class, userId);
+        cache.evict(Item.class);
+        cache.evict(ItemRequest.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        log.debug("Second-level cache evicted for deleted user {}", userId);
+    }
+}
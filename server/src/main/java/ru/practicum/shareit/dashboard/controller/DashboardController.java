@@ -0,0 +1,23 @@
+package ru.practicum.shareit.dashboard.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.dashboard.dto.DashboardDto;
+import ru.practicum.shareit.dashboard.service.DashboardService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/users/{id}/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public DashboardDto getDashboard(@PathVariable Long id,
+                                     @RequestParam(defaultValue = "0", required = false) Integer from,
+                                     @RequestParam(defaultValue = "10", required = false) Integer size) {
+        return dashboardService.getDashboard(id, from, size);
+    }
+}
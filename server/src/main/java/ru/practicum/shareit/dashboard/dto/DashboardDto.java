@@ -0,0 +1,22 @@
+package ru.practicum.shareit.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class DashboardDto {
+    private Long userId;
+    private List<ItemDto> items;
+    private List<BookingDto> waitingBookings;
+    private List<BookingDto> currentBookings;
+    private List<BookingDto> ownCurrentBookings;
+    private List<ItemRequestDto> requests;
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.dashboard.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.GetBookingRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.dashboard.dto.DashboardDto;
+import ru.practicum.shareit.datasource.ReplicaRoutingContext;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.timing.ServerTiming;
+import ru.practicum.shareit.tracing.Tracer;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemRequestService itemRequestService;
+    private final Tracer tracer;
+    private final ExecutorService executor;
+
+    public DashboardServiceImpl(UserService userService,
+                                ItemService itemService,
+                                BookingService bookingService,
+                                ItemRequestService itemRequestService,
+                                Tracer tracer,
+                                @Value("${shareit.dashboard.pool-size:4}") int poolSize) {
+        this.userService = userService;
+        this.itemService = itemService;
+        this.bookingService = bookingService;
+        this.itemRequestService = itemRequestService;
+        this.tracer = tracer;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(poolSize * 16), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public DashboardDto getDashboard(Long userId, Integer from, Integer size) {
+        userService.checkUserExist(userId);
+        CompletableFuture<List<ItemDto>> items = submit(() -> itemService.getByOwnerId(userId));
+        CompletableFuture<List<BookingDto>> waitingBookings = submit(() -> bookingService.getAllForOwnerByState(
+                GetBookingRequest.of(userId, BookingState.WAITING, from, size)));
+        CompletableFuture<List<BookingDto>> currentBookings = submit(() -> bookingService.getAllForOwnerByState(
+                GetBookingRequest.of(userId, BookingState.CURRENT, from, size)));
+        CompletableFuture<List<BookingDto>> ownCurrentBookings = submit(() -> bookingService.getAllForUserByState(
+                GetBookingRequest.of(userId, BookingState.CURRENT, from, size)));
+        CompletableFuture<List<ItemRequestDto>> requests = submit(() -> itemRequestService.getAll(userId, from, size));
+        return DashboardDto.builder()
+                .userId(userId)
+                .items(join(items))
+                .waitingBookings(join(waitingBookings))
+                .currentBookings(join(currentBookings))
+                .ownCurrentBookings(join(ownCurrentBookings))
+                .requests(join(requests))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(
+                tracer.propagate(ServerTiming.propagate(SqlStatementCounter.propagate(
+                        ReplicaRoutingContext.propagate(query)))), executor);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
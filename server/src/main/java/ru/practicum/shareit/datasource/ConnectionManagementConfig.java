@@ -0,0 +1,49 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class ConnectionManagementConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionPoolProfilePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    ConnectionPoolProfile.apply((HikariDataSource) bean, environment);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public StatementTimeoutTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers,
+            @Value("${shareit.datasource.statement-timeout.read:PT5S}") Duration read,
+            @Value("${shareit.datasource.statement-timeout.write:PT10S}") Duration write,
+            @Value("${shareit.datasource.statement-timeout.maintenance:PT15M}") Duration maintenance) {
+        StatementTimeoutTransactionManager transactionManager = new StatementTimeoutTransactionManager(Map.of(
+                QueryFamily.READ, read,
+                QueryFamily.WRITE, write,
+                QueryFamily.MAINTENANCE, maintenance));
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public StatementTimeoutMonitor statementTimeoutMonitor() {
+        return new StatementTimeoutMonitor();
+    }
+}
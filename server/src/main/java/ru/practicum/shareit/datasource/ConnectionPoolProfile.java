@@ -0,0 +1,33 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+@Getter
+@RequiredArgsConstructor
+public enum ConnectionPoolProfile {
+    SMALL(5, 1),
+    STANDARD(10, 10),
+    BURST(40, 10);
+
+    static final String PROPERTY = "shareit.datasource.pool-profile";
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari.";
+
+    private final int maximumPoolSize;
+    private final int minimumIdle;
+
+    public static void apply(HikariDataSource dataSource, Environment environment) {
+        Binder binder = Binder.get(environment);
+        ConnectionPoolProfile profile = binder.bind(PROPERTY, ConnectionPoolProfile.class).orElse(STANDARD);
+        if (!binder.bind(HIKARI_PREFIX + "maximum-pool-size", Integer.class).isBound()) {
+            dataSource.setMaximumPoolSize(profile.maximumPoolSize);
+        }
+        if (!binder.bind(HIKARI_PREFIX + "minimum-idle", Integer.class).isBound()) {
+            dataSource.setMinimumIdle(Math.min(profile.minimumIdle, dataSource.getMaximumPoolSize()));
+        }
+    }
+}
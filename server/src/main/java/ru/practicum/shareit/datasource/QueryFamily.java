@@ -0,0 +1,35 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public enum QueryFamily {
+    READ,
+    WRITE,
+    MAINTENANCE;
+
+    private static final String NAME_PREFIX = "query-family:";
+
+    public TransactionTemplate apply(TransactionTemplate template) {
+        TransactionTemplate copy = new TransactionTemplate(template.getTransactionManager(), template);
+        copy.setName(NAME_PREFIX + name());
+        return copy;
+    }
+
+    static QueryFamily of(TransactionDefinition definition) {
+        return of(definition.getName(), definition.isReadOnly());
+    }
+
+    static QueryFamily current() {
+        return of(TransactionSynchronizationManager.getCurrentTransactionName(),
+                TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    private static QueryFamily of(String transactionName, boolean readOnly) {
+        if (transactionName != null && transactionName.startsWith(NAME_PREFIX)) {
+            return valueOf(transactionName.substring(NAME_PREFIX.length()));
+        }
+        return readOnly ? READ : WRITE;
+    }
+}
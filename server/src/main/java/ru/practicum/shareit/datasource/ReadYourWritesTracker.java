@@ -0,0 +1,40 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per instance: a write served by another server instance is not seen here.
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(long userId) {
+        lastWrites.put(userId, System.nanoTime());
+    }
+
+    public boolean isSticky(long userId) {
+        Long writtenAt = lastWrites.get(userId);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt < windowNanos) {
+            return true;
+        }
+        lastWrites.remove(userId, writtenAt);
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.replica.read-your-writes-window:PT5S}")
+    public void purge() {
+        long now = System.nanoTime();
+        lastWrites.entrySet().removeIf(entry -> now - entry.getValue() >= windowNanos);
+    }
+}
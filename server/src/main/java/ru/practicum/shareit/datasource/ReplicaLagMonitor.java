@@ -0,0 +1,74 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String LAG_GAUGE = "shareit.datasource.replica.lag";
+
+    private final Map<String, DataSource> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final Map<String, Double> lags = new ConcurrentHashMap<>();
+    private volatile List<String> available = List.of();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, String lagQuery, Duration maxLag) {
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        replicas.keySet().forEach(name -> lags.put(name, Double.NaN));
+    }
+
+    void bindTo(MeterRegistry meterRegistry) {
+        replicas.keySet().forEach(name ->
+                Gauge.builder(LAG_GAUGE, lags, values -> values.getOrDefault(name, Double.NaN))
+                        .baseUnit("seconds")
+                        .tag("replica", name)
+                        .register(meterRegistry));
+    }
+
+    public List<String> getAvailableReplicas() {
+        return available;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.replica.lag-check-interval:PT5S}")
+    public void check() {
+        List<String> healthy = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> {
+            double lag = lag(name, dataSource);
+            lags.put(name, lag);
+            if (lag <= maxLagSeconds) {
+                healthy.add(name);
+            } else if (!Double.isNaN(lag)) {
+                log.warn("Replica {} lags {} s behind the primary, routing its reads to the primary", name, lag);
+            }
+        });
+        available = List.copyOf(healthy);
+    }
+
+    private double lag(String name, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            return resultSet.next() ? resultSet.getDouble(1) : 0.0;
+        } catch (SQLException e) {
+            log.warn("Replica {} is unavailable: {}", name, e.getMessage());
+            return Double.NaN;
+        }
+    }
+}
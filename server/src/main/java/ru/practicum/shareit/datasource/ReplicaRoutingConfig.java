@@ -0,0 +1,87 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${shareit.replica.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWritesTracker(window);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            ReadYourWritesTracker readYourWritesTracker,
+            @Value("${shareit.replica.urls}") List<String> urls,
+            @Value("${shareit.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${shareit.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${shareit.replica.lag-query}") String lagQuery,
+            @Value("${shareit.replica.max-lag:PT5S}") Duration maxLag) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configure(primary, "primary", environment);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls.get(i).trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            String name = "replica-" + (i + 1);
+            configure(replica, name, environment);
+            replicas.put(name, replica);
+        }
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replicas, lagQuery, maxLag);
+        return new ReplicaRoutingDataSource(primary, replicas, lagMonitor, readYourWritesTracker);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return replicaRoutingDataSource.getLagMonitor();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicaRoutingFilter> replicaRoutingFilter() {
+        FilterRegistrationBean<ReplicaRoutingFilter> registration =
+                new FilterRegistrationBean<>(new ReplicaRoutingFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
+
+    private static void configure(HikariDataSource dataSource, String name, Environment environment) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        ConnectionPoolProfile.apply(dataSource, environment);
+        dataSource.setPoolName(name);
+    }
+}
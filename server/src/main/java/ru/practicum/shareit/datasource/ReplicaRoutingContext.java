@@ -0,0 +1,58 @@
+package ru.practicum.shareit.datasource;
+
+import java.util.function.Supplier;
+
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Long> USER_ID = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void setUserId(Long userId) {
+        if (userId == null) {
+            USER_ID.remove();
+        } else {
+            USER_ID.set(userId);
+        }
+    }
+
+    public static Long getUserId() {
+        return USER_ID.get();
+    }
+
+    public static boolean isPrimaryOnly() {
+        return Boolean.TRUE.equals(PRIMARY_ONLY.get());
+    }
+
+    public static <T> T onPrimary(Supplier<T> task) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            } else {
+                PRIMARY_ONLY.set(previous);
+            }
+        }
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Long userId = USER_ID.get();
+        if (userId == null) {
+            return task;
+        }
+        return () -> {
+            Long previous = USER_ID.get();
+            USER_ID.set(userId);
+            try {
+                return task.get();
+            } finally {
+                setUserId(previous);
+            }
+        };
+    }
+}
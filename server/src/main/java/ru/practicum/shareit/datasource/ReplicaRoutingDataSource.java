@@ -0,0 +1,106 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, Closeable {
+
+    static final String PRIMARY = "primary";
+    static final String ROUTE_COUNTER = "shareit.datasource.route";
+
+    private final Map<String, DataSource> dataSources = new HashMap<>();
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile MeterRegistry meterRegistry;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, DataSource> replicas,
+                                    ReplicaLagMonitor lagMonitor,
+                                    ReadYourWritesTracker readYourWritesTracker) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+        dataSources.putAll(replicas);
+        dataSources.put(PRIMARY, primary);
+        setTargetDataSources(new HashMap<>(dataSources));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public ReplicaLagMonitor getLagMonitor() {
+        return lagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return route(PRIMARY, "no-transaction");
+        }
+        Long userId = ReplicaRoutingContext.getUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWritesTracker.recordWrite(userId);
+                    }
+                });
+            }
+            return route(PRIMARY, "write");
+        }
+        if (ReplicaRoutingContext.isPrimaryOnly()) {
+            return route(PRIMARY, "primary-only");
+        }
+        if (userId != null && readYourWritesTracker.isSticky(userId)) {
+            return route(PRIMARY, "read-your-writes");
+        }
+        List<String> replicas = lagMonitor.getAvailableReplicas();
+        if (replicas.isEmpty()) {
+            return route(PRIMARY, "no-replica");
+        }
+        return route(replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size())), "read");
+    }
+
+    private String route(String target, String reason) {
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            registry.counter(ROUTE_COUNTER, "target", target, "reason", reason).increment();
+        }
+        return target;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meterRegistry = registry;
+        lagMonitor.bindTo(registry);
+        dataSources.values().forEach(dataSource -> {
+            if (dataSource instanceof HikariDataSource) {
+                HikariDataSource hikari = (HikariDataSource) dataSource;
+                if (hikari.getMetricsTrackerFactory() == null && hikari.getMetricRegistry() == null) {
+                    hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        dataSources.values().forEach(dataSource -> {
+            if (dataSource instanceof HikariDataSource) {
+                ((HikariDataSource) dataSource).close();
+            }
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+public class ReplicaRoutingFilter extends OncePerRequestFilter {
+
+    static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReplicaRoutingContext.setUserId(userId(request.getHeader(USER_HEADER)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.setUserId(null);
+        }
+    }
+
+    private static Long userId(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import javax.persistence.QueryTimeoutException;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class StatementTimeoutMonitor implements PersistenceExceptionTranslator, MeterBinder {
+
+    static final String TIMEOUT_COUNTER = "shareit.datasource.statement.timeouts";
+
+    private static final String QUERY_CANCELED = "57014";
+
+    private final Map<QueryFamily, Counter> counters = new EnumMap<>(QueryFamily.class);
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        if (isTimeout(ex)) {
+            Counter counter = counters.get(QueryFamily.current());
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (QueryFamily family : QueryFamily.values()) {
+            counters.put(family, Counter.builder(TIMEOUT_COUNTER)
+                    .tag("family", family.name().toLowerCase())
+                    .register(registry));
+        }
+    }
+
+    static boolean isTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransactionTimedOutException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof SQLTimeoutException
+                    || cause instanceof SQLException && QUERY_CANCELED.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class StatementTimeoutTransactionManager extends JpaTransactionManager {
+
+    private final Map<QueryFamily, Integer> timeoutSeconds = new EnumMap<>(QueryFamily.class);
+
+    public StatementTimeoutTransactionManager(Map<QueryFamily, Duration> timeouts) {
+        timeouts.forEach((family, timeout) -> timeoutSeconds.put(family, (int) Math.max(1, timeout.toSeconds())));
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        if (definition.getTimeout() != TransactionDefinition.TIMEOUT_DEFAULT) {
+            return definition.getTimeout();
+        }
+        return timeoutSeconds.getOrDefault(QueryFamily.of(definition), super.determineTimeout(definition));
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class BulkLoadFormatException extends RuntimeException {
+    public BulkLoadFormatException(String message) {
+        super(message);
+    }
+}
@@ -55,6 +55,13 @@ public class ExceptionApiHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleBulkLoadFormatException(BulkLoadFormatException e) {
+        log.warn(e.getMessage());
+        return new ErrorResponse(e.getMessage());
+    }
+
     @Getter
     @RequiredArgsConstructor
     static class ErrorResponse {
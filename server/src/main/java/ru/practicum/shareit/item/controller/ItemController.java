@@ -1,15 +1,18 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CreateItemDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.PatchItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Validated
@@ -43,6 +46,16 @@ public class ItemController {
         return itemService.getById(id, userId);
     }
 
+    @GetMapping("/{id}/calendar")
+    @ResponseStatus(HttpStatus.OK)
+    public ItemCalendarDto getCalendar(@PathVariable Long id,
+                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                       LocalDateTime from,
+                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                       LocalDateTime to) {
+        return itemService.getCalendar(id, from, to);
+    }
+
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public List<ItemDto> getByOwnerId(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
@@ -51,8 +64,12 @@ public class ItemController {
 
     @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
-    public List<ItemDto> searchItems(@RequestParam String text) {
-        return itemService.searchItems(text);
+    public List<ItemDto> searchItems(@RequestParam String text,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                     LocalDateTime start,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                     LocalDateTime end) {
+        return itemService.searchItems(text, start, end);
     }
 
     @PostMapping("/{id}/comment")
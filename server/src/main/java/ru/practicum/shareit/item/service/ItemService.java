@@ -2,9 +2,11 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CreateItemDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.PatchItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -16,7 +18,9 @@ public interface ItemService {
 
     List<ItemDto> getByOwnerId(Long ownerId);
 
-    List<ItemDto> searchItems(String text);
+    ItemCalendarDto getCalendar(Long id, LocalDateTime from, LocalDateTime to);
+
+    List<ItemDto> searchItems(String text, LocalDateTime start, LocalDateTime end);
 
     CommentDto createComment(CommentDto commentDto, Long itemId, Long userId);
 }
@@ -5,15 +5,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.archive.BookingArchive;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.booking.timeline.ItemTimeline;
 import ru.practicum.shareit.exception.AuthorizationUserException;
 import ru.practicum.shareit.exception.NoBookingInPastException;
-import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CreateItemDto;
+import ru.practicum.shareit.item.dto.ItemCalendarDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.PatchItemDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
@@ -22,10 +25,11 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.DomainEventOutbox;
+import ru.practicum.shareit.outbox.DomainEventType;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.resolver.EntityResolver;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -47,54 +51,53 @@ public class ItemServiceImpl implements ItemService {
     private static final Sort SORT_BY_CREATED_DESC = Sort.by(Sort.Direction.DESC, "created");
 
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final BookingArchive bookingArchive;
+    private final BookingTimelineCache bookingTimelineCache;
     private final CommentRepository commentRepository;
-    private final ItemRequestRepository itemRequestRepository;
+    private final EntityResolver entityResolver;
 
     private final ItemMapper itemMapper;
     private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
+    private final DomainEventOutbox domainEventOutbox;
 
     @Transactional
     @Override
     public ItemDto create(CreateItemDto itemDto, Long ownerId) {
-        User owner = userRepository.findById(ownerId).orElseThrow(() -> {
-            throw new NotFoundException("User with id " + ownerId + " not found");
-        });
+        User owner = entityResolver.getUserReference(ownerId);
         Item item = itemMapper.toEntity(itemDto);
         item.setOwner(owner);
         Long requestId = itemDto.getRequestId();
         if (Objects.nonNull(requestId)) {
-            ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(() -> {
-                throw new NotFoundException("Request with id " + requestId + " not found");
-            });
+            ItemRequest itemRequest = entityResolver.getItemRequestReference(requestId);
             item.setRequest(itemRequest);
         }
         Item savedItem = itemRepository.save(item);
+        bookingTimelineCache.registerItemAfterCommit(savedItem.getId());
         log.info("Item with id {} created", savedItem.getId());
-        return itemMapper.toItemDto(savedItem);
+        ItemDto dto = itemMapper.toItemDto(savedItem);
+        domainEventOutbox.append(DomainEventType.ITEM_CREATED, savedItem.getId(), dto);
+        return dto;
     }
 
     @Transactional
     @Override
     public ItemDto patch(PatchItemDto itemDto, Long ownerId) {
-        Item item = itemRepository.findById(itemDto.getId()).orElseThrow(() -> {
-            throw new NotFoundException("Item with id " + itemDto.getId() + " not found");
-        });
+        Item item = entityResolver.getItem(itemDto.getId());
         if (!item.getOwner().getId().equals(ownerId)) {
             throw new AuthorizationUserException("User with id " + ownerId + " has no rights to change this item");
         }
         itemMapper.updateItem(itemDto, item);
         log.info("Item with id {} updated", item.getId());
-        return itemMapper.toItemDto(item);
+        ItemDto dto = itemMapper.toItemDto(item);
+        domainEventOutbox.append(DomainEventType.ITEM_UPDATED, item.getId(), dto);
+        return dto;
     }
 
     @Override
     public ItemDto getById(Long id, Long userId) {
-        Item foundedItemById = itemRepository.findById(id).orElseThrow(() -> {
-            throw new NotFoundException("Item with id " + id + " not found");
-        });
+        Item foundedItemById = entityResolver.getItem(id);
         ItemDto itemDto = itemMapper.toItemDto(foundedItemById);
         if (foundedItemById.getOwner().getId().equals(userId)) {
             Booking lastBooking = bookingRepository.findFirstByItemIdAndStartLessThanEqual(
@@ -144,11 +147,29 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDto> searchItems(String text) {
+    public ItemCalendarDto getCalendar(Long id, LocalDateTime from, LocalDateTime to) {
+        entityResolver.getItem(id);
+        return ItemCalendarDto.builder()
+                .itemId(id)
+                .from(from)
+                .to(to)
+                .busy(bookingTimelineCache.get(id).busy(from, to))
+                .build();
+    }
+
+    @Override
+    public List<ItemDto> searchItems(String text, LocalDateTime start, LocalDateTime end) {
         if (text.isBlank()) {
             return Collections.emptyList();
         }
         List<Item> foundedItems = itemRepository.search(text);
+        if (start != null && end != null && !foundedItems.isEmpty()) {
+            Map<Long, ItemTimeline> timelines = bookingTimelineCache.getAll(
+                    foundedItems.stream().map(Item::getId).collect(toList()), false);
+            foundedItems = foundedItems.stream()
+                    .filter(item -> !timelines.get(item.getId()).isBookedBetween(start, end))
+                    .collect(toList());
+        }
         return itemMapper.toItemDtoList(foundedItems);
     }
 
@@ -156,19 +177,18 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public CommentDto createComment(CommentDto commentDto, Long itemId, Long userId) {
         if (bookingRepository.existsBookingByItem_IdAndBooker_IdAndStatusAndEndIsBefore(
-                itemId, userId, Status.APPROVED, LocalDateTime.now())) {
+                itemId, userId, Status.APPROVED, LocalDateTime.now())
+                || bookingArchive.hasBooking(itemId, userId, Status.APPROVED)) {
             Comment comment = commentMapper.toEntity(commentDto);
-            User author = userRepository.findById(userId).orElseThrow(() -> {
-                throw new NotFoundException("User with id " + userId + " not found");
-            });
-            Item item = itemRepository.findById(itemId).orElseThrow(() -> {
-                throw new NotFoundException("Item with id " + itemId + " not found");
-            });
+            User author = entityResolver.getUser(userId);
+            Item item = entityResolver.getItemReference(itemId);
             comment.setAuthor(author);
             comment.setItem(item);
             Comment savedComment = commentRepository.save(comment);
             log.info("Comment with id {} created", savedComment.getId());
-            return commentMapper.toDto(savedComment);
+            CommentDto dto = commentMapper.toDto(savedComment);
+            domainEventOutbox.append(DomainEventType.COMMENT_ADDED, itemId, dto);
+            return dto;
         } else {
             throw new NoBookingInPastException("You can`t add comment with 0 finished bookings");
         }
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.GetBookingRequest;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String SERVICE_TIMER = "shareit.service";
+    static final String MAPPER_TIMER = "shareit.mapper";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint, state(joinPoint.getArgs()));
+    }
+
+    @Around("execution(public * ru.practicum.shareit..mapper.*Mapper.*(..))")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(MAPPER_TIMER, joinPoint, NONE);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint, String state) throws Throwable {
+        String operation = joinPoint.getTarget().getClass().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(name, Tags.of(
+                    "operation", operation,
+                    "state", state,
+                    "exception", exception)));
+        }
+    }
+
+    private static String state(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof GetBookingRequest && ((GetBookingRequest) arg).getState() != null) {
+                return ((GetBookingRequest) arg).getState().name();
+            }
+            if (arg instanceof BookingState) {
+                return ((BookingState) arg).name();
+            }
+        }
+        return NONE;
+    }
+}
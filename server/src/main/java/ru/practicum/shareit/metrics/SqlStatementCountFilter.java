@@ -0,0 +1,46 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.sql.statement-count.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_SUMMARY = "shareit.sql.statements";
+    static final String HEADER = "X-SQL-Statement-Count";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int count = SqlStatementCounter.stop();
+            if (!request.isAsyncStarted()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder(STATEMENTS_SUMMARY)
+                        .baseUnit("statements")
+                        .tag("method", request.getMethod())
+                        .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                        .register(meterRegistry)
+                        .record(count);
+            }
+        }
+    }
+}
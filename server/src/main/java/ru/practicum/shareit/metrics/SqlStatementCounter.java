@@ -0,0 +1,55 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new AtomicInteger());
+    }
+
+    public static int current() {
+        AtomicInteger count = COUNT.get();
+        return count == null ? 0 : count.get();
+    }
+
+    public static int stop() {
+        int count = current();
+        COUNT.remove();
+        return count;
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        AtomicInteger count = COUNT.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = COUNT.get();
+            COUNT.set(count);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    COUNT.remove();
+                } else {
+                    COUNT.set(previous);
+                }
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = COUNT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.outbox;
+
+public enum AggregateType {
+    USER, ITEM, ITEM_REQUEST, BOOKING
+}
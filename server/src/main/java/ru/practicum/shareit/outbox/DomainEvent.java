@@ -0,0 +1,15 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class DomainEvent {
+    long id;
+    AggregateType aggregateType;
+    long aggregateId;
+    DomainEventType type;
+    String payload;
+    LocalDateTime created;
+}
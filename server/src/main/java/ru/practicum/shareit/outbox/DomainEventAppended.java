@@ -0,0 +1,9 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.Value;
+
+@Value
+public class DomainEventAppended {
+    DomainEventType type;
+    long aggregateId;
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class DomainEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(DomainEventType type, Long aggregateId, Object payload) {
+        // Flushing first takes the aggregate's row locks before the event id is drawn,
+        // so ids of events for one aggregate follow the commit order of their changes.
+        entityManager.flush();
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(type.getAggregateType());
+        event.setAggregateId(aggregateId);
+        event.setEventType(type);
+        event.setPayload(serialize(payload));
+        event.setCreated(LocalDateTime.now());
+        outboxEventRepository.save(event);
+        eventPublisher.publishEvent(new DomainEventAppended(type, aggregateId));
+    }
+
+    private String serialize(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + payload.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum DomainEventType {
+    USER_CREATED(AggregateType.USER),
+    USER_UPDATED(AggregateType.USER),
+    USER_DELETED(AggregateType.USER),
+    ITEM_CREATED(AggregateType.ITEM),
+    ITEM_UPDATED(AggregateType.ITEM),
+    COMMENT_ADDED(AggregateType.ITEM),
+    ITEM_REQUEST_CREATED(AggregateType.ITEM_REQUEST),
+    BOOKING_CREATED(AggregateType.BOOKING),
+    BOOKING_APPROVED(AggregateType.BOOKING),
+    BOOKING_REJECTED(AggregateType.BOOKING);
+
+    private final AggregateType aggregateType;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from OutboxEvent e where e.id > ?1 and e.parked = false order by e.id")
+    List<OutboxEvent> findNextBatchForUpdate(Long afterId, Pageable pageable);
+
+    @Query("select min(e.created) from OutboxEvent e where e.parked = false")
+    LocalDateTime findOldestCreated();
+
+    long countByParkedTrue();
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.datasource.QueryFamily;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements MeterBinder {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate publishTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private volatile LocalDateTime oldestPending;
+    private volatile long parked;
+    private Counter publishedCounter;
+    private Counter failedCounter;
+    private Counter parkedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${shareit.outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${shareit.outbox.relay.max-attempts:10}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = QueryFamily.MAINTENANCE.apply(transactionTemplate);
+        this.publishTemplate = QueryFamily.WRITE.apply(transactionTemplate);
+        this.publishTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(initialDelayString = "${shareit.outbox.relay.poll-interval:PT1S}",
+            fixedDelayString = "${shareit.outbox.relay.poll-interval:PT1S}")
+    public void relay() {
+        try {
+            Set<String> blockedAggregates = new HashSet<>();
+            long cursor = 0;
+            while (cursor >= 0) {
+                long afterId = cursor;
+                Long next = transactionTemplate.execute(status -> relayBatch(afterId, blockedAggregates));
+                cursor = next == null ? -1 : next;
+            }
+            oldestPending = outboxEventRepository.findOldestCreated();
+            parked = outboxEventRepository.countByParkedTrue();
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed, events will be retried", e);
+        }
+    }
+
+    double getLagSeconds() {
+        LocalDateTime oldest = oldestPending;
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.outbox.lag", this, OutboxRelay::getLagSeconds)
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("shareit.outbox.parked", this, relay -> relay.parked)
+                .register(registry);
+        publishedCounter = Counter.builder("shareit.outbox.events").tag("result", "published").register(registry);
+        failedCounter = Counter.builder("shareit.outbox.events").tag("result", "failed").register(registry);
+        parkedCounter = Counter.builder("shareit.outbox.events").tag("result", "parked").register(registry);
+    }
+
+    // Every publish runs in its own transaction, so a @Transactional subscriber that fails rolls back only its
+    // own work and cannot mark the batch transaction, which holds the row locks, rollback-only.
+    private long relayBatch(long afterId, Set<String> blockedAggregates) {
+        List<OutboxEvent> batch = outboxEventRepository.findNextBatchForUpdate(
+                afterId, PageRequest.of(0, batchSize));
+        List<OutboxEvent> published = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            if (blockedAggregates.contains(aggregate)) {
+                continue;
+            }
+            try {
+                publishTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(new DomainEvent(
+                        event.getId(), event.getAggregateType(), event.getAggregateId(), event.getEventType(),
+                        event.getPayload(), event.getCreated())));
+                published.add(event);
+            } catch (RuntimeException e) {
+                event.setAttempts(event.getAttempts() + 1);
+                increment(failedCounter);
+                if (event.getAttempts() >= maxAttempts) {
+                    event.setParked(true);
+                    increment(parkedCounter);
+                    log.error("Outbox event {} {} for {} failed {} times, parked; later events of this aggregate "
+                            + "go on", event.getId(), event.getEventType(), aggregate, event.getAttempts(), e);
+                } else {
+                    blockedAggregates.add(aggregate);
+                    log.warn("Outbox event {} {} for {} failed on attempt {}, holding back later events of this "
+                            + "aggregate", event.getId(), event.getEventType(), aggregate, event.getAttempts(), e);
+                }
+            }
+        }
+        outboxEventRepository.deleteAllInBatch(published);
+        published.forEach(event -> increment(publishedCounter));
+        return batch.size() < batchSize ? -1 : batch.get(batch.size() - 1).getId();
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
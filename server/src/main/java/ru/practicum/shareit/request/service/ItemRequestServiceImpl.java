@@ -7,17 +7,18 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.DomainEventOutbox;
+import ru.practicum.shareit.outbox.DomainEventType;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.resolver.EntityResolver;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.Collections;
@@ -35,30 +36,29 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final EntityResolver entityResolver;
     private final UserService userService;
     private final ItemRequestMapper itemRequestMapper;
     private final ItemMapper itemMapper;
+    private final DomainEventOutbox domainEventOutbox;
 
     @Override
     @Transactional
     public ItemRequestDto create(CreateItemRequestDto dto, Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> {
-            throw new NotFoundException("User with id " + userId + " not found");
-        });
+        User user = entityResolver.getUserReference(userId);
         ItemRequest itemRequest = itemRequestMapper.toEntity(dto);
         itemRequest.setRequester(user);
         ItemRequest savedItemRequest = itemRequestRepository.save(itemRequest);
         log.info("Request with id {} created", savedItemRequest.getId());
-        return itemRequestMapper.toDto(savedItemRequest);
+        ItemRequestDto itemRequestDto = itemRequestMapper.toDto(savedItemRequest);
+        domainEventOutbox.append(DomainEventType.ITEM_REQUEST_CREATED, savedItemRequest.getId(), itemRequestDto);
+        return itemRequestDto;
     }
 
     @Override
     public ItemRequestDto getById(Long id, Long userId) {
         userService.checkUserExist(userId);
-        ItemRequest itemRequest = itemRequestRepository.findById(id).orElseThrow(() -> {
-            throw new NotFoundException("Request with id " + id + " not found");
-        });
+        ItemRequest itemRequest = entityResolver.getItemRequest(id);
         ItemRequestDto dto = itemRequestMapper.toDto(itemRequest);
         List<Item> items = itemRepository.findAllByRequestId(id);
         dto.setItems(itemMapper.toItemInRequestDtoList(items));
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.resolver;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class EntityResolver {
+
+    private static final String KNOWN_IDS_ATTRIBUTE = EntityResolver.class.getName() + ".KNOWN_IDS";
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserIdRegistry userIdRegistry;
+
+    public User getUser(Long id) {
+        if (userIdRegistry.isAuthoritative() && !userIdRegistry.contains(id)) {
+            throw notFound("User", id);
+        }
+        return load(userRepository, id, "User", User.class);
+    }
+
+    public User getUserReference(Long id) {
+        checkUserExists(id);
+        return userRepository.getReferenceById(id);
+    }
+
+    public void checkUserExists(Long id) {
+        if (userIdRegistry.isAuthoritative()) {
+            if (!userIdRegistry.contains(id)) {
+                throw notFound("User", id);
+            }
+            return;
+        }
+        checkExists(userRepository, id, "User", User.class);
+    }
+
+    public void forgetUser(Long id) {
+        Set<String> knownIds = knownIds();
+        if (knownIds != null) {
+            knownIds.remove(key(User.class, id));
+        }
+    }
+
+    public Item getItem(Long id) {
+        return load(itemRepository, id, "Item", Item.class);
+    }
+
+    public Item getItemReference(Long id) {
+        return reference(itemRepository, id, "Item", Item.class);
+    }
+
+    public ItemRequest getItemRequest(Long id) {
+        return load(itemRequestRepository, id, "Request", ItemRequest.class);
+    }
+
+    public ItemRequest getItemRequestReference(Long id) {
+        return reference(itemRequestRepository, id, "Request", ItemRequest.class);
+    }
+
+    private <T> T load(JpaRepository<T, Long> repository, Long id, String name, Class<T> type) {
+        T entity = repository.findById(id).orElseThrow(() -> {
+            throw notFound(name, id);
+        });
+        remember(type, id);
+        return entity;
+    }
+
+    private <T> T reference(JpaRepository<T, Long> repository, Long id, String name, Class<T> type) {
+        checkExists(repository, id, name, type);
+        return repository.getReferenceById(id);
+    }
+
+    private <T> void checkExists(JpaRepository<T, Long> repository, Long id, String name, Class<T> type) {
+        Set<String> knownIds = knownIds();
+        if (knownIds != null && knownIds.contains(key(type, id))) {
+            return;
+        }
+        if (!repository.existsById(id)) {
+            throw notFound(name, id);
+        }
+        remember(type, id);
+    }
+
+    private void remember(Class<?> type, Long id) {
+        Set<String> knownIds = knownIds();
+        if (knownIds != null) {
+            knownIds.add(key(type, id));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> knownIds() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Set<String> knownIds = (Set<String>) attributes.getAttribute(KNOWN_IDS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (knownIds == null) {
+            knownIds = new HashSet<>();
+            attributes.setAttribute(KNOWN_IDS_ATTRIBUTE, knownIds, RequestAttributes.SCOPE_REQUEST);
+        }
+        return knownIds;
+    }
+
+    private static String key(Class<?> type, Long id) {
+        return type.getSimpleName() + ":" + id;
+    }
+
+    private static NotFoundException notFound(String name, Long id) {
+        return new NotFoundException(name + " with id " + id + " not found");
+    }
+}
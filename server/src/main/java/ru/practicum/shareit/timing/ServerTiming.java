@@ -0,0 +1,84 @@
+package ru.practicum.shareit.timing;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong dbNanos = new AtomicLong();
+    private final AtomicLong mappingNanos = new AtomicLong();
+    private final AtomicLong serializationNanos = new AtomicLong();
+    private final AtomicLong concurrentDbNanos = new AtomicLong();
+    private final AtomicLong concurrentMappingNanos = new AtomicLong();
+
+    public static ServerTiming start() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return task;
+        }
+        return () -> {
+            ServerTiming previous = CURRENT.get();
+            ServerTiming segment = new ServerTiming();
+            CURRENT.set(segment);
+            try {
+                return task.get();
+            } finally {
+                timing.addConcurrent(segment);
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    public void addDb(long nanos) {
+        dbNanos.addAndGet(nanos);
+    }
+
+    public void addMapping(long nanos) {
+        mappingNanos.addAndGet(nanos);
+    }
+
+    public void addSerialization(long nanos) {
+        serializationNanos.addAndGet(nanos);
+    }
+
+    // Parallel segments overlap in wall time, so only the slowest one counts.
+    private void addConcurrent(ServerTiming segment) {
+        concurrentDbNanos.accumulateAndGet(segment.dbNanos.get(), Math::max);
+        concurrentMappingNanos.accumulateAndGet(segment.mappingNanos.get(), Math::max);
+    }
+
+    public String toHeaderValue() {
+        return metric("db", dbNanos.get() + concurrentDbNanos.get())
+                + ", " + metric("mapping", mappingNanos.get() + concurrentMappingNanos.get())
+                + ", " + metric("serialization", serializationNanos.get())
+                + ", " + metric("server", System.nanoTime() - startNanos);
+    }
+
+    private static String metric(String name, long nanos) {
+        return name + ";dur=" + String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
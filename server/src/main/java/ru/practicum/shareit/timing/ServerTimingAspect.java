@@ -0,0 +1,50 @@
+package ru.practicum.shareit.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+@Aspect
+public class ServerTimingAspect {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[2]);
+    private static final int DB = 0;
+    private static final int MAPPING = 1;
+
+    @Around("execution(public * ru.practicum.shareit..repository.*Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, DB);
+    }
+
+    @Around("execution(public * ru.practicum.shareit..mapper.*Mapper.*(..))")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, MAPPING);
+    }
+
+    private static Object time(ProceedingJoinPoint joinPoint, int segment) throws Throwable {
+        ServerTiming timing = ServerTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        int[] depth = DEPTH.get();
+        if (depth[segment]++ > 0) {
+            try {
+                return joinPoint.proceed();
+            } finally {
+                depth[segment]--;
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            depth[segment]--;
+            long elapsed = System.nanoTime() - start;
+            if (segment == DB) {
+                timing.addDb(elapsed);
+            } else {
+                timing.addMapping(elapsed);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+
+@Aspect
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("execution(public * ru.practicum.shareit..controller.*Controller.*(..))")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller");
+    }
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service");
+    }
+
+    @Around("execution(public * ru.practicum.shareit..repository.*Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "repository");
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        Span span = tracer.startSpan(operation(joinPoint), Span.Kind.INTERNAL).tag("layer", layer);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.setError(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            tracer.end(span);
+        }
+    }
+
+    private static String operation(ProceedingJoinPoint joinPoint) {
+        Class<?> type = joinPoint.getTarget().getClass();
+        if (joinPoint.getThis() instanceof Repository) {
+            for (Class<?> proxied : AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis())) {
+                if (Repository.class.isAssignableFrom(proxied)) {
+                    type = proxied;
+                    break;
+                }
+            }
+        }
+        return type.getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACEPARENT = "traceparent";
+    static final String TRACE_ID_MDC_KEY = "traceId";
+
+    private final Tracer tracer;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Span span = tracer.startServerSpan(request.getMethod() + " " + request.getRequestURI(),
+                TraceContext.parse(request.getHeader(TRACEPARENT)));
+        MDC.put(TRACE_ID_MDC_KEY, span.getContext().getTraceId());
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.setError(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            span.tag("http.route", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+                    .tag("http.status", response.getStatus());
+            tracer.end(span);
+            MDC.remove(TRACE_ID_MDC_KEY);
+        }
+    }
+}
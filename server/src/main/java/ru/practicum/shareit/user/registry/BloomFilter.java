@@ -0,0 +1,45 @@
+package ru.practicum.shareit.user.registry;
+
+class BloomFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = (int) Math.min(Math.max(optimalBits, 64), Integer.MAX_VALUE - 63);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+        this.bits = new long[(bitCount + 63) >>> 6];
+    }
+
+    void add(long value) {
+        long hash = mix(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int index = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+
+    boolean mightContain(long value) {
+        long hash = mix(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int index = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,190 @@
+package ru.practicum.shareit.user.registry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.datasource.ReplicaRoutingContext;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class UserIdRegistry {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final Object rebuildLock = new Object();
+    private final Map<Long, Boolean> changesDuringRebuild = new LinkedHashMap<>();
+    private volatile Snapshot snapshot;
+    private volatile boolean stale;
+    private boolean rebuilding;
+
+    public UserIdRegistry(UserRepository userRepository,
+                          @Value("${shareit.user-registry.enabled:true}") boolean enabled,
+                          @Value("${shareit.user-registry.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    // Both hits and misses are final only while no other instance has changed the users table since the last check.
+    public boolean isAuthoritative() {
+        return snapshot != null && !stale;
+    }
+
+    public boolean contains(long id) {
+        Snapshot current = snapshot;
+        return current != null && current.contains(id);
+    }
+
+    public void registerAfterCommit(long id) {
+        afterCommit(() -> add(id));
+    }
+
+    public void unregisterAfterCommit(long id) {
+        afterCommit(() -> remove(id));
+    }
+
+    @Scheduled(initialDelayString = "${shareit.user-registry.poll-interval:PT5S}",
+            fixedDelayString = "${shareit.user-registry.poll-interval:PT5S}")
+    public void refreshIfChanged() {
+        Snapshot current = snapshot;
+        if (!enabled || current == null) {
+            return;
+        }
+        UserIdStats stats = ReplicaRoutingContext.onPrimary(userRepository::getIdStats);
+        synchronized (this) {
+            if (snapshot != current || current.matches(stats)) {
+                return;
+            }
+            stale = true;
+        }
+        log.info("Users changed outside this instance, rebuilding user id registry");
+        rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${shareit.user-registry.rebuild-interval:PT10M}",
+            fixedDelayString = "${shareit.user-registry.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                rebuilding = true;
+                changesDuringRebuild.clear();
+            }
+            try {
+                List<Long> ids = ReplicaRoutingContext.onPrimary(userRepository::findAllIds);
+                long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+                synchronized (this) {
+                    snapshot = Snapshot.of(sorted, falsePositiveRate);
+                    changesDuringRebuild.forEach((id, added) -> snapshot.apply(id, added));
+                    stale = false;
+                    log.info("User id registry rebuilt with {} ids", sorted.length);
+                }
+            } finally {
+                synchronized (this) {
+                    rebuilding = false;
+                    changesDuringRebuild.clear();
+                }
+            }
+        }
+    }
+
+    synchronized void add(long id) {
+        change(id, true);
+    }
+
+    synchronized void remove(long id) {
+        change(id, false);
+    }
+
+    private void change(long id, boolean added) {
+        if (rebuilding) {
+            changesDuringRebuild.put(id, added);
+        }
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.apply(id, added);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Local creates and deletes go to a small delta that the next rebuild folds into the sorted ids.
+    private static final class Snapshot {
+        private final long[] ids;
+        private final BloomFilter bloom;
+        private final Map<Long, Boolean> delta = new ConcurrentHashMap<>();
+        private long count;
+        private long maxId;
+
+        private Snapshot(long[] ids, BloomFilter bloom) {
+            this.ids = ids;
+            this.bloom = bloom;
+            this.count = ids.length;
+            this.maxId = ids.length == 0 ? 0 : ids[ids.length - 1];
+        }
+
+        static Snapshot of(long[] sortedIds, double falsePositiveRate) {
+            BloomFilter bloom = new BloomFilter(Math.max(MIN_CAPACITY, sortedIds.length), falsePositiveRate);
+            for (long id : sortedIds) {
+                bloom.add(id);
+            }
+            return new Snapshot(sortedIds, bloom);
+        }
+
+        boolean contains(long id) {
+            Boolean change = delta.get(id);
+            if (change != null) {
+                return change;
+            }
+            return bloom.mightContain(id) && Arrays.binarySearch(ids, id) >= 0;
+        }
+
+        void apply(long id, boolean added) {
+            if (contains(id) != added) {
+                count += added ? 1 : -1;
+            }
+            if (added) {
+                maxId = Math.max(maxId, id);
+            }
+            delta.put(id, added);
+        }
+
+        boolean matches(UserIdStats stats) {
+            return stats.getUserCount() == count && Objects.equals(stats.getMaxId(), count == 0 ? null : maxId);
+        }
+    }
+}
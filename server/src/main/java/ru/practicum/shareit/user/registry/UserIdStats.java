@@ -0,0 +1,8 @@
+package ru.practicum.shareit.user.registry;
+
+public interface UserIdStats {
+
+    long getUserCount();
+
+    Long getMaxId();
+}
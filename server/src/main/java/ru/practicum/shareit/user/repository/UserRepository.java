@@ -1,7 +1,30 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdStats;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Query("select u.id from User u")
+    List<Long> findAllIds();
+
+    @Query("select count(u) as userCount, max(u.id) as maxId from User u")
+    UserIdStats getIdStats();
+
+    List<User> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select u from User u order by u.id")
+    Stream<User> streamAll();
 }
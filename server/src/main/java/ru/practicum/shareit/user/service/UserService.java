@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto create(UserDto userDto);
@@ -11,7 +12,9 @@ public interface UserService {
 
     UserDto getById(Long id);
 
-    List<UserDto> getAll();
+    List<UserDto> getAll(Long after, Integer size);
+
+    void exportAll(Consumer<UserDto> consumer);
 
     void deleteById(Long id);
 
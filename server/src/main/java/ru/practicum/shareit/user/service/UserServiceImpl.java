@@ -2,15 +2,25 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.cache.SecondLevelCacheEvictor;
+import ru.practicum.shareit.outbox.DomainEventOutbox;
+import ru.practicum.shareit.outbox.DomainEventType;
+import ru.practicum.shareit.resolver.EntityResolver;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -20,54 +30,74 @@ public class UserServiceImpl implements UserService {
 
     private final UserMapper userMapper;
     private final UserRepository userRepository;
+    private final EntityResolver entityResolver;
+    private final UserIdRegistry userIdRegistry;
+    private final EntityManager entityManager;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final BookingTimelineCache bookingTimelineCache;
+    private final DomainEventOutbox domainEventOutbox;
 
     @Transactional
     @Override
     public UserDto create(UserDto userDto) {
         User user = userMapper.toEntity(userDto);
         User savedUser = userRepository.save(user);
+        userIdRegistry.registerAfterCommit(savedUser.getId());
         log.info("User with id {} created", savedUser.getId());
-        return userMapper.toDto(savedUser);
+        UserDto dto = userMapper.toDto(savedUser);
+        domainEventOutbox.append(DomainEventType.USER_CREATED, savedUser.getId(), dto);
+        return dto;
     }
 
     @Transactional
     @Override
     public UserDto patch(UserDto userDto) {
-        User foundedUserById = userRepository.findById(userDto.getId()).orElseThrow(() -> {
-            throw new NotFoundException("User with id " + userDto.getId() + " not found");
-        });
+        User foundedUserById = entityResolver.getUser(userDto.getId());
         userMapper.updateUserFromDto(userDto, foundedUserById);
         User updatedUser = userRepository.save(foundedUserById);
         log.info("User with id {} updated", updatedUser.getId());
-        return userMapper.toDto(updatedUser);
+        UserDto dto = userMapper.toDto(updatedUser);
+        domainEventOutbox.append(DomainEventType.USER_UPDATED, updatedUser.getId(), dto);
+        return dto;
     }
 
     @Override
     public UserDto getById(Long id) {
-        User foundedUserById = userRepository.findById(id).orElseThrow(() -> {
-            throw new NotFoundException("User with id " + id + " not found");
-        });
+        User foundedUserById = entityResolver.getUser(id);
         return userMapper.toDto(foundedUserById);
     }
 
     @Override
-    public List<UserDto> getAll() {
-        List<User> users = userRepository.findAll();
+    public List<UserDto> getAll(Long after, Integer size) {
+        List<User> users = userRepository.findByIdGreaterThan(after, PageRequest.of(0, size, Sort.by("id")));
         return userMapper.toUserDtoList(users);
     }
 
+    @Override
+    public void exportAll(Consumer<UserDto> consumer) {
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                consumer.accept(userMapper.toDto(user));
+                entityManager.detach(user);
+            });
+        }
+    }
+
     @Transactional
     @Override
     public void deleteById(Long id) {
         checkUserExist(id);
         userRepository.deleteById(id);
+        entityResolver.forgetUser(id);
+        userIdRegistry.unregisterAfterCommit(id);
+        cacheEvictor.evictUserGraphAfterCommit(id);
+        bookingTimelineCache.clearAfterCommit();
+        domainEventOutbox.append(DomainEventType.USER_DELETED, id, null);
         log.info("User with id {} removed", id);
     }
 
     @Override
     public void checkUserExist(Long userId) {
-        userRepository.findById(userId).orElseThrow(() -> {
-            throw new NotFoundException("User with id " + userId + " not found");
-        });
+        entityResolver.checkUserExists(userId);
     }
 }
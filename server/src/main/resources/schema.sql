@@ -48,4 +48,69 @@ create table if not exists comments
     constraint PK_COMMENTS primary key (id)
 );
 
+create table if not exists booking_view
+(
+    id               BIGINT                not null,
+    start_date       TIMESTAMP,
+    end_date         TIMESTAMP,
+    status           CHARACTER VARYING(32),
+    item_id          BIGINT                not null,
+    item_name        CHARACTER VARYING(255),
+    item_description CHARACTER VARYING,
+    item_available   BOOLEAN,
+    item_request_id  BIGINT,
+    booker_id        BIGINT                not null,
+    booker_name      CHARACTER VARYING(255),
+    booker_email     CHARACTER VARYING(512),
+    owner_id         BIGINT                not null,
+    constraint PK_BOOKING_VIEW primary key (id)
+);
+
+create index if not exists IX_BOOKING_VIEW_BOOKER_START on booking_view (booker_id, start_date);
+
+create index if not exists IX_BOOKING_VIEW_BOOKER_STATUS_START on booking_view (booker_id, status, start_date);
 
+create index if not exists IX_BOOKING_VIEW_OWNER_START on booking_view (owner_id, start_date);
+
+create index if not exists IX_BOOKING_VIEW_OWNER_STATUS_START on booking_view (owner_id, status, start_date);
+
+insert into booking_view (id, start_date, end_date, status, item_id, item_name, item_description, item_available,
+                          item_request_id, booker_id, booker_name, booker_email, owner_id)
+select b.id, b.start_date, b.end_date, b.status, i.id, i.name, i.description, i.available, i.request_id,
+       u.id, u.name, u.email, i.owner_id
+from bookings b
+         join items i on i.id = b.item_id
+         join users u on u.id = b.booker_id
+where not exists(select 1 from booking_view);
+
+create table if not exists outbox_events
+(
+    id             BIGINT generated by default as identity,
+    aggregate_type CHARACTER VARYING(32) not null,
+    aggregate_id   BIGINT                not null,
+    event_type     CHARACTER VARYING(64) not null,
+    payload        CHARACTER VARYING,
+    created        TIMESTAMP             not null,
+    attempts       INTEGER default 0     not null,
+    parked         BOOLEAN default false not null,
+    constraint PK_OUTBOX_EVENTS primary key (id)
+);
+
+create table if not exists booking_archive_segments
+(
+    sequence  BIGINT    not null,
+    min_id    BIGINT    not null,
+    max_id    BIGINT    not null,
+    cutoff    TIMESTAMP not null,
+    row_count INTEGER   not null,
+    purged    BOOLEAN default false not null,
+    constraint PK_BOOKING_ARCHIVE_SEGMENTS primary key (sequence)
+);
+
+create table if not exists booking_archive_readers
+(
+    instance_id     CHARACTER VARYING(64) not null,
+    loaded_sequence BIGINT                not null,
+    seen_at         TIMESTAMP             not null,
+    constraint PK_BOOKING_ARCHIVE_READERS primary key (instance_id)
+);
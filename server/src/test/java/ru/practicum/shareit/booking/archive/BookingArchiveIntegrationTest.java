@@ -0,0 +1,244 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.GetBookingRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.user.UserFixtures.newUser;
+
+@SpringBootTest(properties = {
+        "shareit.booking-archive.enabled=true",
+        "shareit.booking-archive.retention=P1Y",
+        "shareit.booking-archive.block-size=2",
+        "shareit.booking-archive.interval=PT1000H"})
+class BookingArchiveIntegrationTest {
+
+    @TempDir
+    static Path archiveDirectory;
+
+    @Autowired
+    private BookingArchiver bookingArchiver;
+    @Autowired
+    private BookingArchive bookingArchive;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserIdRegistry userIdRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime now;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit.booking-archive.directory", () -> archiveDirectory.toString());
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(newUser("owner"));
+        booker = userRepository.save(newUser("booker"));
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        userIdRegistry.rebuild();
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from booking_archive_readers where instance_id <> ?",
+                bookingArchive.getInstanceId());
+    }
+
+    @Test
+    void archive_whenBookingsOlderThanRetention_thenMovedOutOfHotTable() {
+        Booking old = createBooking(now.minusYears(3), now.minusYears(3).plusDays(1), Status.APPROVED);
+        Booking recent = createBooking(now.minusDays(7), now.minusDays(6), Status.APPROVED);
+
+        bookingArchiver.archive();
+
+        assertFalse(bookingRepository.existsById(old.getId()));
+        assertTrue(bookingRepository.existsById(recent.getId()));
+        assertTrue(bookingArchive.containsBooker(booker.getId()));
+        assertTrue(bookingArchive.containsOwner(owner.getId()));
+        assertEquals(List.of(old.getId()), bookingArchive.findByBooker(booker.getId()).stream()
+                .map(ArchivedBooking::getId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void archive_whenAnotherInstanceHasNotLoadedSegment_thenRowsKeptUntilItHas() {
+        Booking old = createBooking(now.minusYears(3), now.minusYears(3).plusDays(1), Status.APPROVED);
+        Booking recent = createBooking(now.minusDays(7), now.minusDays(6), Status.APPROVED);
+        reportReader("other", 0, LocalDateTime.now());
+
+        bookingArchiver.archive();
+
+        assertTrue(bookingRepository.existsById(old.getId()));
+        assertTrue(bookingArchive.containsBooker(booker.getId()));
+        assertEquals(List.of(recent.getId(), old.getId()), pastIds(0, 10, true));
+        assertEquals(List.of(recent.getId()), pastIds(0, 1, true));
+        assertEquals(List.of(old.getId()), pastIds(1, 1, true));
+
+        reportReader("other", bookingArchive.getLoadedSequence(), LocalDateTime.now());
+        bookingArchiver.archive();
+
+        assertFalse(bookingRepository.existsById(old.getId()));
+        assertEquals(List.of(recent.getId(), old.getId()), pastIds(0, 10, true));
+    }
+
+    @Test
+    void archive_whenLaggingInstanceStoppedReporting_thenIgnored() {
+        Booking old = createBooking(now.minusYears(3), now.minusYears(3).plusDays(1), Status.APPROVED);
+        reportReader("gone", 0, LocalDateTime.now().minusHours(1));
+
+        bookingArchiver.archive();
+
+        assertFalse(bookingRepository.existsById(old.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from booking_archive_readers where instance_id = 'gone'", Integer.class));
+    }
+
+    @Test
+    void getAllForUserByState_whenPastBookingsArchived_thenPagesMergeHotAndArchive() {
+        Booking oldest = createBooking(now.minusYears(4), now.minusYears(4).plusDays(1), Status.APPROVED);
+        Booking older = createBooking(now.minusYears(3), now.minusYears(3).plusDays(1), Status.REJECTED);
+        Booking old = createBooking(now.minusYears(2), now.minusYears(2).plusDays(1), Status.APPROVED);
+        Booking recent = createBooking(now.minusDays(7), now.minusDays(6), Status.APPROVED);
+        createBooking(now.plusDays(1), now.plusDays(2), Status.WAITING);
+
+        bookingArchiver.archive();
+
+        assertEquals(List.of(recent.getId(), old.getId()), pastIds(0, 2, true));
+        assertEquals(List.of(older.getId(), oldest.getId()), pastIds(2, 2, true));
+        assertEquals(List.of(recent.getId(), old.getId(), older.getId(), oldest.getId()), pastIds(0, 10, false));
+        BookingDto archived = bookingService.getAllForUserByState(
+                GetBookingRequest.of(booker.getId(), BookingState.PAST, 2, 2)).get(0);
+        assertEquals(Status.REJECTED, archived.getStatus());
+        assertEquals(item.getId(), archived.getItem().getId());
+        assertEquals(booker.getId(), archived.getBooker().getId());
+        assertEquals(older.getStart(), archived.getStart());
+    }
+
+    @Test
+    void getAllForUserByState_whenArchivedItemDeleted_thenSkippedWithoutShorteningPage() {
+        Item deleted = itemRepository.save(Item.builder()
+                .name("Saw")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        Booking oldest = createBooking(now.minusYears(5), now.minusYears(5).plusDays(1), Status.APPROVED);
+        createBooking(deleted, now.minusYears(4), now.minusYears(4).plusDays(1), Status.APPROVED);
+        Booking older = createBooking(now.minusYears(3), now.minusYears(3).plusDays(1), Status.APPROVED);
+        createBooking(deleted, now.minusYears(2), now.minusYears(2).plusDays(1), Status.APPROVED);
+        Booking recent = createBooking(now.minusDays(7), now.minusDays(6), Status.APPROVED);
+        bookingArchiver.archive();
+        itemRepository.deleteById(deleted.getId());
+
+        assertEquals(List.of(recent.getId(), older.getId()), pastIds(0, 2, true));
+        assertEquals(List.of(oldest.getId()), pastIds(2, 2, true));
+    }
+
+    @Test
+    void getAllForUserByState_whenAllOrRejectedRequested_thenArchivedBookingsIncluded() {
+        Booking rejected = createBooking(now.minusYears(3), now.minusYears(3).plusDays(1), Status.REJECTED);
+        Booking approved = createBooking(now.minusYears(2), now.minusYears(2).plusDays(1), Status.APPROVED);
+        Booking future = createBooking(now.plusDays(1), now.plusDays(2), Status.REJECTED);
+        bookingArchiver.archive();
+
+        assertEquals(List.of(future.getId(), approved.getId(), rejected.getId()),
+                ids(BookingState.ALL, 0, 10, true));
+        assertEquals(List.of(future.getId(), rejected.getId()), ids(BookingState.REJECTED, 0, 10, false));
+    }
+
+    @Test
+    void createComment_whenOnlyArchivedBookingExists_thenCommentAccepted() {
+        createBooking(now.minusYears(2), now.minusYears(2).plusDays(1), Status.APPROVED);
+        bookingArchiver.archive();
+        CommentDto comment = new CommentDto();
+        comment.setText("Still works");
+
+        CommentDto saved = itemService.createComment(comment, item.getId(), booker.getId());
+
+        assertEquals(booker.getName(), saved.getAuthorName());
+    }
+
+    private void reportReader(String instanceId, long loadedSequence, LocalDateTime seenAt) {
+        jdbcTemplate.update("delete from booking_archive_readers where instance_id = ?", instanceId);
+        jdbcTemplate.update("insert into booking_archive_readers (instance_id, loaded_sequence, seen_at) "
+                + "values (?, ?, ?)", instanceId, loadedSequence, Timestamp.valueOf(seenAt));
+    }
+
+    private List<Long> pastIds(int from, int size, boolean asBooker) {
+        return ids(BookingState.PAST, from, size, asBooker);
+    }
+
+    private List<Long> ids(BookingState state, int from, int size, boolean asBooker) {
+        GetBookingRequest request = GetBookingRequest.of(
+                asBooker ? booker.getId() : owner.getId(), state, from, size);
+        List<BookingDto> bookings = asBooker
+                ? bookingService.getAllForUserByState(request)
+                : bookingService.getAllForOwnerByState(request);
+        return bookings.stream().map(BookingDto::getId).collect(Collectors.toList());
+    }
+
+    private Booking createBooking(LocalDateTime start, LocalDateTime end, Status status) {
+        return createBooking(item, start, end, status);
+    }
+
+    private Booking createBooking(Item item, LocalDateTime start, LocalDateTime end, Status status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingSegmentTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2015, 3, 1, 10, 0, 0, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void findBy_whenBookerPresent_thenAllRowsReturnedNewestFirst() throws IOException {
+        List<ArchivedBooking> bookings = bookings(5000);
+        Path file = directory.resolve("segment.seg");
+        BookingSegment.write(file, bookings, 256);
+
+        BookingSegment segment = BookingSegment.open(file);
+
+        List<ArchivedBooking> expected = bookings.stream()
+                .filter(booking -> booking.getBookerId() == 7)
+                .sorted((a, b) -> b.getStart().compareTo(a.getStart()))
+                .collect(Collectors.toList());
+        assertEquals(5000, segment.getRowCount());
+        assertEquals(expected, segment.findBy(BookingSegment.Key.BOOKER, 7));
+        assertEquals(BASE, segment.getMinStart());
+        assertEquals(BASE.plusHours(4999), segment.getMaxStart());
+    }
+
+    @Test
+    void findBy_whenOwnerPresent_thenRowsAcrossBlocksReturned() throws IOException {
+        List<ArchivedBooking> bookings = bookings(3000);
+        Path file = directory.resolve("segment.seg");
+        BookingSegment.write(file, bookings, 100);
+
+        List<ArchivedBooking> found = BookingSegment.open(file).findBy(BookingSegment.Key.OWNER, 3);
+
+        assertEquals(bookings.stream().filter(booking -> booking.getOwnerId() == 3).count(), found.size());
+        assertTrue(found.stream().allMatch(booking -> bookings.contains(booking)));
+    }
+
+    @Test
+    void findBy_whenKeyAbsent_thenEmpty() throws IOException {
+        Path file = directory.resolve("segment.seg");
+        BookingSegment.write(file, bookings(10), 4);
+
+        BookingSegment segment = BookingSegment.open(file);
+
+        assertFalse(segment.contains(BookingSegment.Key.BOOKER, 1000));
+        assertTrue(segment.findBy(BookingSegment.Key.OWNER, 1000).isEmpty());
+    }
+
+    @Test
+    void write_whenColumnsRepetitive_thenFileSmallerThanRawRows() throws IOException {
+        Path file = directory.resolve("segment.seg");
+        BookingSegment.write(file, bookings(20000), 1024);
+
+        long rawSize = 20000L * (6 * Long.BYTES + 1);
+        assertTrue(Files.size(file) < rawSize / 2, "segment size " + Files.size(file));
+    }
+
+    @Test
+    void open_whenNotSegment_thenIllegalStateException() throws IOException {
+        Path file = directory.resolve("garbage.seg");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IllegalStateException.class, () -> BookingSegment.open(file));
+    }
+
+    private static List<ArchivedBooking> bookings(int count) {
+        List<ArchivedBooking> bookings = new ArrayList<>(count);
+        Status[] statuses = Status.values();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = BASE.plusHours(i);
+            bookings.add(new ArchivedBooking(1_000_000L + i, start, start.plusDays(1 + i % 5),
+                    i % 97, i % 13, i % 5, statuses[i % statuses.length]));
+        }
+        return bookings;
+    }
+}
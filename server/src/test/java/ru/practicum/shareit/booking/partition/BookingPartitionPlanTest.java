@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingPartitionPlanTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    @Test
+    void of_whenNothingAttached_thenCurrentAndFutureMonthsCreated() {
+        BookingPartitionPlan plan = BookingPartitionPlan.of(List.of(), List.of(), CURRENT, 2, Period.ofYears(5));
+
+        assertEquals(List.of(
+                        BookingPartition.of(YearMonth.of(2026, 10)),
+                        BookingPartition.of(YearMonth.of(2026, 11)),
+                        BookingPartition.of(YearMonth.of(2026, 12))),
+                plan.getToCreate());
+        assertTrue(plan.getToArchive().isEmpty());
+    }
+
+    @Test
+    void of_whenAllAttached_thenEmpty() {
+        BookingPartitionPlan plan = BookingPartitionPlan.of(
+                List.of(CURRENT, CURRENT.plusMonths(1)), List.of(), CURRENT, 1, Period.ofYears(5));
+
+        assertTrue(plan.isEmpty());
+    }
+
+    @Test
+    void of_whenRowsInDefaultPartition_thenTheirMonthsCreated() {
+        BookingPartitionPlan plan = BookingPartitionPlan.of(
+                List.of(CURRENT), List.of(YearMonth.of(2025, 3), YearMonth.of(2028, 1)), CURRENT, 0,
+                Period.ofYears(5));
+
+        assertEquals(List.of(
+                        BookingPartition.of(YearMonth.of(2025, 3)),
+                        BookingPartition.of(YearMonth.of(2028, 1))),
+                plan.getToCreate());
+    }
+
+    @Test
+    void of_whenPartitionsOlderThanRetention_thenArchived() {
+        BookingPartitionPlan plan = BookingPartitionPlan.of(
+                List.of(YearMonth.of(2025, 8), YearMonth.of(2025, 9), YearMonth.of(2025, 10), CURRENT),
+                List.of(YearMonth.of(2024, 1)), CURRENT, 0, Period.ofYears(1));
+
+        assertEquals(List.of(BookingPartition.of(YearMonth.of(2024, 1))), plan.getToCreate());
+        assertEquals(List.of(
+                        BookingPartition.of(YearMonth.of(2024, 1)),
+                        BookingPartition.of(YearMonth.of(2025, 8)),
+                        BookingPartition.of(YearMonth.of(2025, 9))),
+                plan.getToArchive());
+    }
+
+    @Test
+    void of_whenRetentionZero_thenNothingArchived() {
+        BookingPartitionPlan plan = BookingPartitionPlan.of(
+                List.of(YearMonth.of(2000, 1), CURRENT), List.of(), CURRENT, 0, Period.ZERO);
+
+        assertTrue(plan.isEmpty());
+    }
+
+    @Test
+    void partition_whenNamed_thenBoundsCoverWholeMonth() {
+        BookingPartition partition = BookingPartition.of(YearMonth.of(2026, 12));
+
+        assertEquals("bookings_p202612", partition.getTableName());
+        assertEquals(LocalDateTime.of(2026, 12, 1, 0, 0), partition.getFrom());
+        assertEquals(LocalDateTime.of(2027, 1, 1, 0, 0), partition.getTo());
+        assertEquals(Optional.of(partition), BookingPartition.parse("bookings_p202612"));
+        assertEquals(Optional.empty(), BookingPartition.parse("bookings_default"));
+    }
+}
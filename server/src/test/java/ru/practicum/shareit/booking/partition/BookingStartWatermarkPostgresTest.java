@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking.partition;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs against the PostgreSQL instance in SHAREIT_TEST_POSTGRES_URL, in a throwaway schema.
+@EnabledIfEnvironmentVariable(named = "SHAREIT_TEST_POSTGRES_URL", matches = ".+")
+class BookingStartWatermarkPostgresTest {
+
+    private static final String JANUARY_2020 = BookingPartition.of(YearMonth.of(2020, 1)).getTableName();
+    private static final String MIN_START_QUERY = "select min(start_date) from bookings where end_date > ?";
+
+    private final String schema = "watermark_" + UUID.randomUUID().toString().replace("-", "");
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new SingleConnectionDataSource(System.getenv("SHAREIT_TEST_POSTGRES_URL"),
+                System.getenv("POSTGRES_USER"), System.getenv("POSTGRES_PASSWORD"), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create schema " + schema);
+        jdbcTemplate.execute("set search_path to " + schema);
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema-postgresql.sql"));
+        }
+        jdbcTemplate.execute("create table " + JANUARY_2020 + " partition of bookings "
+                + "for values from ('2020-01-01') to ('2020-02-01')");
+        jdbcTemplate.update("insert into users (name, email) values ('owner', ?)", schema + "@mail.com");
+        jdbcTemplate.update("insert into items (name, description, available, owner_id) "
+                + "select 'Drill', 'description', true, id from users");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop schema " + schema + " cascade");
+        dataSource.destroy();
+    }
+
+    @Test
+    void findMinStartByEndAfter_whenMostBookingsFinished_thenReadsEndDateIndexOfEveryPartition() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) "
+                + "select timestamp '2020-01-01' + n * interval '1 minute', "
+                + "timestamp '2020-01-01' + n * interval '1 minute' + interval '1 day', i.id, i.owner_id, 'APPROVED' "
+                + "from items i, generate_series(0, 20000) n");
+        LocalDateTime ongoing = now.minusDays(2);
+        insertBooking(ongoing, now.plusDays(1));
+        insertBooking(now.plusDays(3), now.plusDays(4));
+        jdbcTemplate.execute("analyze bookings");
+
+        List<String> plan = jdbcTemplate.queryForList("explain " + MIN_START_QUERY, String.class,
+                Timestamp.valueOf(now));
+        LocalDateTime minStart = jdbcTemplate.queryForObject(MIN_START_QUERY, LocalDateTime.class,
+                Timestamp.valueOf(now));
+
+        String joined = String.join("\n", plan);
+        assertFalse(joined.contains("Seq Scan"), joined);
+        assertTrue(joined.contains(JANUARY_2020), joined);
+        assertTrue(joined.contains(BookingPartitionMaintainer.DEFAULT_PARTITION), joined);
+        assertEquals(ongoing, minStart);
+    }
+
+    private void insertBooking(LocalDateTime start, LocalDateTime end) {
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) "
+                        + "select ?, ?, id, owner_id, 'APPROVED' from items",
+                Timestamp.valueOf(start), Timestamp.valueOf(end));
+    }
+}
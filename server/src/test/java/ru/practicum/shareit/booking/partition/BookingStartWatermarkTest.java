@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking.partition;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingStartWatermarkTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingStartWatermark watermark;
+
+    @BeforeEach
+    void setUp() {
+        watermark = new BookingStartWatermark(bookingRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getLowerBound_beforeRefresh_thenNoLowerBound() {
+        assertEquals(BookingStartWatermark.NO_LOWER_BOUND, watermark.getLowerBound());
+    }
+
+    @Test
+    void refresh_whenUnfinishedBookingsExist_thenEarliestStartUsed() {
+        LocalDateTime earliest = LocalDateTime.now().minusDays(3);
+        when(bookingRepository.findMinStartByEndAfter(any())).thenReturn(earliest);
+
+        watermark.refresh();
+
+        assertEquals(earliest, watermark.getLowerBound());
+    }
+
+    @Test
+    void refresh_whenNoUnfinishedBookings_thenRefreshTimeUsed() {
+        LocalDateTime before = LocalDateTime.now();
+        when(bookingRepository.findMinStartByEndAfter(any())).thenReturn(null);
+
+        watermark.refresh();
+
+        assertFalse(watermark.getLowerBound().isBefore(before));
+        assertFalse(watermark.getLowerBound().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void refresh_whenQueryFails_thenPreviousBoundKept() {
+        when(bookingRepository.findMinStartByEndAfter(any())).thenThrow(new IllegalStateException("down"));
+
+        watermark.refresh();
+
+        assertEquals(BookingStartWatermark.NO_LOWER_BOUND, watermark.getLowerBound());
+    }
+
+    @Test
+    void registerAfterCommit_withTransaction_thenLoweredOnlyAfterCommit() {
+        LocalDateTime refreshed = LocalDateTime.now().minusDays(1);
+        LocalDateTime backdated = refreshed.minusDays(5);
+        when(bookingRepository.findMinStartByEndAfter(any())).thenReturn(refreshed);
+        watermark.refresh();
+        TransactionSynchronizationManager.initSynchronization();
+
+        watermark.registerAfterCommit(backdated);
+
+        assertEquals(refreshed, watermark.getLowerBound());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(backdated, watermark.getLowerBound());
+    }
+
+    @Test
+    void refresh_whenBookingCommittedDuringRefresh_thenCommittedStartNotLost() {
+        LocalDateTime refreshed = LocalDateTime.now().minusDays(1);
+        LocalDateTime backdated = refreshed.minusDays(5);
+        when(bookingRepository.findMinStartByEndAfter(any())).thenAnswer(invocation -> {
+            watermark.registerAfterCommit(backdated);
+            return refreshed;
+        });
+
+        watermark.refresh();
+
+        assertEquals(backdated, watermark.getLowerBound());
+        assertTrue(watermark.getLowerBound().isBefore(refreshed));
+    }
+}
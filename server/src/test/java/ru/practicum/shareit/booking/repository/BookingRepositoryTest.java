@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
@@ -38,45 +39,6 @@ class BookingRepositoryTest {
     @Autowired
     private TestEntityManager entityManager;
 
-    @Test
-    void findByBookerId() {
-        Booking booking = getBooking();
-        Booking savedBooking = entityManager.persistAndFlush(booking);
-        List<Booking> expectedBookings = List.of(savedBooking);
-
-        List<Booking> actualBookings = bookingRepository.findByBookerId(1L, PAGE_REQUEST).getContent();
-
-        assertEquals(expectedBookings, actualBookings);
-    }
-
-    @Test
-    void findByBookerIdAndStartIsBeforeAndEndIsAfter() {
-        Booking booking = getBooking();
-        booking.setStart(LocalDateTime.now().minusDays(1L));
-        booking.setEnd(LocalDateTime.now().plusDays(1L));
-        Booking savedBooking = entityManager.persistAndFlush(booking);
-        List<Booking> expectedBookings = List.of(savedBooking);
-
-        List<Booking> actualBookings = bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfter(
-                1L, LocalDateTime.now(), LocalDateTime.now(), PAGE_REQUEST).getContent();
-
-        assertEquals(expectedBookings, actualBookings);
-    }
-
-    @Test
-    void findByBookerIdAndStartIsAfterAndEndIsAfter() {
-        Booking booking = getBooking();
-        booking.setStart(LocalDateTime.now().plusDays(1L));
-        booking.setEnd(LocalDateTime.now().plusDays(2L));
-        Booking savedBooking = entityManager.persistAndFlush(booking);
-        List<Booking> expectedBookings = List.of(savedBooking);
-
-        List<Booking> actualBookings = bookingRepository.findByBookerIdAndStartIsAfterAndEndIsAfter(
-                1L, LocalDateTime.now(), LocalDateTime.now(), PAGE_REQUEST).getContent();
-
-        assertEquals(expectedBookings, actualBookings);
-    }
-
     @Test
     void findByBookerIdAndStartIsBeforeAndEndIsBefore() {
         Booking booking = getBooking();
@@ -91,58 +53,6 @@ class BookingRepositoryTest {
         assertEquals(expectedBookings, actualBookings);
     }
 
-    @Test
-    void findByBookerIdAndStatusIs() {
-        Booking booking = getBooking();
-        booking.setStatus(Status.REJECTED);
-        Booking savedBooking = entityManager.persistAndFlush(booking);
-        List<Booking> expectedBookings = List.of(savedBooking);
-
-        List<Booking> actualBookings = bookingRepository.findByBookerIdAndStatusIs(
-                1L, Status.REJECTED, PAGE_REQUEST).getContent();
-
-        assertEquals(expectedBookings, actualBookings);
-    }
-
-    @Test
-    void findByItemOwnerId() {
-        Booking booking = getBooking();
-        Booking savedBooking = entityManager.persistAndFlush(booking);
-        List<Booking> expectedBookings = List.of(savedBooking);
-
-        List<Booking> actualBookings = bookingRepository.findByItemOwnerId(2L, PAGE_REQUEST).getContent();
-
-        assertEquals(expectedBookings, actualBookings);
-    }
-
-    @Test
-    void findByItemOwnerIdAndStartIsBeforeAndEndIsAfter() {
-        Booking booking = getBooking();
-        booking.setStart(LocalDateTime.now().minusDays(1L));
-        booking.setEnd(LocalDateTime.now().plusDays(1L));
-        Booking savedBooking = entityManager.persistAndFlush(booking);
-        List<Booking> expectedBookings = List.of(savedBooking);
-
-        List<Booking> actualBookings = bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
-                2L, LocalDateTime.now(), LocalDateTime.now(), PAGE_REQUEST).getContent();
-
-        assertEquals(expectedBookings, actualBookings);
-    }
-
-    @Test
-    void findByItemOwnerIdAndStartIsAfterAndEndIsAfter() {
-        Booking booking = getBooking();
-        booking.setStart(LocalDateTime.now().plusDays(1L));
-        booking.setEnd(LocalDateTime.now().plusDays(2L));
-        Booking savedBooking = entityManager.persistAndFlush(booking);
-        List<Booking> expectedBookings = List.of(savedBooking);
-
-        List<Booking> actualBookings = bookingRepository.findByItemOwnerIdAndStartIsAfterAndEndIsAfter(
-                2L, LocalDateTime.now(), LocalDateTime.now(), PAGE_REQUEST).getContent();
-
-        assertEquals(expectedBookings, actualBookings);
-    }
-
     @Test
     void findByItemOwnerIdAndStartIsBeforeAndEndIsBefore() {
         Booking booking = getBooking();
@@ -157,19 +67,6 @@ class BookingRepositoryTest {
         assertEquals(expectedBookings, actualBookings);
     }
 
-    @Test
-    void findByItemOwnerIdAndStatusIs() {
-        Booking booking = getBooking();
-        booking.setStatus(Status.REJECTED);
-        Booking savedBooking = entityManager.persistAndFlush(booking);
-        List<Booking> expectedBookings = List.of(savedBooking);
-
-        List<Booking> actualBookings = bookingRepository.findByItemOwnerIdAndStatusIs(
-                2L, Status.REJECTED, PAGE_REQUEST).getContent();
-
-        assertEquals(expectedBookings, actualBookings);
-    }
-
     @Test
     void findFirstByItemIdAndStartLessThanEqual() {
         Booking booking = getBooking();
@@ -240,6 +137,22 @@ class BookingRepositoryTest {
         assertEquals(expectedBookings, actualBookings);
     }
 
+    @Test
+    void findMinStartByEndAfter() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Booking past = getBooking();
+        past.setStart(now.minusDays(10L));
+        past.setEnd(now.minusDays(9L));
+        entityManager.persist(past);
+        Booking current = getBooking();
+        current.setStart(now.minusDays(3L));
+        current.setEnd(now.plusDays(1L));
+        entityManager.persistAndFlush(current);
+
+        assertEquals(now.minusDays(3L), bookingRepository.findMinStartByEndAfter(now));
+        assertNull(bookingRepository.findMinStartByEndAfter(now.plusDays(2L)));
+    }
+
     private Booking getBooking() {
         Booking booking = new Booking();
         booking.setStart(LocalDateTime.now());
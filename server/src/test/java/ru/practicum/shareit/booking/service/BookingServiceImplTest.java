@@ -11,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.archive.BookingArchive;
 import ru.practicum.shareit.booking.controller.BookingState;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
@@ -18,16 +19,21 @@ import ru.practicum.shareit.booking.dto.GetBookingRequest;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.partition.BookingStartWatermark;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.booking.view.BookingView;
+import ru.practicum.shareit.booking.view.BookingViewRepository;
 import ru.practicum.shareit.exception.BookingStatusException;
 import ru.practicum.shareit.exception.ItemUnavailableException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.DomainEventOutbox;
+import ru.practicum.shareit.outbox.DomainEventType;
+import ru.practicum.shareit.resolver.EntityResolver;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
@@ -48,11 +54,19 @@ class BookingServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
     @Mock
-    private ItemRepository itemRepository;
+    private BookingViewRepository bookingViewRepository;
     @Mock
-    private UserRepository userRepository;
+    private EntityResolver entityResolver;
     @Mock
     private UserService userService;
+    @Mock
+    private BookingStartWatermark bookingStartWatermark;
+    @Mock
+    private BookingArchive bookingArchive;
+    @Mock
+    private BookingTimelineCache bookingTimelineCache;
+    @Mock
+    private DomainEventOutbox domainEventOutbox;
     @Spy
     @InjectMocks
     private BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
@@ -74,8 +88,8 @@ class BookingServiceImplTest {
         bookingToSave.setId(1L);
         bookingToSave.setItem(expectedItem);
         bookingToSave.setBooker(expectedUser);
-        when(itemRepository.findById(createBookingDto.getItemId())).thenReturn(Optional.of(expectedItem));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(expectedUser));
+        when(entityResolver.getItem(createBookingDto.getItemId())).thenReturn(expectedItem);
+        when(entityResolver.getUser(userId)).thenReturn(expectedUser);
         doAnswer(invocationOnMock -> {
             Booking booking = invocationOnMock.getArgument(0, Booking.class);
             booking.setId(1L);
@@ -90,13 +104,15 @@ class BookingServiceImplTest {
         verify(bookingRepository).save(bookingArgumentCaptor.capture());
         Booking savedBooking = bookingArgumentCaptor.getValue();
         assertEquals(bookingToSave, savedBooking);
+        verify(bookingStartWatermark).registerAfterCommit(savedBooking.getStart());
+        verify(domainEventOutbox).append(DomainEventType.BOOKING_CREATED, 1L, actualBookingDto);
     }
 
     @Test
     void create_whenItemNotFound_thenNotFoundExceptionThrown() {
         Long userId = 2L;
         CreateBookingDto createBookingDto = getCreateBookingDto();
-        when(itemRepository.findById(createBookingDto.getItemId())).thenReturn(Optional.empty());
+        when(entityResolver.getItem(createBookingDto.getItemId())).thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> bookingService.create(createBookingDto, userId));
@@ -108,7 +124,7 @@ class BookingServiceImplTest {
         Long userId = 1L;
         CreateBookingDto createBookingDto = getCreateBookingDto();
         Item item = getItem();
-        when(itemRepository.findById(createBookingDto.getItemId())).thenReturn(Optional.of(item));
+        when(entityResolver.getItem(createBookingDto.getItemId())).thenReturn(item);
 
         assertThrows(NotFoundException.class,
                 () -> bookingService.create(createBookingDto, userId));
@@ -121,7 +137,7 @@ class BookingServiceImplTest {
         CreateBookingDto createBookingDto = getCreateBookingDto();
         Item item = getItem();
         item.setAvailable(Boolean.FALSE);
-        when(itemRepository.findById(createBookingDto.getItemId())).thenReturn(Optional.of(item));
+        when(entityResolver.getItem(createBookingDto.getItemId())).thenReturn(item);
 
         assertThrows(ItemUnavailableException.class,
                 () -> bookingService.create(createBookingDto, userId));
@@ -133,8 +149,8 @@ class BookingServiceImplTest {
         Long userId = 0L;
         CreateBookingDto createBookingDto = getCreateBookingDto();
         Item item = getItem();
-        when(itemRepository.findById(createBookingDto.getItemId())).thenReturn(Optional.of(item));
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(entityResolver.getItem(createBookingDto.getItemId())).thenReturn(item);
+        when(entityResolver.getUser(userId)).thenThrow(NotFoundException.class);
 
 
         assertThrows(NotFoundException.class,
@@ -257,21 +273,21 @@ class BookingServiceImplTest {
         Long userId = request.getUserId();
         request.setState(state);
         Booking booking = getBooking();
-        List<Booking> bookings = List.of(booking);
-        List<BookingDto> expectedDtos = bookingMapper.toBookingDtoList(bookings);
+        List<BookingView> views = List.of(getBookingView(booking));
+        List<BookingDto> expectedDtos = bookingMapper.toBookingDtoList(List.of(booking));
         PageRequest pageRequest = PageRequest.of(
                 (request.getFrom() / request.getSize()), request.getSize(), SORT_BY_START_DESC);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Page<BookingView> page = new PageImpl<>(views);
         doNothing().when(userService).checkUserExist(userId);
-        lenient().when(bookingRepository.findByBookerId(userId, pageRequest)).thenReturn(page);
-        lenient().when(bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfter(
+        lenient().when(bookingViewRepository.findByBookerId(userId, pageRequest)).thenReturn(page);
+        lenient().when(bookingViewRepository.findByBookerIdAndStartGreaterThanEqualAndStartIsBeforeAndEndIsAfter(
+                eq(userId), any(), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageRequest))).thenReturn(page);
+        lenient().when(bookingViewRepository.findByBookerIdAndStartIsAfterAndEndIsAfter(
                 eq(userId), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageRequest))).thenReturn(page);
-        lenient().when(bookingRepository.findByBookerIdAndStartIsAfterAndEndIsAfter(
+        lenient().when(bookingViewRepository.findByBookerIdAndStartIsBeforeAndEndIsBefore(
                 eq(userId), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageRequest))).thenReturn(page);
-        lenient().when(bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsBefore(
-                eq(userId), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageRequest))).thenReturn(page);
-        lenient().when(bookingRepository.findByBookerIdAndStatusIs(userId, Status.WAITING, pageRequest)).thenReturn(page);
-        lenient().when(bookingRepository.findByBookerIdAndStatusIs(userId, Status.REJECTED, pageRequest)).thenReturn(page);
+        lenient().when(bookingViewRepository.findByBookerIdAndStatusIs(userId, Status.WAITING, pageRequest)).thenReturn(page);
+        lenient().when(bookingViewRepository.findByBookerIdAndStatusIs(userId, Status.REJECTED, pageRequest)).thenReturn(page);
 
         List<BookingDto> actualDtos = bookingService.getAllForUserByState(request);
 
@@ -285,21 +301,21 @@ class BookingServiceImplTest {
         Long userId = request.getUserId();
         request.setState(state);
         Booking booking = getBooking();
-        List<Booking> bookings = List.of(booking);
-        List<BookingDto> expectedDtos = bookingMapper.toBookingDtoList(bookings);
+        List<BookingView> views = List.of(getBookingView(booking));
+        List<BookingDto> expectedDtos = bookingMapper.toBookingDtoList(List.of(booking));
         PageRequest pageRequest = PageRequest.of(
                 (request.getFrom() / request.getSize()), request.getSize(), SORT_BY_START_DESC);
-        Page<Booking> page = new PageImpl<>(bookings);
+        Page<BookingView> page = new PageImpl<>(views);
         doNothing().when(userService).checkUserExist(userId);
-        lenient().when(bookingRepository.findByItemOwnerId(userId, pageRequest)).thenReturn(page);
-        lenient().when(bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
-                eq(userId), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageRequest))).thenReturn(page);
-        lenient().when(bookingRepository.findByItemOwnerIdAndStartIsAfterAndEndIsAfter(
+        lenient().when(bookingViewRepository.findByOwnerId(userId, pageRequest)).thenReturn(page);
+        lenient().when(bookingViewRepository.findByOwnerIdAndStartGreaterThanEqualAndStartIsBeforeAndEndIsAfter(
+                eq(userId), any(), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageRequest))).thenReturn(page);
+        lenient().when(bookingViewRepository.findByOwnerIdAndStartIsAfterAndEndIsAfter(
                 eq(userId), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageRequest))).thenReturn(page);
-        lenient().when(bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsBefore(
+        lenient().when(bookingViewRepository.findByOwnerIdAndStartIsBeforeAndEndIsBefore(
                 eq(userId), any(LocalDateTime.class), any(LocalDateTime.class), eq(pageRequest))).thenReturn(page);
-        lenient().when(bookingRepository.findByItemOwnerIdAndStatusIs(userId, Status.WAITING, pageRequest)).thenReturn(page);
-        lenient().when(bookingRepository.findByItemOwnerIdAndStatusIs(userId, Status.REJECTED, pageRequest)).thenReturn(page);
+        lenient().when(bookingViewRepository.findByOwnerIdAndStatusIs(userId, Status.WAITING, pageRequest)).thenReturn(page);
+        lenient().when(bookingViewRepository.findByOwnerIdAndStatusIs(userId, Status.REJECTED, pageRequest)).thenReturn(page);
 
         List<BookingDto> actualDtos = bookingService.getAllForOwnerByState(request);
 
@@ -339,6 +355,19 @@ class BookingServiceImplTest {
         return booking;
     }
 
+    BookingView getBookingView(Booking booking) {
+        BookingView view = new BookingView();
+        view.setId(booking.getId());
+        view.setStart(booking.getStart());
+        view.setEnd(booking.getEnd());
+        view.setStatus(booking.getStatus());
+        view.setItemId(booking.getItem().getId());
+        view.setItemAvailable(booking.getItem().getAvailable());
+        view.setBookerId(booking.getBooker().getId());
+        view.setOwnerId(booking.getItem().getOwner().getId());
+        return view;
+    }
+
     GetBookingRequest getBookingRequest() {
         GetBookingRequest request = new GetBookingRequest();
         request.setUserId(1L);
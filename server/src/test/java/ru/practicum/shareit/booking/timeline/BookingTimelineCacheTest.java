@@ -0,0 +1,98 @@
+package ru.practicum.shareit.booking.timeline;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingTimelineCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private long now;
+    private BookingTimelineCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BookingTimelineCache(bookingRepository, 100, TTL, () -> now);
+    }
+
+    @Test
+    void get_whenBookedElsewhereWithinTtl_thenCachedTimelineServed() {
+        when(bookingRepository.findTimelineEntries(any(), any())).thenReturn(List.of());
+        assertFalse(cache.get(1L).isBookedBetween(DAY, DAY.plusDays(1)));
+
+        now += TTL.toNanos() - 1;
+
+        assertFalse(cache.get(1L).isBookedBetween(DAY, DAY.plusDays(1)));
+        verify(bookingRepository, times(1)).findTimelineEntries(any(), any());
+    }
+
+    @Test
+    void get_whenTtlExpired_thenTimelineReloaded() {
+        when(bookingRepository.findTimelineEntries(any(), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(entry(1L, 10L, Status.APPROVED)));
+        cache.get(1L);
+
+        now += TTL.toNanos();
+
+        assertTrue(cache.get(1L).isBookedBetween(DAY, DAY.plusDays(1)));
+        verify(bookingRepository, times(2)).findTimelineEntries(any(), any());
+    }
+
+    @Test
+    void registerAfterCommit_whenApplied_thenExpiryNotExtended() {
+        when(bookingRepository.findTimelineEntries(any(), any())).thenReturn(List.of());
+        cache.get(1L);
+        now += TTL.toNanos() / 2;
+
+        cache.registerAfterCommit(booking(1L, 10L, Status.APPROVED));
+
+        assertTrue(cache.get(1L).isBookedBetween(DAY, DAY.plusDays(1)));
+        now += TTL.toNanos() / 2;
+        cache.get(1L);
+        verify(bookingRepository, times(2)).findTimelineEntries(any(), any());
+    }
+
+    private static BookingTimelineEntry entry(Long itemId, Long bookingId, Status status) {
+        BookingTimelineEntry entry = mock(BookingTimelineEntry.class);
+        lenient().when(entry.getItemId()).thenReturn(itemId);
+        when(entry.getId()).thenReturn(bookingId);
+        when(entry.getStart()).thenReturn(DAY);
+        when(entry.getEnd()).thenReturn(DAY.plusDays(1));
+        when(entry.getStatus()).thenReturn(status);
+        return entry;
+    }
+
+    private static Booking booking(Long itemId, Long bookingId, Status status) {
+        Item item = new Item();
+        item.setId(itemId);
+        Booking booking = new Booking();
+        booking.setId(bookingId);
+        booking.setItem(item);
+        booking.setStart(DAY);
+        booking.setEnd(DAY.plusDays(1));
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.booking.timeline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CreateItemDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.user.UserFixtures.newUserDto;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingTimelineIntegrationTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2031, 3, 1, 10, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingTimelineCache bookingTimelineCache;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(newUserDto("User"));
+        booker = userService.create(newUserDto("User"));
+        item = itemService.create(CreateItemDto.builder()
+                .name("Tent")
+                .description("Four person tent")
+                .available(true)
+                .build(), owner.getId());
+    }
+
+    @Test
+    void getCalendar_whenBookingsCreatedApprovedAndRejected_thenTimelineKeptUpToDate() {
+        BookingDto first = createBooking(DAY, DAY.plusDays(2));
+        createBooking(DAY.plusDays(2), DAY.plusDays(3));
+        BookingDto rejected = createBooking(DAY.plusDays(5), DAY.plusDays(6));
+        createBooking(DAY.plusDays(9), DAY.plusDays(12));
+        bookingService.setApprove(first.getId(), true, owner.getId());
+        bookingService.setApprove(rejected.getId(), false, owner.getId());
+        double misses = misses();
+
+        assertEquals(List.of(List.of(DAY, DAY.plusDays(3)), List.of(DAY.plusDays(9), DAY.plusDays(10))),
+                calendar(DAY.minusDays(1), DAY.plusDays(10)));
+        assertEquals(misses, misses());
+
+        bookingTimelineCache.clear();
+
+        assertEquals(List.of(List.of(DAY, DAY.plusDays(3)), List.of(DAY.plusDays(9), DAY.plusDays(10))),
+                calendar(DAY.minusDays(1), DAY.plusDays(10)));
+        assertEquals(misses + 1, misses());
+    }
+
+    @Test
+    void getCalendar_whenRequestedOverHttp_thenIntervalsAsPairs() throws Exception {
+        createBooking(DAY, DAY.plusDays(1));
+
+        mockMvc.perform(get("/items/{id}/calendar", item.getId())
+                        .param("from", DAY.minusDays(1).toString())
+                        .param("to", DAY.plusDays(7).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(item.getId()))
+                .andExpect(jsonPath("$.busy[0][0]").value("2031-03-01T10:00:00"))
+                .andExpect(jsonPath("$.busy[0][1]").value("2031-03-02T10:00:00"));
+        mockMvc.perform(get("/items/{id}/calendar", Long.MAX_VALUE)
+                        .param("from", DAY.toString())
+                        .param("to", DAY.plusDays(1).toString()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void searchItems_whenWindowGiven_thenApprovedOverlapExcludedAndLoadsNotCached() {
+        String token = UUID.randomUUID().toString();
+        ItemDto booked = createItem(token, true);
+        ItemDto waiting = createItem(token, true);
+        ItemDto free = createItem(token, true);
+        createItem(token, false);
+        bookingService.setApprove(createBooking(booked, DAY, DAY.plusDays(2)).getId(), true, owner.getId());
+        createBooking(waiting, DAY, DAY.plusDays(2));
+        createBooking(free, DAY.plusDays(2), DAY.plusDays(3));
+        bookingTimelineCache.clear();
+        double misses = misses();
+
+        assertEquals(List.of(waiting.getId(), free.getId()), search(token, DAY.plusDays(1), DAY.plusDays(2)));
+        assertEquals(misses + 3, misses());
+        assertEquals(0, bookingTimelineCache.size());
+        assertEquals(List.of(booked.getId(), waiting.getId(), free.getId()), search(token, null, null));
+        assertEquals(misses + 3, misses());
+
+        itemService.getCalendar(booked.getId(), DAY, DAY.plusDays(1));
+
+        assertEquals(List.of(booked.getId(), waiting.getId(), free.getId()),
+                search(token, DAY.plusDays(2), DAY.plusDays(4)));
+        assertEquals(misses + 6, misses());
+        assertEquals(1, bookingTimelineCache.size());
+    }
+
+    private List<Long> search(String text, LocalDateTime start, LocalDateTime end) {
+        return itemService.searchItems(text, start, end).stream()
+                .map(ItemDto::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private ItemDto createItem(String name, boolean available) {
+        return itemService.create(CreateItemDto.builder()
+                .name(name)
+                .description("Drill")
+                .available(available)
+                .build(), owner.getId());
+    }
+
+    private List<List<LocalDateTime>> calendar(LocalDateTime from, LocalDateTime to) {
+        return itemService.getCalendar(item.getId(), from, to).getBusy();
+    }
+
+    private double misses() {
+        return meterRegistry.get("shareit.booking.timeline.requests").tag("result", "miss").counter().count();
+    }
+
+    private BookingDto createBooking(LocalDateTime start, LocalDateTime end) {
+        return createBooking(item, start, end);
+    }
+
+    private BookingDto createBooking(ItemDto item, LocalDateTime start, LocalDateTime end) {
+        CreateBookingDto dto = new CreateBookingDto();
+        dto.setItemId(item.getId());
+        dto.setStart(start);
+        dto.setEnd(end);
+        return bookingService.create(dto, booker.getId());
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking.timeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemTimelineTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void busy_whenIntervalsOverlapOrTouch_thenMerged() {
+        ItemTimeline timeline = ItemTimeline.EMPTY
+                .with(1, day(5), day(7), true)
+                .with(2, day(1), day(3), false)
+                .with(3, day(2), day(4), true)
+                .with(4, day(4), day(5), false)
+                .with(5, day(10), day(11), true);
+
+        assertEquals(List.of(List.of(day(1), day(7)), List.of(day(10), day(11))), timeline.busy(day(0), day(20)));
+    }
+
+    @Test
+    void busy_whenLongIntervalStartsEarly_thenFoundAndClippedToWindow() {
+        ItemTimeline timeline = ItemTimeline.EMPTY
+                .with(1, day(1), day(30), true)
+                .with(2, day(2), day(3), false)
+                .with(3, day(40), day(41), false);
+
+        assertEquals(List.of(List.of(day(10), day(12))), timeline.busy(day(10), day(12)));
+        assertTrue(timeline.busy(day(30), day(40)).isEmpty());
+        assertTrue(timeline.busy(day(12), day(10)).isEmpty());
+    }
+
+    @Test
+    void isBookedBetween_whenApprovedBookingOverlaps_thenTrue() {
+        ItemTimeline timeline = ItemTimeline.EMPTY
+                .with(1, day(1), day(30), true)
+                .with(2, day(31), day(33), false)
+                .with(3, day(40), day(41), true);
+
+        assertTrue(timeline.isBookedBetween(day(10), day(12)));
+        assertTrue(timeline.isBookedBetween(day(39), day(42)));
+        assertFalse(timeline.isBookedBetween(day(30), day(40)));
+        assertFalse(timeline.isBookedBetween(day(32), day(33)));
+        assertFalse(ItemTimeline.EMPTY.isBookedBetween(day(0), day(50)));
+    }
+
+    @Test
+    void with_whenBookingReplacedOrRemoved_thenTimelineUpdated() {
+        ItemTimeline timeline = ItemTimeline.EMPTY
+                .with(1, day(1), day(2), false)
+                .with(2, day(3), day(4), false)
+                .with(1, day(5), day(6), true);
+
+        assertEquals(2, timeline.size());
+        assertEquals(List.of(List.of(day(3), day(4)), List.of(day(5), day(6))), timeline.busy(day(0), day(10)));
+        assertEquals(List.of(List.of(day(5), day(6))), timeline.without(2).busy(day(0), day(10)));
+        assertSame(timeline, timeline.without(42));
+    }
+
+    @Test
+    void with_whenSubSecondBounds_thenIntervalWidenedToWholeSeconds() {
+        ItemTimeline timeline = ItemTimeline.EMPTY
+                .with(1, day(1).plusNanos(500_000_000), day(2).plusNanos(1), true);
+
+        assertEquals(List.of(List.of(day(1), day(2).plusSeconds(1))), timeline.busy(day(0), day(3)));
+    }
+
+    private static LocalDateTime day(int day) {
+        return DAY.plusDays(day);
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking.view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.GetBookingRequest;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CreateItemDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.PatchItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.user.UserFixtures.newUserDto;
+
+@SpringBootTest
+class BookingViewIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingViewRepository bookingViewRepository;
+
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(newUserDto("Owner"));
+        booker = userService.create(newUserDto("Booker"));
+        item = itemService.create(CreateItemDto.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .build(), owner.getId());
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @Test
+    void getAllByState_whenBookingsCreatedAndApproved_thenServedFromView() {
+        BookingDto past = createBooking(now.minusDays(3), now.minusDays(2));
+        BookingDto current = createBooking(now.minusDays(1), now.plusDays(1));
+        BookingDto future = createBooking(now.plusDays(2), now.plusDays(3));
+        BookingDto rejected = createBooking(now.plusDays(4), now.plusDays(5));
+        bookingService.setApprove(current.getId(), true, owner.getId());
+        bookingService.setApprove(rejected.getId(), false, owner.getId());
+
+        for (boolean forOwner : new boolean[]{false, true}) {
+            assertEquals(List.of(rejected.getId(), future.getId(), current.getId(), past.getId()),
+                    ids(BookingState.ALL, forOwner));
+            assertEquals(List.of(current.getId()), ids(BookingState.CURRENT, forOwner));
+            assertEquals(List.of(rejected.getId(), future.getId()), ids(BookingState.FUTURE, forOwner));
+            assertEquals(List.of(past.getId()), ids(BookingState.PAST, forOwner));
+            assertEquals(List.of(future.getId(), past.getId()), ids(BookingState.WAITING, forOwner));
+            assertEquals(List.of(rejected.getId()), ids(BookingState.REJECTED, forOwner));
+        }
+        BookingDto listed = list(BookingState.CURRENT, false).get(0);
+        assertEquals(bookingService.getById(current.getId(), booker.getId()), listed);
+        assertEquals(Status.APPROVED, listed.getStatus());
+    }
+
+    @Test
+    void getAllByState_whenItemAndBookerChanged_thenViewUpdated() {
+        BookingDto booking = createBooking(now.plusDays(1), now.plusDays(2));
+
+        itemService.patch(PatchItemDto.builder().id(item.getId()).name("Hammer drill").available(false).build(),
+                owner.getId());
+        booker.setName("Renamed");
+        userService.patch(booker);
+
+        BookingDto listed = list(BookingState.ALL, true).get(0);
+        assertEquals(booking.getId(), listed.getId());
+        assertEquals("Hammer drill", listed.getItem().getName());
+        assertEquals("Cordless drill", listed.getItem().getDescription());
+        assertEquals(false, listed.getItem().getAvailable());
+        assertEquals("Renamed", listed.getBooker().getName());
+        assertEquals(booker.getEmail(), listed.getBooker().getEmail());
+    }
+
+    @Test
+    void deleteUser_whenBookerDeleted_thenViewRowsRemoved() {
+        BookingDto booking = createBooking(now.plusDays(1), now.plusDays(2));
+
+        userService.deleteById(booker.getId());
+
+        assertTrue(bookingViewRepository.findById(booking.getId()).isEmpty());
+        assertTrue(list(BookingState.ALL, true).isEmpty());
+    }
+
+    private BookingDto createBooking(LocalDateTime start, LocalDateTime end) {
+        CreateBookingDto dto = new CreateBookingDto();
+        dto.setItemId(item.getId());
+        dto.setStart(start);
+        dto.setEnd(end);
+        return bookingService.create(dto, booker.getId());
+    }
+
+    private List<BookingDto> list(BookingState state, boolean forOwner) {
+        GetBookingRequest request = GetBookingRequest.of(forOwner ? owner.getId() : booker.getId(), state, 0, 10);
+        return forOwner
+                ? bookingService.getAllForOwnerByState(request)
+                : bookingService.getAllForUserByState(request);
+    }
+
+    private List<Long> ids(BookingState state, boolean forOwner) {
+        return list(state, forOwner).stream().map(BookingDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.bulk;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit.bulk-load.enabled=true",
+        "shareit.bulk-load.chunk-size=2"})
+@AutoConfigureMockMvc
+class BulkLoadIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String domain;
+
+    @BeforeEach
+    void setUp() {
+        domain = "@" + UUID.randomUUID() + ".com";
+    }
+
+    @Test
+    void load_whenUsersRepeatEmails_thenDedupedAcrossChunks() throws Exception {
+        load("users", "name,email\n"
+                + "Anna,anna" + domain + "\n"
+                + "\"Boris, Jr.\",boris" + domain + "\n"
+                + "Anna again,anna" + domain + "\n")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(3))
+                .andExpect(jsonPath("$.loaded").value(2))
+                .andExpect(jsonPath("$.skipped").value(1))
+                .andExpect(jsonPath("$.chunks").value(2));
+
+        assertEquals(List.of("Anna", "Boris, Jr."), jdbcTemplate.queryForList(
+                "select name from users where email like ? order by email", String.class, "%" + domain));
+    }
+
+    @Test
+    void load_whenItemsAndBookingsReferenceUnknownRows_thenSkippedAndRestVisibleInView() throws Exception {
+        load("users", "name,email\nOwner,owner" + domain + "\nBooker,booker" + domain + "\n")
+                .andExpect(status().isOk());
+        load("items", "name,description,available,owner_email,request_id\n"
+                + "Drill,\"Cordless \"\"pro\"\" drill\",true,owner" + domain + ",\n"
+                + "Saw,,false,nobody" + domain + ",\n"
+                + "Ladder,Tall,true,owner" + domain + ",999999999\n")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loaded").value(1))
+                .andExpect(jsonPath("$.skipped").value(2));
+        Long itemId = jdbcTemplate.queryForObject("select i.id from items i join users u on u.id = i.owner_id "
+                + "where u.email = ?", Long.class, "owner" + domain);
+        assertEquals("Cordless \"pro\" drill", jdbcTemplate.queryForObject(
+                "select description from items where id = ?", String.class, itemId));
+
+        load("bookings", "start_date,end_date,item_id,booker_email,status\n"
+                + "2030-01-01 10:00:00,2030-01-02T10:00:00," + itemId + ",booker" + domain + ",APPROVED\n"
+                + "2030-02-01 10:00:00,2030-02-02 10:00:00," + itemId + ",owner" + domain + ",WAITING\n"
+                + "2030-03-01 10:00:00,2030-03-02 10:00:00,999999999,booker" + domain + ",WAITING\n")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loaded").value(1))
+                .andExpect(jsonPath("$.skipped").value(2));
+
+        assertEquals(List.of("APPROVED:Drill:booker" + domain), jdbcTemplate.queryForList(
+                "select status || ':' || item_name || ':' || booker_email from booking_view where item_id = ?",
+                String.class, itemId));
+    }
+
+    @Test
+    void load_whenHeaderOrValueInvalid_thenBadRequest() throws Exception {
+        load("users", "email,name\nx" + domain + ",X\n")
+                .andExpect(status().isBadRequest());
+        load("items", "name,description,available,owner_email,request_id\nDrill,,maybe,x" + domain + ",\n")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid available 'maybe' in row 2"));
+        load("comments", "text\n")
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions load(String table, String csv) throws Exception {
+        return mockMvc.perform(post("/bulk/{table}", table)
+                .contentType("text/csv")
+                .content(csv));
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.user.UserFixtures.newUser;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SecondLevelCacheIntegrationTest {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String ITEM_REGION = Item.class.getName();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private UserIdRegistry userIdRegistry;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User requester;
+    private ItemRequest request;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(newUser("owner"));
+        requester = userRepository.save(newUser("requester"));
+        request = new ItemRequest();
+        request.setDescription("request");
+        request.setRequester(requester);
+        itemRequestRepository.save(request);
+        item = itemRepository.save(Item.builder()
+                .name("Item")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build());
+        userIdRegistry.rebuild();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findById_whenItemPatched_thenUpdatedValueRead() throws Exception {
+        itemRepository.findById(item.getId());
+
+        mockMvc.perform(patch("/items/{id}", item.getId())
+                        .header(USER_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Patched\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals("Patched", itemRepository.findById(item.getId()).orElseThrow().getName());
+        mockMvc.perform(get("/items/{id}", item.getId()).header(USER_HEADER, requester.getId()))
+                .andExpect(jsonPath("$.name").value("Patched"));
+    }
+
+    @Test
+    void findById_whenOwnerDeleted_thenCascadedRowsNotReadFromCache() throws Exception {
+        Item answer = itemRepository.save(Item.builder()
+                .name("Answer")
+                .description("description")
+                .available(true)
+                .owner(userRepository.save(newUser("another owner")))
+                .request(request)
+                .build());
+        itemRepository.findById(item.getId());
+        itemRequestRepository.findById(request.getId());
+        assertEquals(2, itemRepository.findAllByRequestId(request.getId()).size());
+
+        mockMvc.perform(delete("/users/{id}", owner.getId())).andExpect(status().isOk());
+        mockMvc.perform(delete("/users/{id}", requester.getId())).andExpect(status().isOk());
+
+        assertTrue(itemRepository.findById(item.getId()).isEmpty());
+        assertTrue(itemRepository.findById(answer.getId()).isEmpty());
+        assertTrue(itemRequestRepository.findById(request.getId()).isEmpty());
+        assertTrue(itemRepository.findAllByRequestId(request.getId()).isEmpty());
+    }
+
+    @Test
+    void metrics_whenStatisticsEnabled_thenCacheMetricsExposed() throws Exception {
+        itemRepository.findById(item.getId());
+
+        mockMvc.perform(get("/actuator/metrics/hibernate.second.level.cache.requests")
+                        .param("tag", "region:" + ITEM_REGION))
+                .andExpect(status().isOk());
+    }
+}
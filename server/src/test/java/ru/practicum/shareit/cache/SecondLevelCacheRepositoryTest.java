@@ -0,0 +1,92 @@
+package ru.practicum.shareit.cache;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.user.UserFixtures.newUser;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheRepositoryTest {
+
+    private static final String ITEM_REGION = Item.class.getName();
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private ItemRequest request;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(newUser("owner"));
+        request = new ItemRequest();
+        request.setDescription("request");
+        request.setRequester(userRepository.save(newUser("requester")));
+        itemRequestRepository.save(request);
+        item = itemRepository.save(newItem(owner));
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAllInBatch();
+        itemRequestRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void findById_whenReadTwice_thenSecondReadServedFromCache() {
+        itemRepository.findById(item.getId());
+        itemRepository.findById(item.getId());
+
+        assertEquals(1, statistics.getDomainDataRegionStatistics(ITEM_REGION).getMissCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(ITEM_REGION).getHitCount());
+    }
+
+    @Test
+    void findAllByRequestId_whenRepeated_thenServedFromQueryCacheUntilItemsChange() {
+        assertEquals(1, itemRepository.findAllByRequestId(request.getId()).size());
+        assertEquals(1, itemRepository.findAllByRequestId(request.getId()).size());
+        assertEquals(1, statistics.getQueryRegionStatistics(ItemRepository.ITEM_BY_REQUEST_REGION).getHitCount());
+
+        itemRepository.save(newItem(userRepository.save(newUser("another owner"))));
+
+        assertEquals(2, itemRepository.findAllByRequestId(request.getId()).size());
+    }
+
+    private Item newItem(User owner) {
+        return Item.builder()
+                .name("Item")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build();
+    }
+}
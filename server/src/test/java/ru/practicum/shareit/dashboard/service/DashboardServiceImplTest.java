@@ -0,0 +1,104 @@
+package ru.practicum.shareit.dashboard.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.GetBookingRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.dashboard.dto.DashboardDto;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.tracing.Tracer;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+    @Mock
+    private UserService userService;
+    @Mock
+    private ItemService itemService;
+    @Mock
+    private BookingService bookingService;
+    @Mock
+    private ItemRequestService itemRequestService;
+
+    private DashboardServiceImpl dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = new DashboardServiceImpl(userService, itemService, bookingService, itemRequestService,
+                new Tracer(span -> {
+                }), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.shutdown();
+    }
+
+    @Test
+    void getDashboard_whenUserFound_thenSubQueriesMerged() {
+        Long userId = 1L;
+        List<ItemDto> items = List.of(ItemDto.builder().id(1L).name("TestName").build());
+        BookingDto waiting = new BookingDto();
+        waiting.setId(1L);
+        BookingDto current = new BookingDto();
+        current.setId(2L);
+        BookingDto ownCurrent = new BookingDto();
+        ownCurrent.setId(3L);
+        ItemRequestDto request = new ItemRequestDto();
+        request.setId(1L);
+        when(itemService.getByOwnerId(userId)).thenReturn(items);
+        when(bookingService.getAllForOwnerByState(GetBookingRequest.of(userId, BookingState.WAITING, 0, 10)))
+                .thenReturn(List.of(waiting));
+        when(bookingService.getAllForOwnerByState(GetBookingRequest.of(userId, BookingState.CURRENT, 0, 10)))
+                .thenReturn(List.of(current));
+        when(bookingService.getAllForUserByState(GetBookingRequest.of(userId, BookingState.CURRENT, 0, 10)))
+                .thenReturn(List.of(ownCurrent));
+        when(itemRequestService.getAll(userId, 0, 10)).thenReturn(List.of(request));
+
+        DashboardDto dashboard = dashboardService.getDashboard(userId, 0, 10);
+
+        assertEquals(userId, dashboard.getUserId());
+        assertEquals(items, dashboard.getItems());
+        assertEquals(List.of(waiting), dashboard.getWaitingBookings());
+        assertEquals(List.of(current), dashboard.getCurrentBookings());
+        assertEquals(List.of(ownCurrent), dashboard.getOwnCurrentBookings());
+        assertEquals(List.of(request), dashboard.getRequests());
+    }
+
+    @Test
+    void getDashboard_whenUserNotFound_thenNotFoundExceptionThrown() {
+        Long userId = 0L;
+        doThrow(new NotFoundException("User with id " + userId + " not found"))
+                .when(userService).checkUserExist(userId);
+
+        assertThrows(NotFoundException.class,
+                () -> dashboardService.getDashboard(userId, 0, 10));
+        verifyNoInteractions(itemService, bookingService, itemRequestService);
+    }
+
+    @Test
+    void getDashboard_whenSubQueryFails_thenItsExceptionRethrown() {
+        Long userId = 1L;
+        when(itemService.getByOwnerId(userId)).thenThrow(new NotFoundException("Not found"));
+
+        assertThrows(NotFoundException.class,
+                () -> dashboardService.getDashboard(userId, 0, 10));
+    }
+}
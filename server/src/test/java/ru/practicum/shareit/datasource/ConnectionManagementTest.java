@@ -0,0 +1,94 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.QueryTimeoutException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConnectionManagementTest {
+
+    private final StatementTimeoutTransactionManager transactionManager = new StatementTimeoutTransactionManager(
+            Map.of(QueryFamily.READ, Duration.ofSeconds(5),
+                    QueryFamily.WRITE, Duration.ofSeconds(10),
+                    QueryFamily.MAINTENANCE, Duration.ofMinutes(15)));
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setCurrentTransactionName(null);
+    }
+
+    @Test
+    void apply_whenProfileSelected_thenPoolSizedByProfile() {
+        HikariDataSource dataSource = new HikariDataSource();
+
+        ConnectionPoolProfile.apply(dataSource,
+                new MockEnvironment().withProperty("shareit.datasource.pool-profile", "burst"));
+
+        assertEquals(40, dataSource.getMaximumPoolSize());
+        assertEquals(10, dataSource.getMinimumIdle());
+    }
+
+    @Test
+    void apply_whenPoolSizeSetExplicitly_thenExplicitSizeKept() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(8);
+
+        ConnectionPoolProfile.apply(dataSource, new MockEnvironment()
+                .withProperty("shareit.datasource.pool-profile", "standard")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "8"));
+
+        assertEquals(8, dataSource.getMaximumPoolSize());
+        assertEquals(8, dataSource.getMinimumIdle());
+    }
+
+    @Test
+    void determineTimeout_whenTimeoutNotSet_thenTimeoutOfQueryFamilyUsed() {
+        DefaultTransactionDefinition read = new DefaultTransactionDefinition();
+        read.setReadOnly(true);
+        DefaultTransactionDefinition explicit = new DefaultTransactionDefinition();
+        explicit.setTimeout(2);
+        TransactionTemplate maintenance = QueryFamily.MAINTENANCE.apply(new TransactionTemplate(transactionManager));
+
+        assertEquals(5, transactionManager.determineTimeout(read));
+        assertEquals(10, transactionManager.determineTimeout(new DefaultTransactionDefinition()));
+        assertEquals(900, transactionManager.determineTimeout(maintenance));
+        assertEquals(2, transactionManager.determineTimeout(explicit));
+    }
+
+    @Test
+    void translateExceptionIfPossible_whenStatementTimedOut_thenCountedByFamily() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        StatementTimeoutMonitor monitor = new StatementTimeoutMonitor();
+        monitor.bindTo(registry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertNull(monitor.translateExceptionIfPossible(
+                new QueryTimeoutException(new SQLTimeoutException("canceling statement", "57014"))));
+        monitor.translateExceptionIfPossible(new IllegalStateException("unrelated"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setCurrentTransactionName("query-family:MAINTENANCE");
+        monitor.translateExceptionIfPossible(new QueryTimeoutException());
+
+        assertEquals(1, counter(registry, "read"));
+        assertEquals(0, counter(registry, "write"));
+        assertEquals(1, counter(registry, "maintenance"));
+    }
+
+    private static double counter(MeterRegistry registry, String family) {
+        return registry.get(StatementTimeoutMonitor.TIMEOUT_COUNTER).tag("family", family).counter().count();
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.user.UserFixtures.newUser;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "shareit.replica.enabled=true",
+        "shareit.replica.urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "shareit.replica.lag-query=select lag_seconds from replica_lag",
+        "shareit.replica.max-lag=PT1S",
+        "shareit.replica.read-your-writes-window=PT0.5S"
+})
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+    private static final long REPLICA_ONLY_USER_ID = 1_000_000L;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+    @Autowired
+    private UserIdRegistry userIdRegistry;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "test", "test");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replicaDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists replica_lag (lag_seconds double)");
+        replica.update("delete from replica_lag");
+        replica.update("insert into replica_lag values (0)");
+        replica.update("delete from users where id = ?", REPLICA_ONLY_USER_ID);
+        replica.update("insert into users (id, name, email) values (?, 'Replica', 'replica@mail.com')",
+                REPLICA_ONLY_USER_ID);
+        lagMonitor.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.setUserId(null);
+    }
+
+    @Test
+    void readOnlyTransaction_whenReplicaInSync_thenServedByReplica() {
+        assertEquals(1, lagMonitor.getAvailableReplicas().size());
+        assertTrue(findReplicaOnlyUser(true));
+        assertFalse(findReplicaOnlyUser(false));
+        assertTrue(meterRegistry.get(ReplicaRoutingDataSource.ROUTE_COUNTER)
+                .tags("target", "replica-1", "reason", "read")
+                .counter().count() > 0);
+    }
+
+    @Test
+    void readOnlyTransaction_whenReplicaLagsTooMuch_thenServedByPrimary() {
+        replica.update("update replica_lag set lag_seconds = 10");
+
+        lagMonitor.check();
+
+        assertTrue(lagMonitor.getAvailableReplicas().isEmpty());
+        assertFalse(findReplicaOnlyUser(true));
+    }
+
+    @Test
+    void readOnlyTransaction_whenReplicaUnreachable_thenServedByPrimary() {
+        replica.execute("drop table replica_lag");
+
+        lagMonitor.check();
+
+        assertTrue(lagMonitor.getAvailableReplicas().isEmpty());
+        assertFalse(findReplicaOnlyUser(true));
+    }
+
+    @Test
+    void readOnlyTransaction_whenUserWroteRecently_thenServedByPrimaryUntilWindowPasses() throws InterruptedException {
+        ReplicaRoutingContext.setUserId(42L);
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> userRepository.save(newUser("Writer")));
+
+        assertFalse(findReplicaOnlyUser(true));
+        ReplicaRoutingContext.setUserId(43L);
+        assertTrue(findReplicaOnlyUser(true));
+
+        ReplicaRoutingContext.setUserId(42L);
+        Thread.sleep(600);
+        assertTrue(findReplicaOnlyUser(true));
+    }
+
+    @Test
+    void rebuild_whenReplicaAvailable_thenUserIdsReadFromPrimary() {
+        userIdRegistry.rebuild();
+
+        assertFalse(userIdRegistry.contains(REPLICA_ONLY_USER_ID));
+    }
+
+    private boolean findReplicaOnlyUser(boolean readOnly) {
+        entityManagerFactory.getCache().evictAll();
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        Boolean found = template.execute(status -> userRepository.findById(REPLICA_ONLY_USER_ID).isPresent());
+        return Boolean.TRUE.equals(found);
+    }
+}
@@ -5,11 +5,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.archive.BookingArchive;
 import ru.practicum.shareit.booking.dto.BookingInItemDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
 import ru.practicum.shareit.exception.AuthorizationUserException;
 import ru.practicum.shareit.exception.NoBookingInPastException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -23,15 +25,14 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.DomainEventOutbox;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.resolver.EntityResolver;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -44,13 +45,17 @@ class ItemServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
     @Mock
-    private UserRepository userRepository;
+    private EntityResolver entityResolver;
     @Mock
     private BookingRepository bookingRepository;
     @Mock
-    private CommentRepository commentRepository;
+    private BookingArchive bookingArchive;
+    @Mock
+    private BookingTimelineCache bookingTimelineCache;
     @Mock
-    private ItemRequestRepository itemRequestRepository;
+    private DomainEventOutbox domainEventOutbox;
+    @Mock
+    private CommentRepository commentRepository;
     @Mock
     private ItemMapper itemMapper;
     @Mock
@@ -67,7 +72,7 @@ class ItemServiceImplTest {
         Item itemToSave = getTestItem();
         CreateItemDto createItemDto = getCreateItemDto();
         ItemDto expectedItemDto = getItemDto();
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(entityResolver.getUserReference(ownerId)).thenReturn(owner);
         when(itemMapper.toEntity(createItemDto)).thenReturn(itemToSave);
         when(itemRepository.save(itemToSave)).thenReturn(itemToSave);
         when(itemMapper.toItemDto(itemToSave)).thenReturn(expectedItemDto);
@@ -82,7 +87,7 @@ class ItemServiceImplTest {
     void create_whenOwnerNotFound_thenNotFoundExceptionThrown() {
         Long ownerId = 1L;
         CreateItemDto createItemDto = getCreateItemDto();
-        when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+        when(entityResolver.getUserReference(ownerId)).thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> itemService.create(createItemDto, ownerId));
@@ -98,9 +103,9 @@ class ItemServiceImplTest {
         ItemDto expectedItemDto = getItemDto();
         expectedItemDto.setRequestId(1L);
         ItemRequest itemRequest = getTestItemRequest();
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(entityResolver.getUserReference(ownerId)).thenReturn(owner);
         when(itemMapper.toEntity(createItemDto)).thenReturn(itemToSave);
-        when(itemRequestRepository.findById(createItemDto.getRequestId())).thenReturn(Optional.of(itemRequest));
+        when(entityResolver.getItemRequestReference(createItemDto.getRequestId())).thenReturn(itemRequest);
         doAnswer(invocationOnMock -> {
             Item item = invocationOnMock.getArgument(0, Item.class);
             item.setId(1L);
@@ -122,9 +127,9 @@ class ItemServiceImplTest {
         Item itemToSave = getTestItem();
         CreateItemDto createItemDto = getCreateItemDto();
         createItemDto.setRequestId(0L);
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(entityResolver.getUserReference(ownerId)).thenReturn(owner);
         when(itemMapper.toEntity(createItemDto)).thenReturn(itemToSave);
-        when(itemRequestRepository.findById(createItemDto.getRequestId())).thenReturn(Optional.empty());
+        when(entityResolver.getItemRequestReference(createItemDto.getRequestId())).thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> itemService.create(createItemDto, ownerId));
@@ -140,7 +145,7 @@ class ItemServiceImplTest {
         foundedItem.setOwner(owner);
         ItemDto updatedItemDto = getUpdatedItemDto();
         PatchItemDto patchItemDto = getPatchItem();
-        when(itemRepository.findById(patchItemDto.getId())).thenReturn(Optional.of(foundedItem));
+        when(entityResolver.getItem(patchItemDto.getId())).thenReturn(foundedItem);
         doAnswer(invocationOnMock -> {
             PatchItemDto itemDto = invocationOnMock.getArgument(0, PatchItemDto.class);
             Item item = invocationOnMock.getArgument(1, Item.class);
@@ -160,7 +165,7 @@ class ItemServiceImplTest {
     void patch_whenItemNotFound_thenNotFoundExceptionThrown() {
         PatchItemDto patchItemDto = getPatchItem();
         Long ownerId = 1L;
-        when(itemRepository.findById(patchItemDto.getId())).thenReturn(Optional.empty());
+        when(entityResolver.getItem(patchItemDto.getId())).thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> itemService.patch(patchItemDto, ownerId));
@@ -174,7 +179,7 @@ class ItemServiceImplTest {
         foundedItem.setId(1L);
         User owner = getTestUser();
         foundedItem.setOwner(owner);
-        when(itemRepository.findById(patchItemDto.getId())).thenReturn(Optional.of(foundedItem));
+        when(entityResolver.getItem(patchItemDto.getId())).thenReturn(foundedItem);
 
         assertThrows(AuthorizationUserException.class,
                 () -> itemService.patch(patchItemDto, ownerId));
@@ -190,7 +195,7 @@ class ItemServiceImplTest {
         foundedItem.setOwner(owner);
         ItemDto expectedItemDto = getItemDto();
         expectedItemDto.setId(1L);
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(foundedItem));
+        when(entityResolver.getItem(itemId)).thenReturn(foundedItem);
         when(itemMapper.toItemDto(foundedItem)).thenReturn(expectedItemDto);
         setupComments();
 
@@ -211,7 +216,7 @@ class ItemServiceImplTest {
         foundedItem.setOwner(owner);
         ItemDto expectedItemDto = getItemDto();
         expectedItemDto.setId(1L);
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(foundedItem));
+        when(entityResolver.getItem(itemId)).thenReturn(foundedItem);
         when(itemMapper.toItemDto(foundedItem)).thenReturn(expectedItemDto);
         setupComments();
         setupBookings();
@@ -227,7 +232,7 @@ class ItemServiceImplTest {
     void getById_whenItemNotFoundAndOwner_thenNotFoundExceptionThrown() {
         Long userId = 1L;
         Long itemId = 0L;
-        when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
+        when(entityResolver.getItem(itemId)).thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> itemService.getById(itemId, userId));
@@ -304,7 +309,7 @@ class ItemServiceImplTest {
         when(itemRepository.search(text)).thenReturn(foundedItems);
         when(itemMapper.toItemDtoList(foundedItems)).thenReturn(expectedItemDtos);
 
-        List<ItemDto> actualItemDtos = itemService.searchItems(text);
+        List<ItemDto> actualItemDtos = itemService.searchItems(text, null, null);
 
         assertEquals(expectedItemDtos, actualItemDtos);
     }
@@ -313,7 +318,7 @@ class ItemServiceImplTest {
     void search_whenSearchTextIsBlank_thenReturnEmptyList() {
         String text = "";
 
-        List<ItemDto> actualItemDtos = itemService.searchItems(text);
+        List<ItemDto> actualItemDtos = itemService.searchItems(text, null, null);
 
         assertEquals(0, actualItemDtos.size());
     }
@@ -333,8 +338,8 @@ class ItemServiceImplTest {
         expectedCommentDto.setAuthorName(expectedAuthor.getName());
         when(bookingRepository.existsBookingByItem_IdAndBooker_IdAndStatusAndEndIsBefore(
                 anyLong(), anyLong(), any(Status.class), any(LocalDateTime.class))).thenReturn(Boolean.TRUE);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(expectedAuthor));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(expectedItem));
+        when(entityResolver.getUser(userId)).thenReturn(expectedAuthor);
+        when(entityResolver.getItemReference(itemId)).thenReturn(expectedItem);
         when(commentMapper.toEntity(commentDtoToSave)).thenReturn(commentToSave);
         when(commentRepository.save(commentToSave)).thenReturn(commentToSave);
         when(commentMapper.toDto(commentToSave)).thenReturn(expectedCommentDto);
@@ -361,6 +366,23 @@ class ItemServiceImplTest {
         verify(commentRepository, never()).save(Mockito.any());
     }
 
+    @Test
+    void createComment_whenFinishedBookingArchived_thenSavedComment() {
+        Long itemId = 1L;
+        Long userId = 1L;
+        CommentDto commentDto = getCommentDto();
+        Comment comment = getTestComment();
+        when(bookingRepository.existsBookingByItem_IdAndBooker_IdAndStatusAndEndIsBefore(
+                anyLong(), anyLong(), any(Status.class), any(LocalDateTime.class))).thenReturn(Boolean.FALSE);
+        when(bookingArchive.hasBooking(itemId, userId, Status.APPROVED)).thenReturn(true);
+        when(commentMapper.toEntity(commentDto)).thenReturn(comment);
+        when(commentRepository.save(comment)).thenReturn(comment);
+
+        itemService.createComment(commentDto, itemId, userId);
+
+        verify(commentRepository).save(comment);
+    }
+
     @Test
     void createComment_whenAuthorNotFound_thenNotFoundExceptionThrown() {
         Long itemId = 1L;
@@ -370,7 +392,7 @@ class ItemServiceImplTest {
         when(bookingRepository.existsBookingByItem_IdAndBooker_IdAndStatusAndEndIsBefore(
                 anyLong(), anyLong(), any(Status.class), any(LocalDateTime.class))).thenReturn(Boolean.TRUE);
         when(commentMapper.toEntity(commentDto)).thenReturn(comment);
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(entityResolver.getUser(userId)).thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> itemService.createComment(commentDto, itemId, userId));
@@ -386,8 +408,8 @@ class ItemServiceImplTest {
         when(bookingRepository.existsBookingByItem_IdAndBooker_IdAndStatusAndEndIsBefore(
                 anyLong(), anyLong(), any(Status.class), any(LocalDateTime.class))).thenReturn(Boolean.TRUE);
         when(commentMapper.toEntity(commentDto)).thenReturn(comment);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(getTestUser()));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
+        when(entityResolver.getUser(userId)).thenReturn(getTestUser());
+        when(entityResolver.getItemReference(itemId)).thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> itemService.createComment(commentDto, itemId, userId));
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.Page;
+import ru.practicum.shareit.booking.archive.BookingArchive;
+import ru.practicum.shareit.booking.controller.BookingState;
+import ru.practicum.shareit.booking.dto.GetBookingRequest;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.partition.BookingStartWatermark;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.booking.view.BookingViewRepository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.outbox.DomainEventOutbox;
+import ru.practicum.shareit.resolver.EntityResolver;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private BookingViewRepository bookingViewRepository;
+    @Mock
+    private EntityResolver entityResolver;
+    @Mock
+    private UserService userService;
+    @Mock
+    private BookingMapper bookingMapper;
+    @Mock
+    private BookingStartWatermark bookingStartWatermark;
+    @Mock
+    private BookingArchive bookingArchive;
+    @Mock
+    private BookingTimelineCache bookingTimelineCache;
+    @Mock
+    private DomainEventOutbox domainEventOutbox;
+
+    private MeterRegistry meterRegistry;
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(
+                new BookingServiceImpl(bookingRepository, bookingViewRepository, entityResolver, userService,
+                        bookingMapper, bookingStartWatermark, bookingArchive, bookingTimelineCache,
+                        domainEventOutbox));
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        bookingService = factory.getProxy();
+    }
+
+    @Test
+    void timeService_whenBookingListRequested_thenTimerTaggedWithOperationAndState() {
+        when(bookingViewRepository.findByOwnerIdAndStatusIs(any(), any(), any())).thenReturn(Page.empty());
+
+        bookingService.getAllForOwnerByState(GetBookingRequest.of(1L, BookingState.WAITING, 0, 10));
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.SERVICE_TIMER)
+                .tags("operation", "BookingServiceImpl.getAllForOwnerByState",
+                        "state", "WAITING",
+                        "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void timeService_whenMethodThrows_thenTimerTaggedWithException() {
+        doThrow(new NotFoundException("User with id 0 not found")).when(userService).checkUserExist(any());
+
+        assertThrows(NotFoundException.class, () -> bookingService.getAllForUserByState(
+                GetBookingRequest.of(0L, BookingState.ALL, 0, 10)));
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.SERVICE_TIMER)
+                .tags("operation", "BookingServiceImpl.getAllForUserByState",
+                        "state", "ALL",
+                        "exception", "NotFoundException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+}
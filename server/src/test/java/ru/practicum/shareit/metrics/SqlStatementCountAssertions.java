@@ -0,0 +1,43 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+final class SqlStatementCountAssertions {
+
+    private SqlStatementCountAssertions() {
+    }
+
+    static int statementCount(MockMvc mockMvc, RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+        String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+        assertNotNull(header, "Response has no " + SqlStatementCountFilter.HEADER + " header");
+        return Integer.parseInt(header);
+    }
+
+    static void assertMaxStatements(MockMvc mockMvc, int maxStatements, RequestBuilder... requestsByDatasetSize)
+            throws Exception {
+        List<Integer> counts = new ArrayList<>();
+        for (RequestBuilder request : requestsByDatasetSize) {
+            counts.add(statementCount(mockMvc, request));
+        }
+        for (int count : counts) {
+            assertTrue(count <= maxStatements,
+                    "Expected at most " + maxStatements + " statements but was " + counts);
+        }
+        for (int count : counts) {
+            assertEquals(counts.get(0), count, "Statement count grows with dataset size: " + counts);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.view.BookingViewProjector;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.DomainEventAppended;
+import ru.practicum.shareit.outbox.DomainEventType;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static ru.practicum.shareit.metrics.SqlStatementCountAssertions.assertMaxStatements;
+import static ru.practicum.shareit.user.UserFixtures.newUser;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlStatementCountIntegrationTest {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private BookingViewProjector bookingViewProjector;
+    @Autowired
+    private UserIdRegistry userIdRegistry;
+
+    private Dataset small;
+    private Dataset large;
+
+    @BeforeAll
+    void setUp() {
+        small = createDataset(2);
+        large = createDataset(20);
+        userIdRegistry.rebuild();
+    }
+
+    @Test
+    void getItemsByOwner_thenStatementCountIndependentOfDatasetSize() throws Exception {
+        assertMaxStatements(mockMvc, 5,
+                get("/items").header(USER_HEADER, small.owner.getId()),
+                get("/items").header(USER_HEADER, large.owner.getId()));
+    }
+
+    @Test
+    void getItemById_thenStatementCountIndependentOfDatasetSize() throws Exception {
+        assertMaxStatements(mockMvc, 5,
+                get("/items/{id}", small.item.getId()).header(USER_HEADER, small.owner.getId()),
+                get("/items/{id}", large.item.getId()).header(USER_HEADER, large.owner.getId()));
+    }
+
+    @Test
+    void searchItems_thenStatementCountIndependentOfDatasetSize() throws Exception {
+        assertMaxStatements(mockMvc, 2,
+                get("/items/search").param("text", small.token),
+                get("/items/search").param("text", large.token));
+    }
+
+    @Test
+    void searchItemsInWindow_thenStatementCountIndependentOfDatasetSize() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusHours(1);
+        LocalDateTime end = start.plusDays(3);
+        assertMaxStatements(mockMvc, 3,
+                get("/items/search").param("text", small.token)
+                        .param("start", start.toString()).param("end", end.toString()),
+                get("/items/search").param("text", large.token)
+                        .param("start", start.toString()).param("end", end.toString()));
+    }
+
+    @Test
+    void getBookingsForBooker_thenStatementCountIndependentOfDatasetSize() throws Exception {
+        assertMaxStatements(mockMvc, 3,
+                get("/bookings").param("size", "100").header(USER_HEADER, small.booker.getId()),
+                get("/bookings").param("size", "100").header(USER_HEADER, large.booker.getId()));
+    }
+
+    @Test
+    void getBookingsForOwner_thenStatementCountIndependentOfDatasetSize() throws Exception {
+        assertMaxStatements(mockMvc, 3,
+                get("/bookings/owner").param("size", "100").header(USER_HEADER, small.owner.getId()),
+                get("/bookings/owner").param("size", "100").header(USER_HEADER, large.owner.getId()));
+    }
+
+    @Test
+    void getOwnRequests_thenStatementCountIndependentOfDatasetSize() throws Exception {
+        assertMaxStatements(mockMvc, 3,
+                get("/requests").header(USER_HEADER, small.requester.getId()),
+                get("/requests").header(USER_HEADER, large.requester.getId()));
+    }
+
+    @Test
+    void getDashboard_thenStatementCountIndependentOfDatasetSize() throws Exception {
+        assertMaxStatements(mockMvc, 10,
+                get("/users/{id}/dashboard", small.owner.getId()).param("size", "100"),
+                get("/users/{id}/dashboard", large.owner.getId()).param("size", "100"));
+    }
+
+    private Dataset createDataset(int size) {
+        Dataset dataset = new Dataset();
+        dataset.token = UUID.randomUUID().toString();
+        dataset.owner = userRepository.save(newUser("owner"));
+        dataset.requester = userRepository.save(newUser("requester"));
+        dataset.booker = userRepository.save(newUser("booker"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setDescription("request " + i);
+            request.setRequester(dataset.requester);
+            itemRequestRepository.save(request);
+
+            Item item = itemRepository.save(Item.builder()
+                    .name(dataset.token + " item " + i)
+                    .description("description " + i)
+                    .available(true)
+                    .owner(dataset.owner)
+                    .request(request)
+                    .build());
+            if (dataset.item == null) {
+                dataset.item = item;
+            }
+            createBooking(item, dataset.booker, now.minusDays(2), now.minusDays(1));
+            createBooking(item, dataset.booker, now.plusDays(1), now.plusDays(2));
+
+            Comment comment = new Comment();
+            comment.setText("comment " + i);
+            comment.setItem(item);
+            comment.setAuthor(userRepository.save(newUser("author")));
+            commentRepository.save(comment);
+        }
+        return dataset;
+    }
+
+    private void createBooking(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(Status.APPROVED);
+        bookingRepository.save(booking);
+        bookingViewProjector.on(new DomainEventAppended(DomainEventType.BOOKING_CREATED, booking.getId()));
+    }
+
+    private static class Dataset {
+        private String token;
+        private User owner;
+        private User requester;
+        private User booker;
+        private Item item;
+    }
+}
@@ -0,0 +1,239 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.user.UserFixtures.newUserDto;
+
+@SpringBootTest(properties = {
+        "shareit.outbox.relay.enabled=true",
+        "shareit.outbox.relay.batch-size=2",
+        "shareit.outbox.relay.max-attempts=2",
+        "shareit.outbox.relay.poll-interval=PT1000H"})
+class OutboxIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private OutboxRelay outboxRelay;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private RecordingListener listener;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TransactionalListener transactionalListener;
+
+    @BeforeEach
+    void setUp() {
+        listener.reset();
+        transactionalListener.reset();
+    }
+
+    @Test
+    void create_whenCommitted_thenEventStoredAndRelayed() {
+        UserDto user = userService.create(newUserDto("User"));
+
+        List<OutboxEvent> stored = eventsOf(user.getId());
+        assertEquals(1, stored.size());
+        assertEquals(DomainEventType.USER_CREATED, stored.get(0).getEventType());
+        assertTrue(stored.get(0).getPayload().contains(user.getEmail()));
+
+        outboxRelay.relay();
+
+        assertEquals(List.of(DomainEventType.USER_CREATED), listener.typesOf(user.getId()));
+        assertTrue(eventsOf(user.getId()).isEmpty());
+    }
+
+    @Test
+    void create_whenTransactionRolledBack_thenNoEventStored() {
+        UserDto user = transactionTemplate.execute(status -> {
+            UserDto created = userService.create(newUserDto("User"));
+            status.setRollbackOnly();
+            return created;
+        });
+
+        assertTrue(eventsOf(user.getId()).isEmpty());
+    }
+
+    @Test
+    void relay_whenSubscriberFails_thenAggregateHeldBackAndRetriedInOrder() {
+        UserDto failing = userService.create(newUserDto("User"));
+        failing.setName("Renamed");
+        userService.patch(failing);
+        UserDto healthy = userService.create(newUserDto("User"));
+        listener.failOnce(failing.getId());
+
+        outboxRelay.relay();
+
+        assertTrue(listener.typesOf(failing.getId()).isEmpty());
+        assertEquals(List.of(DomainEventType.USER_CREATED), listener.typesOf(healthy.getId()));
+        List<OutboxEvent> pending = eventsOf(failing.getId());
+        assertEquals(2, pending.size());
+        assertEquals(1, pending.get(0).getAttempts());
+        assertNotNull(meterRegistry.find("shareit.outbox.lag").gauge());
+
+        outboxRelay.relay();
+
+        assertEquals(List.of(DomainEventType.USER_CREATED, DomainEventType.USER_UPDATED),
+                listener.typesOf(failing.getId()));
+        assertTrue(eventsOf(failing.getId()).isEmpty());
+    }
+
+    @Test
+    void relay_whenSubscriberKeepsFailing_thenEventParkedAndLaterEventsDelivered() {
+        UserDto user = userService.create(newUserDto("User"));
+        user.setName("Renamed");
+        userService.patch(user);
+        listener.failAlways(user.getId(), DomainEventType.USER_CREATED);
+
+        outboxRelay.relay();
+
+        assertTrue(listener.typesOf(user.getId()).isEmpty());
+        assertFalse(eventsOf(user.getId()).get(0).isParked());
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        assertEquals(List.of(DomainEventType.USER_UPDATED), listener.typesOf(user.getId()));
+        List<OutboxEvent> parked = eventsOf(user.getId());
+        assertEquals(1, parked.size());
+        assertEquals(DomainEventType.USER_CREATED, parked.get(0).getEventType());
+        assertEquals(2, parked.get(0).getAttempts());
+        assertTrue(parked.get(0).isParked());
+        assertTrue(meterRegistry.get("shareit.outbox.parked").gauge().value() >= 1);
+    }
+
+    @Test
+    void relay_whenTransactionalSubscriberFails_thenRestOfBatchStillCommitted() {
+        UserDto failing = userService.create(newUserDto("User"));
+        UserDto healthy = userService.create(newUserDto("User"));
+        transactionalListener.failOnce(failing.getId());
+
+        outboxRelay.relay();
+
+        assertTrue(eventsOf(healthy.getId()).isEmpty());
+        List<OutboxEvent> pending = eventsOf(failing.getId());
+        assertEquals(1, pending.size());
+        assertEquals(1, pending.get(0).getAttempts());
+
+        outboxRelay.relay();
+
+        assertTrue(eventsOf(failing.getId()).isEmpty());
+    }
+
+    private List<OutboxEvent> eventsOf(Long userId) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getAggregateType() == AggregateType.USER)
+                .filter(event -> event.getAggregateId().equals(userId))
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .collect(Collectors.toList());
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+
+        @Bean
+        TransactionalListener transactionalListener(OutboxEventRepository outboxEventRepository) {
+            return new TransactionalListener(outboxEventRepository);
+        }
+    }
+
+    static class RecordingListener {
+
+        private final List<DomainEvent> events = new ArrayList<>();
+        private final Set<Long> failOnce = new HashSet<>();
+        private final Map<Long, DomainEventType> failAlways = new HashMap<>();
+
+        @EventListener
+        public synchronized void on(DomainEvent event) {
+            if (event.getAggregateType() == AggregateType.USER && (failOnce.remove(event.getAggregateId())
+                    || event.getType() == failAlways.get(event.getAggregateId()))) {
+                throw new IllegalStateException("Subscriber unavailable");
+            }
+            events.add(event);
+        }
+
+        synchronized void failOnce(Long aggregateId) {
+            failOnce.add(aggregateId);
+        }
+
+        synchronized void failAlways(Long aggregateId, DomainEventType type) {
+            failAlways.put(aggregateId, type);
+        }
+
+        synchronized void reset() {
+            events.clear();
+            failOnce.clear();
+            failAlways.clear();
+        }
+
+        synchronized List<DomainEventType> typesOf(Long userId) {
+            return events.stream()
+                    .filter(event -> event.getAggregateType() == AggregateType.USER)
+                    .filter(event -> event.getAggregateId() == userId)
+                    .map(DomainEvent::getType)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Joins the publishing transaction and fails inside it, like a subscriber that writes its own tables.
+    static class TransactionalListener {
+
+        private final OutboxEventRepository outboxEventRepository;
+        private final Set<Long> failOnce = new HashSet<>();
+
+        TransactionalListener(OutboxEventRepository outboxEventRepository) {
+            this.outboxEventRepository = outboxEventRepository;
+        }
+
+        @EventListener
+        @Transactional
+        public void on(DomainEvent event) {
+            outboxEventRepository.count();
+            synchronized (this) {
+                if (event.getAggregateType() == AggregateType.USER && failOnce.remove(event.getAggregateId())) {
+                    throw new IllegalStateException("Subscriber unavailable");
+                }
+            }
+        }
+
+        synchronized void failOnce(Long aggregateId) {
+            failOnce.add(aggregateId);
+        }
+
+        synchronized void reset() {
+            failOnce.clear();
+        }
+    }
+}
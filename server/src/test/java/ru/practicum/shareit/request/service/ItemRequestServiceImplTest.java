@@ -15,19 +15,19 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.DomainEventOutbox;
 import ru.practicum.shareit.request.dto.CreateItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.resolver.EntityResolver;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -43,9 +43,11 @@ class ItemRequestServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
     @Mock
-    private UserRepository userRepository;
+    private EntityResolver entityResolver;
     @Mock
     private UserService userService;
+    @Mock
+    private DomainEventOutbox domainEventOutbox;
     @Spy
     @InjectMocks
     private ItemRequestMapper itemRequestMapper = Mappers.getMapper(ItemRequestMapper.class);
@@ -67,7 +69,7 @@ class ItemRequestServiceImplTest {
             request.setId(1L);
             return request;
         }).when(itemRequestRepository).save(any(ItemRequest.class));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(entityResolver.getUserReference(userId)).thenReturn(user);
 
         ItemRequestDto actualRequestDto = itemRequestService.create(dto, userId);
 
@@ -80,7 +82,7 @@ class ItemRequestServiceImplTest {
         Long userId = 0L;
         CreateItemRequestDto dto = new CreateItemRequestDto();
         dto.setDescription("TestDescription");
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(entityResolver.getUserReference(userId)).thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.create(dto, userId));
@@ -95,7 +97,7 @@ class ItemRequestServiceImplTest {
         ItemRequestDto expectedDto = itemRequestMapper.toDto(foundedRequest);
         expectedDto.setItems(Collections.emptyList());
         doNothing().when(userService).checkUserExist(userId);
-        when(itemRequestRepository.findById(itemRequestId)).thenReturn(Optional.of(foundedRequest));
+        when(entityResolver.getItemRequest(itemRequestId)).thenReturn(foundedRequest);
         when(itemRepository.findAllByRequestId(itemRequestId)).thenReturn(Collections.emptyList());
 
         ItemRequestDto actualDto = itemRequestService.getById(itemRequestId, userId);
@@ -108,7 +110,7 @@ class ItemRequestServiceImplTest {
         Long userId = 1L;
         Long itemRequestId = 1L;
         doNothing().when(userService).checkUserExist(userId);
-        when(itemRequestRepository.findById(itemRequestId)).thenReturn(Optional.empty());
+        when(entityResolver.getItemRequest(itemRequestId)).thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.getById(itemRequestId, userId));
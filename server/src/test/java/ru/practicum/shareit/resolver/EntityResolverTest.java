@@ -0,0 +1,168 @@
+package ru.practicum.shareit.resolver;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EntityResolverTest {
+
+    @InjectMocks
+    private EntityResolver entityResolver;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private UserIdRegistry userIdRegistry;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void checkUserExists_whenUserExists_thenOnlyExistenceQueried() {
+        Long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        entityResolver.checkUserExists(userId);
+
+        verify(userRepository, never()).findById(userId);
+    }
+
+    @Test
+    void checkUserExists_whenUserNotFound_thenNotFoundExceptionThrown() {
+        Long userId = 0L;
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        NotFoundException e = assertThrows(NotFoundException.class,
+                () -> entityResolver.checkUserExists(userId));
+        assertEquals("User with id 0 not found", e.getMessage());
+    }
+
+    @Test
+    void checkUserExists_whenCalledTwiceInRequest_thenQueriedOnce() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        entityResolver.checkUserExists(userId);
+        entityResolver.checkUserExists(userId);
+
+        verify(userRepository, times(1)).existsById(userId);
+    }
+
+    @Test
+    void checkUserExists_whenUserLoadedInRequest_thenNotQueriedAgain() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Long userId = 1L;
+        User user = User.builder().id(userId).name("TestName").email("test@mail.com").build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        assertEquals(user, entityResolver.getUser(userId));
+        entityResolver.checkUserExists(userId);
+
+        verify(userRepository, never()).existsById(userId);
+    }
+
+    @Test
+    void checkUserExists_whenUserForgotten_thenQueriedAgain() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(true, false);
+
+        entityResolver.checkUserExists(userId);
+        entityResolver.forgetUser(userId);
+
+        assertThrows(NotFoundException.class,
+                () -> entityResolver.checkUserExists(userId));
+    }
+
+    @Test
+    void checkUserExists_whenRegistryAuthoritativeAndMisses_thenRejectedWithoutQuery() {
+        Long userId = 42L;
+        when(userIdRegistry.isAuthoritative()).thenReturn(true);
+        when(userIdRegistry.contains(userId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class,
+                () -> entityResolver.checkUserExists(userId));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void checkUserExists_whenRegistryAuthoritativeAndKnowsId_thenNoQuery() {
+        Long userId = 1L;
+        when(userIdRegistry.isAuthoritative()).thenReturn(true);
+        when(userIdRegistry.contains(userId)).thenReturn(true);
+
+        entityResolver.checkUserExists(userId);
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void checkUserExists_whenRegistryStale_thenDatabaseQueried() {
+        Long userId = 42L;
+        when(userIdRegistry.isAuthoritative()).thenReturn(false);
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        entityResolver.checkUserExists(userId);
+
+        verify(userRepository).existsById(userId);
+        verify(userIdRegistry, never()).contains(userId);
+    }
+
+    @Test
+    void getUser_whenRegistryAuthoritativeAndMisses_thenRejectedWithoutQuery() {
+        Long userId = 42L;
+        when(userIdRegistry.isAuthoritative()).thenReturn(true);
+        when(userIdRegistry.contains(userId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class,
+                () -> entityResolver.getUser(userId));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getItemReference_whenItemExists_thenReferenceReturnedWithoutLoading() {
+        Long itemId = 1L;
+        Item reference = new Item();
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(itemRepository.getReferenceById(itemId)).thenReturn(reference);
+
+        assertEquals(reference, entityResolver.getItemReference(itemId));
+        verify(itemRepository, never()).findById(itemId);
+    }
+
+    @Test
+    void getItemRequest_whenNotFound_thenNotFoundExceptionThrown() {
+        Long requestId = 0L;
+        when(itemRequestRepository.findById(requestId)).thenReturn(Optional.empty());
+
+        NotFoundException e = assertThrows(NotFoundException.class,
+                () -> entityResolver.getItemRequest(requestId));
+        assertEquals("Request with id 0 not found", e.getMessage());
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.user.UserFixtures.newUserDto;
+
+@SpringBootTest
+@ActiveProfiles({"test", "fast-start"})
+class FastStartIntegrationTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void start_whenFastStart_thenOnlyHotBeansCreatedEagerly() {
+        assertFalse(isLazy("userController"));
+        assertFalse(isLazy("exceptionApiHandler"));
+        assertFalse(isLazy("bookingStartWatermark"));
+        assertTrue(isLazy("bookingViewProjector"));
+        assertTrue(isLazy("fastStartConfig"));
+        assertTrue(isCreated("userServiceImpl"));
+        assertTrue(isCreated("userIdRegistry"));
+        assertFalse(isCreated("fastStartConfig"));
+    }
+
+    @Test
+    void create_whenRepositoriesDeferred_thenServedOnFirstCall() {
+        UserService userService = context.getBean(UserService.class);
+        UserDto user = userService.create(newUserDto("Fast"));
+
+        assertEquals(user, userService.getById(user.getId()));
+    }
+
+    private boolean isLazy(String beanName) {
+        return context.getBeanFactory().getBeanDefinition(beanName).isLazyInit();
+    }
+
+    private boolean isCreated(String beanName) {
+        return context.getBeanFactory().containsSingleton(beanName);
+    }
+}
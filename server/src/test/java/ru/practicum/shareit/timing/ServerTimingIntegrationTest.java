@@ -0,0 +1,58 @@
+package ru.practicum.shareit.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.user.UserFixtures.newUserDto;
+
+@SpringBootTest(properties = "shareit.server-timing.enabled=true")
+@AutoConfigureMockMvc
+class ServerTimingIntegrationTest {
+
+    private static final String DURATION = "\\d+\\.\\d{2}";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void create_whenBodyWritten_thenAllSegmentsReported() throws Exception {
+        createUser();
+    }
+
+    @Test
+    void delete_whenNoBody_thenHeaderStillReported() throws Exception {
+        String id = createUser().getResponse().getContentAsString().replaceAll(".*\"id\":(\\d+).*", "$1");
+
+        mockMvc.perform(delete("/users/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTiming.HEADER, matchesPattern(
+                        "db;dur=" + DURATION + ", mapping;dur=" + DURATION
+                                + ", serialization;dur=0\\.00, server;dur=" + DURATION)));
+    }
+
+    private MvcResult createUser() throws Exception {
+        return mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newUserDto("Timing"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("Timing"))
+                .andExpect(header().string(ServerTiming.HEADER, matchesPattern(
+                        "db;dur=" + DURATION + ", mapping;dur=" + DURATION
+                                + ", serialization;dur=" + DURATION + ", server;dur=" + DURATION)))
+                .andReturn();
+    }
+}
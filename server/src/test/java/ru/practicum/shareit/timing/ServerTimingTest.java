@@ -0,0 +1,34 @@
+package ru.practicum.shareit.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerTiming.stop();
+    }
+
+    @Test
+    void toHeaderValue_whenSegmentsRunConcurrently_thenSlowestCountedNotSum() {
+        ServerTiming timing = ServerTiming.start();
+        timing.addDb(1_000_000);
+
+        CompletableFuture<Void> fast = CompletableFuture.supplyAsync(ServerTiming.propagate(() -> {
+            ServerTiming.current().addDb(2_000_000);
+            return null;
+        }));
+        CompletableFuture<Void> slow = CompletableFuture.supplyAsync(ServerTiming.propagate(() -> {
+            ServerTiming.current().addDb(5_000_000);
+            return null;
+        }));
+        CompletableFuture.allOf(fast, slow).join();
+
+        assertTrue(timing.toHeaderValue().startsWith("db;dur=6.00, mapping;dur=0.00"), timing.toHeaderValue());
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.user.UserFixtures.newUserDto;
+
+@SpringBootTest(properties = "shareit.tracing.exporter=memory")
+@AutoConfigureMockMvc
+class TracingIntegrationTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private InMemorySpanExporter exporter;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void request_whenTraceparentSent_thenSpansForEachLayerJoinTrace() throws Exception {
+        mockMvc.perform(post("/users")
+                        .header(TracingFilter.TRACEPARENT, "00-" + TRACE_ID + "-" + PARENT_SPAN_ID + "-01")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newUserDto("Trace"))))
+                .andExpect(status().isCreated());
+
+        Map<String, Span> spans = exporter.getSpans(TRACE_ID).stream()
+                .collect(Collectors.toMap(Span::getName, Function.identity(), (a, b) -> a));
+        Span server = spans.get("POST /users");
+        Span controller = spans.get("UserController.create");
+        Span service = spans.get("UserServiceImpl.create");
+        Span repository = spans.get("UserRepository.save");
+
+        assertEquals(PARENT_SPAN_ID, server.getParentSpanId());
+        assertEquals(Span.Kind.SERVER, server.getKind());
+        assertEquals("201", server.getAttributes().get("http.status"));
+        assertEquals(server.getContext().getSpanId(), controller.getParentSpanId());
+        assertEquals(controller.getContext().getSpanId(), service.getParentSpanId());
+        assertEquals(service.getContext().getSpanId(), repository.getParentSpanId());
+        assertEquals("repository", repository.getAttributes().get("layer"));
+        List<Span> all = exporter.getSpans(TRACE_ID);
+        assertTrue(all.stream().allMatch(span -> span.getDurationNanos() >= 0));
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.user;
+
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.UUID;
+
+public final class UserFixtures {
+
+    private UserFixtures() {
+    }
+
+    public static User newUser(String name) {
+        return User.builder()
+                .name(name)
+                .email(uniqueEmail(name))
+                .build();
+    }
+
+    public static UserDto newUserDto(String name) {
+        return UserDto.builder()
+                .name(name)
+                .email(uniqueEmail(name))
+                .build();
+    }
+
+    private static String uniqueEmail(String name) {
+        return name.toLowerCase().replace(' ', '-') + "-" + UUID.randomUUID() + "@mail.com";
+    }
+}
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.user.registry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserIdRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new UserIdRegistry(userRepository, true, 0.01);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void contains_beforeRebuild_thenNotReady() {
+        assertFalse(registry.isReady());
+        assertFalse(registry.contains(1L));
+    }
+
+    @Test
+    void rebuild_whenInvoked_thenContainsExactlyLoadedIds() {
+        when(userRepository.findAllIds()).thenReturn(List.of(5L, 1L, 3L));
+
+        registry.rebuild();
+
+        assertTrue(registry.isReady());
+        assertTrue(registry.contains(1L));
+        assertTrue(registry.contains(3L));
+        assertTrue(registry.contains(5L));
+        assertFalse(registry.contains(2L));
+        assertFalse(registry.contains(100L));
+    }
+
+    @Test
+    void rebuild_whenDisabled_thenNotReadyAndNoQuery() {
+        UserIdRegistry disabled = new UserIdRegistry(userRepository, false, 0.01);
+
+        disabled.rebuild();
+
+        assertFalse(disabled.isReady());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void registerAndUnregister_withoutTransaction_thenAppliedImmediately() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L));
+        registry.rebuild();
+
+        registry.registerAfterCommit(2L);
+        registry.unregisterAfterCommit(1L);
+
+        assertTrue(registry.contains(2L));
+        assertFalse(registry.contains(1L));
+    }
+
+    @Test
+    void registerAfterCommit_withTransaction_thenAppliedOnlyAfterCommit() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L));
+        registry.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.registerAfterCommit(2L);
+
+        assertFalse(registry.contains(2L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(registry.contains(2L));
+    }
+
+    @Test
+    void add_whenCapacityExceeded_thenAllIdsStillFound() {
+        when(userRepository.findAllIds()).thenReturn(List.of());
+        registry.rebuild();
+
+        LongStream.rangeClosed(1, 5000).forEach(registry::add);
+
+        assertTrue(LongStream.rangeClosed(1, 5000).allMatch(registry::contains));
+        assertFalse(registry.contains(5001L));
+    }
+
+    @Test
+    void rebuild_whenLargeSet_thenNoFalsePositives() {
+        List<Long> ids = LongStream.range(0, 10_000).map(i -> i * 2).boxed().collect(Collectors.toList());
+        when(userRepository.findAllIds()).thenReturn(ids);
+
+        registry.rebuild();
+
+        assertTrue(LongStream.range(0, 10_000).map(i -> i * 2 + 1).noneMatch(registry::contains));
+    }
+
+    @Test
+    void refreshIfChanged_whenOnlyLocalChanges_thenNoRebuild() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+        registry.rebuild();
+        registry.registerAfterCommit(3L);
+        registry.unregisterAfterCommit(1L);
+        when(userRepository.getIdStats()).thenReturn(stats(2, 3L));
+
+        registry.refreshIfChanged();
+
+        assertTrue(registry.isAuthoritative());
+        verify(userRepository, times(1)).findAllIds();
+    }
+
+    @Test
+    void refreshIfChanged_whenUserDeletedOnAnotherInstance_thenRebuiltAndMissIsFinal() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L, 2L)).thenReturn(List.of(2L));
+        registry.rebuild();
+        when(userRepository.getIdStats()).thenReturn(stats(1, 2L));
+
+        registry.refreshIfChanged();
+
+        assertTrue(registry.isAuthoritative());
+        assertFalse(registry.contains(1L));
+        assertTrue(registry.contains(2L));
+    }
+
+    @Test
+    void refreshIfChanged_whenUserCreatedOnAnotherInstance_thenRebuilt() {
+        when(userRepository.findAllIds()).thenReturn(List.of(1L)).thenReturn(List.of(1L, 2L));
+        registry.rebuild();
+        when(userRepository.getIdStats()).thenReturn(stats(2, 2L));
+
+        registry.refreshIfChanged();
+
+        assertTrue(registry.contains(2L));
+    }
+
+    private static UserIdStats stats(long count, Long maxId) {
+        return new UserIdStats() {
+            @Override
+            public long getUserCount() {
+                return count;
+            }
+
+            @Override
+            public Long getMaxId() {
+                return maxId;
+            }
+        };
+    }
+}
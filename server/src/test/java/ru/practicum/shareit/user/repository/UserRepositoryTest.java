@@ -0,0 +1,59 @@
+package ru.practicum.shareit.user.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdStats;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.user.UserFixtures.newUser;
+
+@DataJpaTest
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void addTestUsersToDB() {
+        ids = Stream.of("a", "b", "c", "d", "e")
+                .map(name -> userRepository.save(newUser(name)))
+                .map(User::getId)
+                .collect(toList());
+    }
+
+    @Test
+    void findByIdGreaterThan_whenCursorPassed_thenNextPageReturned() {
+        List<User> firstPage = userRepository.findByIdGreaterThan(0L, PageRequest.of(0, 2, Sort.by("id")));
+        List<User> secondPage = userRepository.findByIdGreaterThan(
+                firstPage.get(1).getId(), PageRequest.of(0, 2, Sort.by("id")));
+
+        assertEquals(ids.subList(0, 2), firstPage.stream().map(User::getId).collect(toList()));
+        assertEquals(ids.subList(2, 4), secondPage.stream().map(User::getId).collect(toList()));
+    }
+
+    @Test
+    void streamAll_whenInvoked_thenAllUsersOrderedById() {
+        try (Stream<User> users = userRepository.streamAll()) {
+            assertEquals(ids, users.map(User::getId).collect(toList()));
+        }
+    }
+
+    @Test
+    void getIdStats_whenInvoked_thenCountAndMaxIdReturned() {
+        UserIdStats stats = userRepository.getIdStats();
+
+        assertEquals(ids.size(), stats.getUserCount());
+        assertEquals(ids.get(ids.size() - 1), stats.getMaxId());
+    }
+}
@@ -8,14 +8,24 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.timeline.BookingTimelineCache;
+import ru.practicum.shareit.cache.SecondLevelCacheEvictor;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.outbox.DomainEventOutbox;
+import ru.practicum.shareit.outbox.DomainEventType;
+import ru.practicum.shareit.resolver.EntityResolver;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.registry.UserIdRegistry;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -30,6 +40,18 @@ class UserServiceImplTest {
     private UserMapper userMapper;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private EntityResolver entityResolver;
+    @Mock
+    private UserIdRegistry userIdRegistry;
+    @Mock
+    private DomainEventOutbox domainEventOutbox;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private SecondLevelCacheEvictor cacheEvictor;
+    @Mock
+    private BookingTimelineCache bookingTimelineCache;
     @Captor
     private ArgumentCaptor<User> userArgumentCaptor;
 
@@ -45,6 +67,8 @@ class UserServiceImplTest {
 
         assertEquals(userDtoToSave, actualUserDto);
         verify(userRepository).save(userToSave);
+        verify(userIdRegistry).registerAfterCommit(userToSave.getId());
+        verify(domainEventOutbox).append(DomainEventType.USER_CREATED, userToSave.getId(), userDtoToSave);
     }
 
     @Test
@@ -52,7 +76,7 @@ class UserServiceImplTest {
         User foundedUser = getTestUser();
         User updatedUser = getUpdatedUser();
         UserDto updateUserDto = getUpdateUserDto();
-        when(userRepository.findById(1L)).thenReturn(Optional.of(foundedUser));
+        when(entityResolver.getUser(1L)).thenReturn(foundedUser);
         Answer<Void> answer = invocationOnMock -> {
             UserDto userDto = invocationOnMock.getArgument(0, UserDto.class);
             User user = invocationOnMock.getArgument(1, User.class);
@@ -75,7 +99,7 @@ class UserServiceImplTest {
     @Test
     void patch_whenUserNotFound_thenNotFoundExceptionThrown() {
         UserDto userDto = getTestUserDto();
-        when(userRepository.findById(userDto.getId())).thenReturn(Optional.empty());
+        when(entityResolver.getUser(userDto.getId())).thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> userService.patch(userDto));
@@ -86,7 +110,7 @@ class UserServiceImplTest {
         Long userId = 1L;
         User expectedUser = getTestUser();
         UserDto expectedUserDto = getTestUserDto();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(expectedUser));
+        when(entityResolver.getUser(userId)).thenReturn(expectedUser);
         when(userMapper.toDto(expectedUser)).thenReturn(expectedUserDto);
 
         UserDto actualUserDto = userService.getById(userId);
@@ -97,7 +121,7 @@ class UserServiceImplTest {
     @Test
     void getById_whenUserNotFound_thenNotFoundExceptionThrown() {
         Long userId = 0L;
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(entityResolver.getUser(userId)).thenThrow(NotFoundException.class);
 
         assertThrows(NotFoundException.class,
                 () -> userService.getById(userId));
@@ -107,32 +131,49 @@ class UserServiceImplTest {
     void getAll_whenInvoked_ThenReturnListOfUsers() {
         List<User> expectedUsers = List.of(getTestUser());
         List<UserDto> expectedUserDtos = List.of(getTestUserDto());
-        when(userRepository.findAll()).thenReturn(expectedUsers);
+        when(userRepository.findByIdGreaterThan(0L, PageRequest.of(0, 10, Sort.by("id")))).thenReturn(expectedUsers);
         when(userMapper.toUserDtoList(expectedUsers)).thenReturn(expectedUserDtos);
 
-        List<UserDto> actualUserDtos = userService.getAll();
+        List<UserDto> actualUserDtos = userService.getAll(0L, 10);
 
         assertEquals(expectedUserDtos, actualUserDtos);
     }
 
+    @Test
+    void exportAll_whenInvoked_thenEachUserMappedAndDetached() {
+        User user = getTestUser();
+        UserDto userDto = getTestUserDto();
+        when(userRepository.streamAll()).thenReturn(Stream.of(user));
+        when(userMapper.toDto(user)).thenReturn(userDto);
+        List<UserDto> exported = new ArrayList<>();
+
+        userService.exportAll(exported::add);
+
+        assertEquals(List.of(userDto), exported);
+        verify(entityManager).detach(user);
+    }
+
     @Test
     void deleteById_whenUserFound_ThenDeleteByIdInvoked() {
         Long userId = 1L;
-        User user = getTestUser();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
         userService.deleteById(userId);
 
+        verify(entityResolver).checkUserExists(userId);
         verify(userRepository).deleteById(userId);
+        verify(entityResolver).forgetUser(userId);
+        verify(userIdRegistry).unregisterAfterCommit(userId);
+        verify(cacheEvictor).evictUserGraphAfterCommit(userId);
     }
 
     @Test
     void deleteById_whenUserNotFound_thenNotFoundExceptionThrown() {
         Long userId = 0L;
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(entityResolver).checkUserExists(userId);
 
         assertThrows(NotFoundException.class,
                 () -> userService.deleteById(userId));
+        verify(userRepository, never()).deleteById(userId);
     }
 
     User getTestUser() {